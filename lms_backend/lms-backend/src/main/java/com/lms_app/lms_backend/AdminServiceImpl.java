@@ -2,22 +2,50 @@ package com.lms_app.lms_backend;
 
 import com.lms_app.lms_backend.service.*;
 import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.AuditEntry;
+import com.lms_app.lms_backend.exception.BadRequestException;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
 import com.lms_app.lms_backend.repository.AdminRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AdminServiceImpl implements AdminService {
 
+    @Autowired
+    private VersionedUpdates versionedUpdates;
+
     @Autowired
     private AdminRepository adminRepository;
 
-    private AdminDTO convertToDTO(Admin admin) {
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AnalyticsRollups analyticsRollups;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    AdminDTO convertToDTO(Admin admin) {
         AdminDTO dto = new AdminDTO();
         dto.setId(admin.getId());
         dto.setAdminName(admin.getAdminName());
@@ -32,14 +60,13 @@ public class AdminServiceImpl implements AdminService {
         return dto;
     }
 
-    private Admin convertToEntity(AdminDTO dto) {
+    Admin convertToEntity(AdminDTO dto) {
         Admin admin = new Admin();
         admin.setAdminName(dto.getAdminName());
         admin.setUniName(dto.getUniName());
         admin.setRole(dto.getRole());
         admin.setStatus(Admin.Status.valueOf(dto.getStatus().toUpperCase()));
         admin.setEmail(dto.getEmail());
-        admin.setStudents(dto.getStudents());
         admin.setPhnnum(dto.getPhnnum());
         admin.setDepartment(dto.getDepartment());
         admin.setAdminStatus(Admin.AdminStatus.valueOf(dto.getAdminStatus().toUpperCase()));
@@ -47,18 +74,33 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Transactional
     public AdminDTO createAdmin(AdminDTO dto) {
         Admin admin = convertToEntity(dto);
-        return convertToDTO(adminRepository.save(admin));
+        // kept current by UniversityCounters from here on
+        admin.setStudents((int) universityRepository.sumStudentsByUniName(admin.getUniName()));
+        Admin saved = adminRepository.save(admin);
+        analyticsRollups.adminChanged(null, saved.getStatus());
+        auditLog.record("Admin", AuditEntry.Action.CREATE, saved.getId(), null);
+        return convertToDTO(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public AdminDTO getAdminById(Long id) {
         return convertToDTO(adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found")));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long getAdminVersion(Long id) {
+        return adminRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<AdminDTO> getAllAdmins() {
         return adminRepository.findAll()
                 .stream()
@@ -67,25 +109,97 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AdminDTO> getAdminsPage(Long after, int size) {
+        int limit = CursorPage.clampSize(size);
+        List<Admin> rows = adminRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Admin::getId, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAdmins(Consumer<AdminDTO> sink) {
+        try (Stream<Admin> rows = adminRepository.streamAllOrderById()) {
+            rows.forEach(row -> {
+                sink.accept(convertToDTO(row));
+                // keep the persistence context from growing with the result set
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
     public AdminDTO updateAdmin(Long id, AdminDTO dto) {
         Admin existing = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+        analyticsRollups.adminChanged(existing.getStatus(), Admin.Status.valueOf(dto.getStatus().toUpperCase()));
         existing.setAdminName(dto.getAdminName());
         existing.setUniName(dto.getUniName());
         existing.setRole(dto.getRole());
         existing.setStatus(Admin.Status.valueOf(dto.getStatus().toUpperCase()));
         existing.setEmail(dto.getEmail());
-        existing.setStudents(dto.getStudents());
+        existing.setStudents((int) universityRepository.sumStudentsByUniName(dto.getUniName()));
         existing.setPhnnum(dto.getPhnnum());
         existing.setDepartment(dto.getDepartment());
         existing.setAdminStatus(Admin.AdminStatus.valueOf(dto.getAdminStatus().toUpperCase()));
-        return convertToDTO(adminRepository.save(existing));
+        AdminDTO updated = convertToDTO(adminRepository.save(existing));
+        auditLog.record("Admin", AuditEntry.Action.UPDATE, id, null);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public long patchAdmin(Long id, AdminDTO values, Set<String> fields, long expectedVersion) {
+        Map<String, Object> changes = new HashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "adminName" -> changes.put(field, values.getAdminName());
+                case "uniName" -> {
+                    changes.put(field, values.getUniName());
+                    changes.put("students", (int) universityRepository.sumStudentsByUniName(values.getUniName()));
+                }
+                case "role" -> changes.put(field, values.getRole());
+                case "status" -> changes.put(field, patchedEnum(Admin.Status.class, field, values.getStatus()));
+                case "email" -> changes.put(field, values.getEmail());
+                case "phnnum" -> changes.put(field, values.getPhnnum());
+                case "department" -> changes.put(field, values.getDepartment());
+                case "adminStatus" -> changes.put(field,
+                        patchedEnum(Admin.AdminStatus.class, field, values.getAdminStatus()));
+                default -> throw new BadRequestException("Cannot patch " + field);
+            }
+        }
+        // the status it had is only needed when it changes
+        Admin.Status before = changes.containsKey("status")
+                ? adminRepository.findById(id).map(Admin::getStatus).orElse(null)
+                : null;
+        long version = versionedUpdates.apply(Admin.class, "Admin", id, expectedVersion, changes);
+        if (changes.containsKey("status")) {
+            analyticsRollups.adminChanged(before, (Admin.Status) changes.get("status"));
+        }
+        auditLog.record("Admin", AuditEntry.Action.UPDATE, id, null);
+        return version;
+    }
+
+    /** The constant {@code value} names, ignoring case; 400 for a missing or unknown value. */
+    private static <E extends Enum<E>> E patchedEnum(Class<E> type, String field, String value) {
+        if (value != null) {
+            for (E constant : type.getEnumConstants()) {
+                if (constant.name().equalsIgnoreCase(value)) {
+                    return constant;
+                }
+            }
+        }
+        throw new BadRequestException("Invalid " + field + ": " + value);
     }
 
     @Override
+    @Transactional
     public void deleteAdmin(Long id) {
         Admin admin = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
         adminRepository.delete(admin);
+        analyticsRollups.adminChanged(admin.getStatus(), null);
+        auditLog.record("Admin", AuditEntry.Action.DELETE, id, null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.University;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Maintains the analytics rollups read by {@link AnalyticsServiceImpl}:
+ * {@code analytics_universities} (each university's current totals),
+ * {@code analytics_university_days} (its totals per day) and
+ * {@code analytics_days} (platform-wide totals per day).
+ *
+ * <ul>
+ * <li>Student, course and enrollment counts arrive through
+ * {@link UniversityCounters}: writers add their deltas to its stripes, and each
+ * fold hands the settled deltas to {@link #add}. The rollups therefore lag
+ * writes by up to one fold interval, and no request waits on them.</li>
+ * <li>Universities and admins are few and change rarely; their services call
+ * in here directly, inside their own transaction.</li>
+ * <li>The nightly counter reconciliation recounts each university into
+ * {@link #reset} and then rebuilds today's platform totals from the results
+ * ({@link #rebuildPlatform}), which repairs drift and fills in whatever
+ * existed before the rollups did.</li>
+ * </ul>
+ *
+ * <p>Only today's rows are written; a day's row keeps the totals as they were
+ * when the day ended.
+ */
+@Component
+public class AnalyticsRollups {
+
+    private static final String ADD_DAY = "update analytics_days set universities = universities + ?, "
+            + "active_universities = active_universities + ?, admins = admins + ?, active_admins = active_admins + ?, "
+            + "students = students + ?, courses = courses + ?, enrollments = enrollments + ? where rollup_date = ?";
+
+    private static final String SET_UNIVERSITY_DAY = "update analytics_university_days "
+            + "set students = ?, courses = ?, enrollments = ? where university_id = ? and rollup_date = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void universityCreated(long universityId, boolean active) {
+        jdbcTemplate.update("insert into analytics_universities "
+                + "(university_id, active, students, courses, enrollments) values (?, ?, 0, 0, 0)", universityId, active);
+        addToday(1, active ? 1 : 0, 0, 0, 0, 0, 0);
+        writeUniversityDay(universityId, 0, 0, 0);
+    }
+
+    public void statusChanged(long universityId, boolean active) {
+        List<Boolean> was = jdbcTemplate.queryForList("select active from analytics_universities "
+                + "where university_id = ? for update", Boolean.class, universityId);
+        // a university the rollups have not seen yet is picked up, with its status, by the next fold
+        if (!was.isEmpty() && was.get(0) != active) {
+            jdbcTemplate.update("update analytics_universities set active = ? where university_id = ?",
+                    active, universityId);
+            addToday(0, active ? 1 : -1, 0, 0, 0, 0, 0);
+        }
+    }
+
+    /** Takes the university out of the platform totals and drops its rollups; its students and courses go with it. */
+    public void universityDeleted(long universityId) {
+        List<long[]> rollup = jdbcTemplate.query("select active, students, courses, enrollments "
+                        + "from analytics_universities where university_id = ? for update",
+                (rs, rowNum) -> new long[] {rs.getBoolean(1) ? 1 : 0, rs.getLong(2), rs.getLong(3), rs.getLong(4)},
+                universityId);
+        for (long[] totals : rollup) {
+            addToday(-1, -totals[0], 0, 0, -totals[1], -totals[2], -totals[3]);
+        }
+        jdbcTemplate.update("delete from analytics_university_days where university_id = ?", universityId);
+        jdbcTemplate.update("delete from analytics_universities where university_id = ?", universityId);
+    }
+
+    /** Records an admin appearing (+1), disappearing (-1) or changing status (0), given its status before and after. */
+    public void adminChanged(Admin.Status before, Admin.Status after) {
+        long admins = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        long active = (after == Admin.Status.ACTIVE ? 1 : 0) - (before == Admin.Status.ACTIVE ? 1 : 0);
+        if (admins != 0 || active != 0) {
+            addToday(0, 0, admins, active, 0, 0, 0);
+        }
+    }
+
+    /** Applies a university's settled counter deltas; called by the fold with the University row locked. */
+    void add(University university, long students, long courses, long enrollments) {
+        ensure(university);
+        jdbcTemplate.update("update analytics_universities set students = students + ?, courses = courses + ?, "
+                + "enrollments = enrollments + ? where university_id = ?",
+                students, courses, enrollments, university.getId());
+        long[] totals = jdbcTemplate.queryForObject("select students, courses, enrollments "
+                + "from analytics_universities where university_id = ?",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)}, university.getId());
+        writeUniversityDay(university.getId(), totals[0], totals[1], totals[2]);
+        addToday(0, 0, 0, 0, students, courses, enrollments);
+    }
+
+    /** Replaces a university's totals with a recount; the platform totals follow in {@link #rebuildPlatform}. */
+    void reset(University university, long students, long courses, long enrollments) {
+        ensure(university);
+        jdbcTemplate.update("update analytics_universities set active = ?, students = ?, courses = ?, "
+                + "enrollments = ? where university_id = ?",
+                isActive(university), students, courses, enrollments, university.getId());
+        writeUniversityDay(university.getId(), students, courses, enrollments);
+    }
+
+    /** Sets today's platform totals from the university rollups and a count of the admins. */
+    void rebuildPlatform() {
+        jdbcTemplate.update("delete from analytics_university_days "
+                + "where university_id not in (select id from university)");
+        jdbcTemplate.update("delete from analytics_universities where university_id not in (select id from university)");
+        long[] totals = jdbcTemplate.queryForObject("select count(*), "
+                        + "coalesce(sum(case when active then 1 else 0 end), 0), coalesce(sum(students), 0), "
+                        + "coalesce(sum(courses), 0), coalesce(sum(enrollments), 0) from analytics_universities",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                        rs.getLong(5)});
+        long[] admins = jdbcTemplate.queryForObject("select count(*), "
+                        + "coalesce(sum(case when status = 'ACTIVE' then 1 else 0 end), 0) from admin",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+        Date today = Date.valueOf(LocalDate.now());
+        jdbcTemplate.update("delete from analytics_days where rollup_date = ?", today);
+        jdbcTemplate.update("insert into analytics_days (rollup_date, universities, active_universities, admins, "
+                        + "active_admins, students, courses, enrollments) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                today, totals[0], totals[1], admins[0], admins[1], totals[2], totals[3], totals[4]);
+    }
+
+    // a university created around the services gets its rollup row the first time it is folded
+    private void ensure(University university) {
+        if (jdbcTemplate.queryForObject("select count(*) from analytics_universities where university_id = ?",
+                Integer.class, university.getId()) == 0) {
+            universityCreated(university.getId(), isActive(university));
+        }
+    }
+
+    private void writeUniversityDay(long universityId, long students, long courses, long enrollments) {
+        Date today = Date.valueOf(LocalDate.now());
+        if (jdbcTemplate.update(SET_UNIVERSITY_DAY, students, courses, enrollments, universityId, today) == 1) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("insert into analytics_university_days "
+                    + "(university_id, rollup_date, students, courses, enrollments) values (?, ?, ?, ?, ?)",
+                    universityId, today, students, courses, enrollments);
+        } catch (DuplicateKeyException createdConcurrently) {
+            jdbcTemplate.update(SET_UNIVERSITY_DAY, students, courses, enrollments, universityId, today);
+        }
+    }
+
+    // today's row starts from the latest day before it, or from zero
+    private void addToday(long universities, long activeUniversities, long admins, long activeAdmins,
+            long students, long courses, long enrollments) {
+        Date today = Date.valueOf(LocalDate.now());
+        Object[] deltas = {universities, activeUniversities, admins, activeAdmins, students, courses, enrollments};
+        if (jdbcTemplate.update(ADD_DAY, append(deltas, today)) == 1) {
+            return;
+        }
+        try {
+            if (jdbcTemplate.update("insert into analytics_days (rollup_date, universities, active_universities, "
+                    + "admins, active_admins, students, courses, enrollments) "
+                    + "select ?, universities + ?, active_universities + ?, admins + ?, active_admins + ?, "
+                    + "students + ?, courses + ?, enrollments + ? from analytics_days "
+                    + "where rollup_date = (select max(rollup_date) from analytics_days)",
+                    prepend(today, deltas)) == 0) {
+                jdbcTemplate.update("insert into analytics_days (rollup_date, universities, active_universities, "
+                        + "admins, active_admins, students, courses, enrollments) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                        prepend(today, deltas));
+            }
+        } catch (DuplicateKeyException createdConcurrently) {
+            jdbcTemplate.update(ADD_DAY, append(deltas, today));
+        }
+    }
+
+    private static boolean isActive(University university) {
+        return university.getStatus() == University.Status.ACTIVE;
+    }
+
+    private static Object[] append(Object[] values, Object last) {
+        Object[] all = new Object[values.length + 1];
+        System.arraycopy(values, 0, all, 0, values.length);
+        all[values.length] = last;
+        return all;
+    }
+
+    private static Object[] prepend(Object first, Object[] values) {
+        Object[] all = new Object[values.length + 1];
+        all[0] = first;
+        System.arraycopy(values, 0, all, 1, values.length);
+        return all;
+    }
+}
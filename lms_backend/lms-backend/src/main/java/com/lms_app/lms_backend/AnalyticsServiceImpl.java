@@ -0,0 +1,142 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.AnalyticsDTO;
+import com.lms_app.lms_backend.exception.BadRequestException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Platform and per-university numbers for the super-admin dashboard, read
+ * only from the rollups kept by {@link AnalyticsRollups}: the summary is one
+ * row, and a series is at most one row per day asked for.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final RowMapper<AnalyticsDTO> PLATFORM_DAY = (rs, rowNum) -> {
+        AnalyticsDTO day = new AnalyticsDTO();
+        day.setDay(rs.getDate("rollup_date").toLocalDate());
+        day.setUniversities(rs.getLong("universities"));
+        day.setActiveUniversities(rs.getLong("active_universities"));
+        day.setAdmins(rs.getLong("admins"));
+        day.setActiveAdmins(rs.getLong("active_admins"));
+        day.setStudents(rs.getLong("students"));
+        day.setCourses(rs.getLong("courses"));
+        day.setEnrollments(rs.getLong("enrollments"));
+        return day;
+    };
+
+    private static final RowMapper<AnalyticsDTO> UNIVERSITY_DAY = (rs, rowNum) -> {
+        AnalyticsDTO day = new AnalyticsDTO();
+        day.setDay(rs.getDate("rollup_date").toLocalDate());
+        day.setStudents(rs.getLong("students"));
+        day.setCourses(rs.getLong("courses"));
+        day.setEnrollments(rs.getLong("enrollments"));
+        return day;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${lms.analytics.default-days:30}")
+    private int defaultDays;
+
+    @Value("${lms.analytics.max-days:366}")
+    private int maxDays;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AnalyticsDTO getSummary() {
+        List<AnalyticsDTO> latest = jdbcTemplate.query("select * from analytics_days "
+                + "where rollup_date = (select max(rollup_date) from analytics_days)", PLATFORM_DAY);
+        return latest.isEmpty() ? emptyPlatformDay(LocalDate.now()) : latest.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalyticsDTO> getDaily(LocalDate from, LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = checkRange(from, end);
+        // from the latest row on or before the first day, which holds that day's totals
+        List<AnalyticsDTO> rows = jdbcTemplate.query("select * from analytics_days where rollup_date <= ? and "
+                + "rollup_date >= coalesce((select max(rollup_date) from analytics_days where rollup_date <= ?), ?) "
+                + "order by rollup_date", PLATFORM_DAY, Date.valueOf(end), Date.valueOf(start), Date.valueOf(start));
+        return everyDay(rows, start, end, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalyticsDTO> getUniversityDaily(Long universityId, LocalDate from, LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = checkRange(from, end);
+        if (jdbcTemplate.queryForObject("select count(*) from analytics_universities where university_id = ?",
+                Integer.class, universityId) == 0) {
+            throw new ResourceNotFoundException("University not found");
+        }
+        List<AnalyticsDTO> rows = jdbcTemplate.query("select * from analytics_university_days "
+                + "where university_id = ? and rollup_date <= ? and rollup_date >= coalesce((select max(rollup_date) "
+                + "from analytics_university_days where university_id = ? and rollup_date <= ?), ?) "
+                + "order by rollup_date", UNIVERSITY_DAY, universityId, Date.valueOf(end), universityId,
+                Date.valueOf(start), Date.valueOf(start));
+        return everyDay(rows, start, end, false);
+    }
+
+    private LocalDate checkRange(LocalDate from, LocalDate end) {
+        LocalDate start = from == null ? end.minusDays(defaultDays - 1) : from;
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new BadRequestException("At most " + maxDays + " days at a time");
+        }
+        return start;
+    }
+
+    // rows exist only for days on which something changed; every other day repeats the one before
+    private static List<AnalyticsDTO> everyDay(List<AnalyticsDTO> rows, LocalDate start, LocalDate end,
+            boolean platform) {
+        List<AnalyticsDTO> days = new ArrayList<>();
+        AnalyticsDTO current = null;
+        int next = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            while (next < rows.size() && !rows.get(next).getDay().isAfter(day)) {
+                current = rows.get(next++);
+            }
+            AnalyticsDTO point = platform ? emptyPlatformDay(day) : new AnalyticsDTO();
+            point.setDay(day);
+            if (current != null) {
+                point.setUniversities(current.getUniversities());
+                point.setActiveUniversities(current.getActiveUniversities());
+                point.setAdmins(current.getAdmins());
+                point.setActiveAdmins(current.getActiveAdmins());
+                point.setStudents(current.getStudents());
+                point.setCourses(current.getCourses());
+                point.setEnrollments(current.getEnrollments());
+            }
+            days.add(point);
+        }
+        return days;
+    }
+
+    private static AnalyticsDTO emptyPlatformDay(LocalDate day) {
+        AnalyticsDTO empty = new AnalyticsDTO();
+        empty.setDay(day);
+        empty.setUniversities(0L);
+        empty.setActiveUniversities(0L);
+        empty.setAdmins(0L);
+        empty.setActiveAdmins(0L);
+        return empty;
+    }
+}
@@ -0,0 +1,256 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.AuditEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit trail of the creates, updates and deletes made through the services,
+ * kept in {@code audit_log} ({@link AuditEntry}).
+ *
+ * <p>Services call {@link #record} inside their transaction; events are held
+ * per transaction and dropped if it rolls back. What happens at commit depends
+ * on {@code lms.audit.mode}:
+ * <ul>
+ * <li>{@code async} (default): the events go into a bounded buffer of
+ * {@code lms.audit.buffer-size} and a background thread appends them in
+ * batches of up to {@code lms.audit.batch-size}. The request pays for a queue
+ * insert; events still in the buffer are lost if the process dies. A full
+ * buffer blocks the committing thread until the writer catches up, so a slow
+ * database slows writes down rather than losing the trail.</li>
+ * <li>{@code sync-on-commit}: the events are inserted, as one batch, into the
+ * committing transaction itself, so the trail commits or rolls back with the
+ * change, at the cost of one more round trip per write.</li>
+ * </ul>
+ * Either way, committed events are also published to {@link ChangeFeedServiceImpl}.
+ */
+@Component
+public class AuditLog implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT =
+            "insert into audit_log (entity_type, entity_id, action, occurred_at) values (?, ?, ?, ?)";
+
+    private static final int WRITE_ATTEMPTS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeFeedServiceImpl changeFeed;
+
+    @Value("${lms.audit.mode:async}")
+    private String mode;
+
+    @Value("${lms.audit.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${lms.audit.batch-size:500}")
+    private int batchSize;
+
+    private BlockingQueue<Event> buffer;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    // events handed to the writer, and those it has finished with
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * {@code universityId} only routes the change feed; null if the caller does not know it,
+     * and then only subscribers without a university filter are sent the change.
+     */
+    public void record(String entityType, AuditEntry.Action action, Long entityId, Long universityId) {
+        publish(new Event(entityType, entityId, action, universityId, Instant.now()));
+    }
+
+    /** One event per entry of {@code universityIds}, entity id to university id. */
+    public void recordAll(String entityType, AuditEntry.Action action, Map<Long, Long> universityIds) {
+        Instant now = Instant.now();
+        universityIds.forEach((entityId, universityId) ->
+                publish(new Event(entityType, entityId, action, universityId, now)));
+    }
+
+    /**
+     * Waits until every event committed so far has been written, or given up on;
+     * for tests and operational checks. Returns false if that took over ten seconds.
+     */
+    public boolean flush() throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (completed.get() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private void publish(Event event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commit(List.of(event));
+            changeFeed.publish(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Event> pending = (List<Event>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PendingEvents(pending));
+        }
+        pending.add(event);
+    }
+
+    private boolean syncOnCommit() {
+        return "sync-on-commit".equals(mode);
+    }
+
+    private void commit(List<Event> events) {
+        if (syncOnCommit() || !running) {
+            insert(events);
+            return;
+        }
+        try {
+            for (Event event : events) {
+                buffer.put(event);
+                accepted.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing audit events {}", events);
+        }
+    }
+
+    private void insert(List<Event> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.entityType());
+            statement.setLong(2, event.entityId());
+            statement.setString(3, event.action().name());
+            statement.setTimestamp(4, Timestamp.from(event.occurredAt()));
+        });
+    }
+
+    private void drain() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Event first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                completed.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Event> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == WRITE_ATTEMPTS) {
+                    // the log line is then the only record of these events
+                    log.error("Dropped {} audit events after {} attempts: {}", batch.size(), attempt, batch, e);
+                    return;
+                }
+                log.warn("Could not write {} audit events, retrying", batch.size(), e);
+                Thread.sleep(1000L * attempt);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        running = true;
+        writer = new Thread(this::drain, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        // from here on events are inserted directly; the writer empties the buffer and exits
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // started before and stopped after the web server, so no request outlives the writer
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    record Event(String entityType, long entityId, AuditEntry.Action action, Long universityId,
+            Instant occurredAt) {
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<Event> events;
+
+        private PendingEvents(List<Event> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (syncOnCommit()) {
+                insert(events);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!syncOnCommit()) {
+                commit(events);
+            }
+            changeFeed.publish(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(AuditLog.this);
+        }
+    }
+}
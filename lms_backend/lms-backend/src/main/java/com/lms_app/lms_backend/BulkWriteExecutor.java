@@ -0,0 +1,106 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.BulkResultDTO;
+import com.lms_app.lms_backend.dto.BulkRowResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs bulk writes in fixed-size chunks, one transaction per chunk, so that
+ * Hibernate can send each chunk as JDBC batches. If a chunk fails (typically a
+ * unique-key violation) it is replayed row by row to find out which rows were
+ * at fault; the others are still written.
+ */
+@Component
+public class BulkWriteExecutor {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${lms.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * @param rows        request rows, reported back by index
+     * @param validator   returns an error message for rows that must not be written, or null
+     * @param chunkWriter writes a chunk inside the current transaction and returns the row ids in order
+     * @param success     status reported for rows that were written
+     */
+    public <T> BulkResultDTO execute(List<T> rows, Function<T, String> validator,
+            Function<List<T>, List<Long>> chunkWriter, BulkRowResultDTO.Status success) {
+        BulkRowResultDTO[] results = new BulkRowResultDTO[rows.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            String error = rows.get(i) == null ? "Row is empty" : validator.apply(rows.get(i));
+            if (error != null) {
+                results[i] = new BulkRowResultDTO(i, null, BulkRowResultDTO.Status.FAILED, error);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                List<Long> ids = tx.execute(status -> writeAndFlush(chunkWriter, rowsAt(rows, chunk)));
+                for (int j = 0; j < chunk.size(); j++) {
+                    results[chunk.get(j)] = new BulkRowResultDTO(chunk.get(j), ids.get(j), success, null);
+                }
+            } catch (RuntimeException chunkFailure) {
+                for (int index : chunk) {
+                    results[index] = writeSingle(tx, rows.get(index), index, chunkWriter, success);
+                }
+            }
+        }
+
+        BulkResultDTO result = new BulkResultDTO();
+        result.setRows(Arrays.asList(results));
+        int failed = (int) result.getRows().stream()
+                .filter(row -> row.getStatus() == BulkRowResultDTO.Status.FAILED)
+                .count();
+        result.setFailed(failed);
+        result.setSucceeded(rows.size() - failed);
+        return result;
+    }
+
+    private <T> BulkRowResultDTO writeSingle(TransactionTemplate tx, T row, int index,
+            Function<List<T>, List<Long>> chunkWriter, BulkRowResultDTO.Status success) {
+        try {
+            List<Long> ids = tx.execute(status -> writeAndFlush(chunkWriter, List.of(row)));
+            return new BulkRowResultDTO(index, ids.get(0), success, null);
+        } catch (RuntimeException e) {
+            return new BulkRowResultDTO(index, null, BulkRowResultDTO.Status.FAILED,
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private <T> List<Long> writeAndFlush(Function<List<T>, List<Long>> chunkWriter, List<T> chunk) {
+        List<Long> ids = chunkWriter.apply(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    private static <T> List<T> rowsAt(List<T> rows, List<Integer> indexes) {
+        List<T> chunk = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            chunk.add(rows.get(index));
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,306 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.ChangeEventDTO;
+import com.lms_app.lms_backend.service.ChangeFeedService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events feed of the changes recorded through {@link AuditLog},
+ * published once their transaction has committed.
+ *
+ * <p>Every change gets the next sequence number and is kept in a ring of the
+ * last {@code lms.changes.retained}. Subscribers hold no thread: each keeps
+ * its position in the ring, and a small pool of {@code lms.changes.sender-threads}
+ * threads sends whatever a subscriber has not seen yet whenever something is
+ * published. A subscriber resumes after any sequence number still in the ring;
+ * one that asks for an older position, or falls that far behind, is sent a
+ * {@code reset} event and closed, and is expected to reload its lists.
+ *
+ * <p>Writes to a client block while its connection is not being read. A
+ * subscriber whose write has not finished within {@code lms.changes.send-timeout}
+ * is dropped, and the pool gets an extra sender in place of the blocked one
+ * (at most {@code sender-threads} extra at a time), so that a few stalled
+ * clients cannot hold up everyone else. The blocked thread closes the
+ * connection and leaves the pool once its write returns, at the latest when the
+ * container's own write timeout fails it.
+ *
+ * <p>Sequence numbers start from the clock at startup, in microseconds, so
+ * that they keep increasing across restarts; each instance has its own feed.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService, InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    private static final int SEND_BATCH = 256;
+
+    // Subscriber.sendingSince when no write is in progress, and once the write has been given up on
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private static final long STALLED = Long.MAX_VALUE;
+
+    @Value("${lms.changes.retained:10000}")
+    private int retained;
+
+    @Value("${lms.changes.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${lms.changes.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${lms.changes.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    private ChangeEventDTO[] ring;
+
+    private long first;
+
+    // sequence number of the newest change; written under the ring's lock
+    private volatile long last;
+
+    private ThreadPoolExecutor senders;
+
+    // heartbeats and the send-timeout check
+    private ScheduledExecutorService timer;
+
+    // extra senders standing in for ones blocked on a dropped subscriber; guarded by this
+    private int lent;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+
+    @Override
+    public void afterPropertiesSet() {
+        ring = new ChangeEventDTO[retained];
+        last = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        first = last + 1;
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("change-feed-"));
+        timer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-feed-timer-"));
+        timer.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+        long check = Math.max(sendTimeout.toMillis() / 4, 10);
+        timer.scheduleAtFixedRate(this::dropStalled, check, check, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long universityId, Long after) {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(emitter, universityId, after == null ? last : after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // tells a new client where it is before anything has changed
+        subscriber.heartbeatDue = true;
+        subscriber.schedule();
+        return emitter;
+    }
+
+    void publish(List<AuditLog.Event> events) {
+        synchronized (ring) {
+            for (AuditLog.Event event : events) {
+                long seq = last + 1;
+                ring[(int) (seq % ring.length)] = new ChangeEventDTO(seq, event.entityType(), event.entityId(),
+                        event.action().name(), event.universityId());
+                last = seq;
+            }
+        }
+        // one pass over the subscribers however many commits land meanwhile
+        if (wakePending.compareAndSet(false, true)) {
+            senders.execute(() -> {
+                wakePending.set(false);
+                subscribers.forEach(Subscriber::schedule);
+            });
+        }
+    }
+
+    /** The changes after {@code after}, at most {@code max} of them; null if some are no longer retained. */
+    private List<ChangeEventDTO> read(long after, int max) {
+        synchronized (ring) {
+            if (after > last || after < Math.max(first - 1, last - ring.length)) {
+                return null;
+            }
+            int count = (int) Math.min(max, last - after);
+            List<ChangeEventDTO> changes = new ArrayList<>(count);
+            for (long seq = after + 1; seq <= after + count; seq++) {
+                changes.add(ring[(int) (seq % ring.length)]);
+            }
+            return changes;
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.schedule();
+        }
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince.get();
+            if (since != IDLE && since != STALLED && now - since > sendTimeout.toNanos()) {
+                stalled(subscriber, since);
+            }
+        }
+    }
+
+    private synchronized void stalled(Subscriber subscriber, long since) {
+        // loses to the write finishing just now
+        if (!subscriber.sendingSince.compareAndSet(since, STALLED)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        if (lent < senderThreads) {
+            lent++;
+            subscriber.heldLentSender = true;
+            senders.setMaximumPoolSize(senderThreads + lent);
+            senders.setCorePoolSize(senderThreads + lent);
+        }
+        log.info("Dropped a change feed subscriber whose write took longer than {}", sendTimeout);
+    }
+
+    /** Called by a sender whose write to a dropped subscriber has returned. */
+    private synchronized void stalledSendReturned(Subscriber subscriber) {
+        if (subscriber.heldLentSender) {
+            subscriber.heldLentSender = false;
+            lent--;
+            senders.setCorePoolSize(senderThreads + lent);
+            senders.setMaximumPoolSize(senderThreads + lent);
+        }
+    }
+
+    /** Subscribers still being sent to. */
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Long universityId;
+
+        // only touched by the sender thread currently draining this subscriber
+        private long cursor;
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean heartbeatDue;
+
+        // System.nanoTime() when the write in progress started, else IDLE or STALLED
+        private final AtomicLong sendingSince = new AtomicLong(IDLE);
+
+        // guarded by ChangeFeedServiceImpl.this
+        private boolean heldLentSender;
+
+        private Subscriber(SseEmitter emitter, Long universityId, long cursor) {
+            this.emitter = emitter;
+            this.universityId = universityId;
+            this.cursor = cursor;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                // one batch at a time, so that a busy subscriber does not hold a sender from the others
+                List<ChangeEventDTO> changes = read(cursor, SEND_BATCH);
+                if (changes == null) {
+                    reset();
+                    return;
+                }
+                boolean sent = false;
+                for (ChangeEventDTO change : changes) {
+                    // a change without a university (an admin, a student PATCH) is only sent unfiltered
+                    if (universityId == null || universityId.equals(change.getUniversityId())) {
+                        send(SseEmitter.event()
+                                .id(Long.toString(change.getSeq()))
+                                .name("change")
+                                .data(change, MediaType.APPLICATION_JSON));
+                        sent = true;
+                    }
+                    cursor = change.getSeq();
+                }
+                if (heartbeatDue && !sent) {
+                    // an event without data moves the client's Last-Event-ID past changes it was not sent
+                    send(SseEmitter.event().id(Long.toString(cursor)).comment("heartbeat"));
+                }
+                heartbeatDue = false;
+            } catch (IOException | IllegalStateException e) {
+                // the client has gone
+                subscribers.remove(this);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (last > cursor && subscribers.contains(this)) {
+                schedule();
+            }
+        }
+
+        /** Sends one event; throws if the subscriber was dropped while it was being written. */
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            long started = System.nanoTime();
+            sendingSince.set(started);
+            try {
+                emitter.send(event);
+            } finally {
+                if (!sendingSince.compareAndSet(started, IDLE)) {
+                    stalledSendReturned(this);
+                    emitter.completeWithError(new IOException("Client did not read within " + sendTimeout));
+                }
+            }
+            if (sendingSince.get() == STALLED) {
+                throw new IllegalStateException("Dropped while sending");
+            }
+        }
+
+        private void reset() {
+            try {
+                send(SseEmitter.event().name("reset").data(""));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // gone already
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+    }
+}
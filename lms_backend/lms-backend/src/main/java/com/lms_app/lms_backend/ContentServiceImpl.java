@@ -0,0 +1,115 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.exception.BadRequestException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.service.ContentService;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Topic materials on local disk under {@code lms.content.dir}. Each upload gets
+ * a new random name (with the original extension, for its content type) and
+ * is never changed afterwards; files are spread over 256 subdirectories by
+ * the first two characters of the name.
+ *
+ * <p>Only the extensions of the material types are accepted: video, PDF and
+ * office documents. Anything a browser would render as a page of its own
+ * (HTML, SVG, XML, scripts) could run on the API's origin when downloaded, and
+ * is refused at upload.
+ *
+ * <p>Uploads are not held in memory: the multipart parser spools them to disk
+ * and they are moved (or, across file systems, copied) into place, appearing
+ * under their name only once complete.
+ */
+@Service
+public class ContentServiceImpl implements ContentService, InitializingBean {
+
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{32}(\\.[a-z0-9]{1,10})?");
+
+    private static final Map<String, MediaType> MEDIA_TYPES = Map.ofEntries(
+            Map.entry("mp4", MediaType.parseMediaType("video/mp4")),
+            Map.entry("m4v", MediaType.parseMediaType("video/mp4")),
+            Map.entry("webm", MediaType.parseMediaType("video/webm")),
+            Map.entry("ogv", MediaType.parseMediaType("video/ogg")),
+            Map.entry("mov", MediaType.parseMediaType("video/quicktime")),
+            Map.entry("pdf", MediaType.APPLICATION_PDF),
+            Map.entry("doc", MediaType.parseMediaType("application/msword")),
+            Map.entry("docx", MediaType.parseMediaType(
+                    "application/vnd.openxmlformats-officedocument.wordprocessingml.document")),
+            Map.entry("xls", MediaType.parseMediaType("application/vnd.ms-excel")),
+            Map.entry("xlsx", MediaType.parseMediaType(
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")),
+            Map.entry("ppt", MediaType.parseMediaType("application/vnd.ms-powerpoint")),
+            Map.entry("pptx", MediaType.parseMediaType(
+                    "application/vnd.openxmlformats-officedocument.presentationml.presentation")),
+            Map.entry("odt", MediaType.parseMediaType("application/vnd.oasis.opendocument.text")),
+            Map.entry("ods", MediaType.parseMediaType("application/vnd.oasis.opendocument.spreadsheet")),
+            Map.entry("odp", MediaType.parseMediaType("application/vnd.oasis.opendocument.presentation")));
+
+    @Value("${lms.content.dir:content}")
+    private Path directory;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public String store(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("File is empty");
+        }
+        String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
+        extension = extension == null ? null : extension.toLowerCase(Locale.ROOT);
+        if (extension == null || !MEDIA_TYPES.containsKey(extension)) {
+            throw new BadRequestException("Only video, PDF and office document files can be uploaded");
+        }
+        String name = UUID.randomUUID().toString().replace("-", "") + "." + extension;
+        Path target = path(name);
+        Files.createDirectories(target.getParent());
+        Path partial = target.resolveSibling(name + ".part");
+        try {
+            // a File rather than a Path, so that the servlet container can rename its spool file
+            file.transferTo(partial.toAbsolutePath().toFile());
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return name;
+    }
+
+    @Override
+    public Path getContent(String name) {
+        if (!NAME.matcher(name).matches()) {
+            throw new ResourceNotFoundException("Content not found");
+        }
+        Path path = path(name);
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Content not found");
+        }
+        return path;
+    }
+
+    @Override
+    public MediaType getMediaType(String name) {
+        // files stored before the extensions were restricted go out as plain bytes
+        return MEDIA_TYPES.getOrDefault(StringUtils.getFilenameExtension(name), MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private Path path(String name) {
+        return directory.resolve(name.substring(0, 2)).resolve(name);
+    }
+}
@@ -0,0 +1,415 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.exception.BadRequestException;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseTopicRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-process Lucene index over course codes, titles, descriptions and the
+ * titles of each course's topics, serving {@code GET /api/courses/search?q=}
+ * without touching the database.
+ *
+ * <ul>
+ * <li>The index is rebuilt from the course table at startup and on
+ * {@code lms.search.rebuild-cron}, so the directory ({@code lms.search.index-dir},
+ * in memory when blank) only saves heap and is never trusted across restarts.</li>
+ * <li>The course and topic services report their writes here; changes are applied once
+ * the surrounding transaction commits, so a rolled-back write never shows up in
+ * results. Searches see them as soon as the call returns.</li>
+ * <li>Hits are built from stored fields. Writes that bypass the services are
+ * picked up by the next scheduled rebuild. An update that fails to apply
+ * marks the index stale, and it is rebuilt within
+ * {@code lms.search.repair-interval}.</li>
+ * <li>Updates applied while a rebuild runs may have committed after the rebuild
+ * read the tables, and the rebuild's {@code deleteAll} would wipe them; they
+ * are recorded and applied again on top of the rebuilt index before it is
+ * committed.</li>
+ * </ul>
+ */
+@Component
+public class CourseSearchIndex implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String UNIVERSITY_ID = "universityId";
+    private static final String COURSE_CODE = "courseCode";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String TOPICS = "topics";
+    private static final String CREDITS = "credits";
+    private static final String CAPACITY = "capacity";
+
+    // a term found in the code outranks one in the title, then one in a topic title, then one in the description
+    private static final Map<String, Float> FIELD_BOOSTS =
+            Map.of(COURSE_CODE, 4f, TITLE, 3f, TOPICS, 2f, DESCRIPTION, 1f);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseTopicRepository topicRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${lms.search.index-dir:}")
+    private String indexDir;
+
+    // deepest hit a client can page to; collecting more costs time on every request
+    @Value("${lms.search.max-results:10000}")
+    private int maxResults = 10000;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private IndexWriter writer;
+
+    private SearcherManager searcherManager;
+
+    // set when a committed write could not be applied
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    private final Object updateLock = new Object();
+
+    // updates applied since the running rebuild started, null when none runs; guarded by updateLock
+    private List<IndexUpdate> updatesDuringRebuild;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            open(indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rebuild();
+    }
+
+    void open(Directory directory) throws IOException {
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    /** Replaces the whole index with the current contents of the course table. */
+    @Scheduled(cron = "${lms.search.rebuild-cron:0 45 3 * * *}")
+    public void rebuild() {
+        // an update failing from here on is not covered by what this rebuild reads
+        stale.set(false);
+        long started = System.nanoTime();
+        // before the tables are read: anything applied later is replayed over what they held
+        recordUpdates();
+        int indexed;
+        try {
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            indexed = tx.execute(status -> {
+                Map<Long, List<String>> topics;
+                try (Stream<Object[]> titles = topicRepository.streamAllTitles()) {
+                    topics = byCourse(titles);
+                }
+                try (Stream<CourseDTO> rows = courseRepository.streamAllProjected()) {
+                    return replaceAll(rows, topics);
+                }
+            });
+        } finally {
+            synchronized (updateLock) {
+                updatesDuringRebuild = null;
+            }
+        }
+        log.info("Indexed {} courses in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${lms.search.repair-interval:1m}",
+            initialDelayString = "${lms.search.repair-interval:1m}")
+    public void repair() {
+        if (!stale.get()) {
+            return;
+        }
+        log.warn("Rebuilding the course search index after a failed update");
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        }
+    }
+
+    boolean isStale() {
+        return stale.get();
+    }
+
+    /** Starts recording the updates applied from now on, for {@link #replaceAll} to apply again. */
+    void recordUpdates() {
+        synchronized (updateLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+    }
+
+    int replaceAll(Stream<CourseDTO> courses, Map<Long, List<String>> topics) {
+        try {
+            writer.deleteAll();
+            int count = 0;
+            for (CourseDTO course : (Iterable<CourseDTO>) courses::iterator) {
+                writer.addDocument(toDocument(course, topics.getOrDefault(course.getId(), List.of())));
+                count++;
+            }
+            synchronized (updateLock) {
+                // in the order they were applied; updates arriving meanwhile wait, then go straight in
+                if (updatesDuringRebuild != null) {
+                    for (IndexUpdate update : updatesDuringRebuild) {
+                        try {
+                            update.run();
+                        } catch (IOException | RuntimeException e) {
+                            stale.set(true);
+                            log.error("Could not apply an update again after rebuilding the course search index", e);
+                        }
+                    }
+                    updatesDuringRebuild = null;
+                }
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds or replaces the given courses once the caller's transaction commits.
+     * Their topic titles are read now, in that transaction.
+     */
+    public void indexAfterCommit(List<CourseDTO> courses) {
+        Map<Long, List<String>> topics = courses.isEmpty() ? Map.of()
+                : byCourse(topicRepository.findTitlesByCourseIds(courses.stream().map(CourseDTO::getId).toList())
+                        .stream());
+        afterCommit(() -> {
+            for (CourseDTO course : courses) {
+                writer.updateDocument(new Term(ID, course.getId().toString()),
+                        toDocument(course, topics.getOrDefault(course.getId(), List.of())));
+            }
+        });
+    }
+
+    private static Map<Long, List<String>> byCourse(Stream<Object[]> titles) {
+        Map<Long, List<String>> byCourse = new HashMap<>();
+        titles.forEach(row -> byCourse.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]));
+        return byCourse;
+    }
+
+    public void removeAfterCommit(Collection<Long> courseIds) {
+        afterCommit(() -> writer.deleteDocuments(courseIds.stream()
+                .map(id -> new Term(ID, id.toString()))
+                .toArray(Term[]::new)));
+    }
+
+    public void removeUniversityAfterCommit(Long universityId) {
+        afterCommit(() -> writer.deleteDocuments(new Term(UNIVERSITY_ID, universityId.toString())));
+    }
+
+    /**
+     * Courses matching every term of {@code text}, best first; the last term
+     * also matches as a title prefix so that results follow the user's typing.
+     */
+    public Page<CourseDTO> search(String text, Long universityId, Pageable pageable) {
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (end > maxResults) {
+            throw new BadRequestException("Search results stop at " + maxResults + "; narrow the query");
+        }
+        Query query = parse(text, universityId);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // count every hit so that the page total is exact; catalogs are small enough for that
+                TopDocs top = searcher.search(query, new TopScoreDocCollectorManager((int) end, null, Integer.MAX_VALUE));
+                StoredFields stored = searcher.storedFields();
+                List<CourseDTO> hits = new ArrayList<>(pageable.getPageSize());
+                for (int i = (int) pageable.getOffset(); i < top.scoreDocs.length; i++) {
+                    hits.add(toDTO(stored.document(top.scoreDocs[i].doc)));
+                }
+                return new PageImpl<>(hits, pageable, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query parse(String text, Long universityId) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        boolean typing = !Character.isWhitespace(text.charAt(text.length() - 1));
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            FIELD_BOOSTS.forEach((field, boost) -> anyField.add(
+                    new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD));
+            if (typing && i == terms.size() - 1) {
+                anyField.add(new PrefixQuery(new Term(TITLE, term)), BooleanClause.Occur.SHOULD);
+            }
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        if (universityId != null) {
+            query.add(new TermQuery(new Term(UNIVERSITY_ID, universityId.toString())), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static Document toDocument(CourseDTO course, List<String> topics) {
+        Document document = new Document();
+        document.add(new StringField(ID, course.getId().toString(), Field.Store.YES));
+        if (course.getUniversityId() != null) {
+            document.add(new StringField(UNIVERSITY_ID, course.getUniversityId().toString(), Field.Store.YES));
+        }
+        addText(document, COURSE_CODE, course.getCourseCode());
+        addText(document, TITLE, course.getTitle());
+        addText(document, DESCRIPTION, course.getDescription());
+        // searched, not returned: hits are built from the course's own fields
+        for (String topic : topics) {
+            if (topic != null) {
+                document.add(new TextField(TOPICS, topic, Field.Store.NO));
+            }
+        }
+        document.add(new StoredField(CREDITS, course.getCredits()));
+        if (course.getCapacity() != null) {
+            document.add(new StoredField(CAPACITY, course.getCapacity()));
+        }
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static CourseDTO toDTO(Document document) {
+        String universityId = document.get(UNIVERSITY_ID);
+        return new CourseDTO(Long.valueOf(document.get(ID)), document.get(COURSE_CODE), document.get(TITLE),
+                document.get(DESCRIPTION), document.getField(CREDITS).numericValue().intValue(), intValue(document, CAPACITY),
+                universityId == null ? null : Long.valueOf(universityId));
+    }
+
+    private static Integer intValue(Document document, String field) {
+        IndexableField value = document.getField(field);
+        return value == null ? null : value.numericValue().intValue();
+    }
+
+    private void afterCommit(IndexUpdate update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(IndexUpdate update) {
+        try {
+            synchronized (updateLock) {
+                update.run();
+                if (updatesDuringRebuild != null) {
+                    updatesDuringRebuild.add(update);
+                }
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException | RuntimeException e) {
+            // the database write has committed; repair() rebuilds the index from it
+            stale.set(true);
+            log.error("Could not update the course search index", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,173 @@
+package com.lms_app.lms_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seats taken per course, kept as {@code lms.enrollment.seat-stripes} rows
+ * per course (see {@link com.lms_app.lms_backend.entity.CourseSeatStripe}).
+ * A claim updates one randomly chosen stripe, so N concurrent enrollments
+ * into the same course wait on each other only when they pick the same
+ * stripe, rather than all queueing on one counter row until commit.
+ *
+ * <p>Stripes are created on the first claim for a course. Claims and
+ * releases join the caller's transaction, so a seat goes back if the
+ * enrollment that took it rolls back.
+ */
+@Component
+public class CourseSeatCounter {
+
+    private static final String CLAIM = "update course_seat_stripes set taken = taken + 1 "
+            + "where course_id = ? and stripe = ? and (seat_limit is null or taken < seat_limit)";
+
+    private static final String RELEASE = "update course_seat_stripes set taken = taken - 1 "
+            + "where course_id = ? and stripe = ? and taken > 0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Value("${lms.enrollment.seat-stripes:16}")
+    private int stripes;
+
+    /** Takes one seat; returns false if every stripe is at its limit. */
+    public boolean claim(long courseId, Integer capacity) {
+        int first = ThreadLocalRandom.current().nextInt(stripes);
+        if (jdbcTemplate.update(CLAIM, courseId, first) == 1) {
+            return true;
+        }
+        List<Integer> open = openStripes(courseId);
+        if (open == null) {
+            createStripes(courseId, capacity);
+            return claim(courseId, capacity);
+        }
+        // the random stripe was full: only try the ones that had room a moment ago, rather than
+        // locking every full stripe on the way
+        for (int stripe : open) {
+            if (stripe != first && jdbcTemplate.update(CLAIM, courseId, stripe) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Gives back seats, for instance after enrollments were deleted. */
+    public void release(long courseId, int seats) {
+        if (seats == 1) {
+            int first = ThreadLocalRandom.current().nextInt(stripes);
+            for (int i = 0; i < stripes; i++) {
+                if (jdbcTemplate.update(RELEASE, courseId, (first + i) % stripes) == 1) {
+                    return;
+                }
+            }
+            return;
+        }
+        int remaining = seats;
+        List<int[]> taken = jdbcTemplate.query(
+                "select stripe, taken from course_seat_stripes where course_id = ? and taken > 0 for update",
+                (rs, rowNum) -> new int[] {rs.getInt(1), rs.getInt(2)}, courseId);
+        List<Object[]> updates = new ArrayList<>();
+        for (int[] stripe : taken) {
+            if (remaining == 0) {
+                break;
+            }
+            int released = Math.min(remaining, stripe[1]);
+            updates.add(new Object[] {released, courseId, stripe[0]});
+            remaining -= released;
+        }
+        jdbcTemplate.batchUpdate("update course_seat_stripes set taken = taken - ? where course_id = ? and stripe = ?",
+                updates);
+    }
+
+    public long taken(long courseId) {
+        Long taken = jdbcTemplate.queryForObject(
+                "select coalesce(sum(taken), 0) from course_seat_stripes where course_id = ?", Long.class, courseId);
+        return taken == null ? 0 : taken;
+    }
+
+    /**
+     * Spreads a new capacity over the course's stripes: whatever is not yet
+     * taken is shared out evenly on top of what each stripe already holds.
+     */
+    @Transactional
+    public void resize(long courseId, Integer capacity) {
+        List<int[]> current = jdbcTemplate.query(
+                "select stripe, taken from course_seat_stripes where course_id = ? order by stripe for update",
+                (rs, rowNum) -> new int[] {rs.getInt(1), rs.getInt(2)}, courseId);
+        if (current.isEmpty()) {
+            return;  // created with the current capacity on the first claim
+        }
+        if (capacity == null) {
+            jdbcTemplate.update("update course_seat_stripes set seat_limit = null where course_id = ?", courseId);
+            return;
+        }
+        int free = Math.max(0, capacity - current.stream().mapToInt(stripe -> stripe[1]).sum());
+        List<Object[]> updates = new ArrayList<>(current.size());
+        for (int i = 0; i < current.size(); i++) {
+            int[] stripe = current.get(i);
+            updates.add(new Object[] {stripe[1] + share(free, i, current.size()), courseId, stripe[0]});
+        }
+        jdbcTemplate.batchUpdate("update course_seat_stripes set seat_limit = ? where course_id = ? and stripe = ?",
+                updates);
+    }
+
+    public void deleteAll(Collection<Long> courseIds) {
+        if (!courseIds.isEmpty()) {
+            namedJdbcTemplate.update("delete from course_seat_stripes where course_id in (:ids)",
+                    new MapSqlParameterSource("ids", courseIds));
+        }
+    }
+
+    /** Stripes with room left, or null if the course has no stripes yet. */
+    private List<Integer> openStripes(long courseId) {
+        List<Integer[]> rows = jdbcTemplate.query(
+                "select stripe, case when seat_limit is null or taken < seat_limit then 1 else 0 end "
+                        + "from course_seat_stripes where course_id = ?",
+                (rs, rowNum) -> new Integer[] {rs.getInt(1), rs.getInt(2)}, courseId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<Integer> open = new ArrayList<>();
+        for (Integer[] row : rows) {
+            if (row[1] == 1) {
+                open.add(row[0]);
+            }
+        }
+        return open;
+    }
+
+    private void createStripes(long courseId, Integer capacity) {
+        StringBuilder sql = new StringBuilder(
+                "insert into course_seat_stripes (course_id, stripe, taken, seat_limit) values ");
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < stripes; i++) {
+            sql.append(i == 0 ? "(?, ?, 0, ?)" : ", (?, ?, 0, ?)");
+            args.add(courseId);
+            args.add(i);
+            args.add(capacity == null ? null : share(capacity, i, stripes));
+        }
+        try {
+            // one statement, so a racing creator either wins outright or hits the primary key
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        } catch (DuplicateKeyException createdConcurrently) {
+            // the other transaction's stripes are committed and usable
+        }
+    }
+
+    private static int share(int total, int index, int parts) {
+        return total / parts + (index < total % parts ? 1 : 0);
+    }
+}
@@ -1,72 +1,184 @@
 package com.lms_app.lms_backend;
 
+import com.lms_app.lms_backend.dto.BulkResultDTO;
+import com.lms_app.lms_backend.dto.BulkRowResultDTO;
 import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.entity.AuditEntry;
 import com.lms_app.lms_backend.entity.Course;
 import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.exception.BadRequestException;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
 import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseSpecifications;
 import com.lms_app.lms_backend.repository.UniversityRepository;
 import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.CourseTopicService;
+import com.lms_app.lms_backend.service.EnrollmentService;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CourseServiceImpl implements CourseService {
 
+    private static final Set<String> SEARCH_SORTS = Set.of("id", "courseCode", "title", "credits");
+
+    @Autowired
+    private StudentDashboards dashboards;
+
     @Autowired
     private CourseRepository courseRepository;
 
     @Autowired
     private UniversityRepository universityRepository;
 
-    private CourseDTO convertToDTO(Course course) {
+    @Autowired
+    private BulkWriteExecutor bulkWriteExecutor;
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseTopicService topicService;
+
+    @Autowired
+    private CourseSeatCounter seatCounter;
+
+    @Autowired
+    private CourseSearchIndex searchIndex;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    CourseDTO convertToDTO(Course course) {
         CourseDTO dto = new CourseDTO();
         dto.setId(course.getId());
         dto.setCourseCode(course.getCourseCode());
         dto.setTitle(course.getTitle());
         dto.setDescription(course.getDescription());
         dto.setCredits(course.getCredits());
+        dto.setCapacity(course.getCapacity());
         dto.setUniversityId(course.getUniversity().getId());
         return dto;
     }
 
     private Course convertToEntity(CourseDTO dto) {
+        University university = universityRepository.findById(dto.getUniversityId())
+                .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        return convertToEntity(dto, university);
+    }
+
+    Course convertToEntity(CourseDTO dto, University university) {
         Course course = new Course();
         course.setCourseCode(dto.getCourseCode());
         course.setTitle(dto.getTitle());
         course.setDescription(dto.getDescription());
         course.setCredits(dto.getCredits());
-        University university = universityRepository.findById(dto.getUniversityId())
-                .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        course.setCapacity(dto.getCapacity());
         course.setUniversity(university);
         return course;
     }
 
     @Override
+    @Transactional
     public CourseDTO createCourse(CourseDTO dto) {
         Course course = convertToEntity(dto);
-        return convertToDTO(courseRepository.save(course));
+        // flushed first so that the row is written before the counter stripe is locked, see UniversityCounters
+        CourseDTO created = convertToDTO(courseRepository.saveAndFlush(course));
+        universityCounters.add(created.getUniversityId(), 0, 1);
+        searchIndex.indexAfterCommit(List.of(created));
+        auditLog.record("Course", AuditEntry.Action.CREATE, created.getId(), created.getUniversityId());
+        return created;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long id) {
-        return convertToDTO(courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found")));
+        return courseRepository.findProjectedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getCourseVersion(Long id) {
+        // a second-level cache hit for courses that have been read before
+        return courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"))
+                .getVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getCoursesVersion() {
+        return courseRepository.findTableVersion().tag();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return courseRepository.findAllProjected();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseDTO> getCoursesPage(Long after, int size) {
+        int limit = CursorPage.clampSize(size);
+        List<CourseDTO> rows = courseRepository.findProjectedPage(after == null ? 0L : after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, CourseDTO::getId, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CourseDTO> searchCourses(Long universityId, String courseCode, String title, Pageable pageable) {
+        return courseRepository.findAll(CourseSpecifications.matching(universityId, courseCode, title),
+                SearchPages.checked(pageable, SEARCH_SORTS)).map(this::convertToDTO);
     }
 
     @Override
+    public Page<CourseDTO> searchCoursesByText(String query, Long universityId, Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new BadRequestException("Full-text results are ordered by relevance and cannot be sorted");
+        }
+        return searchIndex.search(query, universityId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCourses(Consumer<CourseDTO> sink) {
+        // projections are never managed, so nothing accumulates in the persistence context
+        try (Stream<CourseDTO> rows = courseRepository.streamAllProjected()) {
+            rows.forEach(sink);
+        }
+    }
+
+    @Override
+    @Transactional
     public CourseDTO updateCourse(Long id, CourseDTO dto) {
         Course existing = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
@@ -74,13 +186,150 @@ public class CourseServiceImpl implements CourseService {
         existing.setTitle(dto.getTitle());
         existing.setDescription(dto.getDescription());
         existing.setCredits(dto.getCredits());
-        return convertToDTO(courseRepository.save(existing));
+        // clients from before seat limits send no capacity; only PATCH can remove a limit
+        if (dto.getCapacity() != null && !Objects.equals(existing.getCapacity(), dto.getCapacity())) {
+            existing.setCapacity(dto.getCapacity());
+            seatCounter.resize(id, dto.getCapacity());
+        }
+        CourseDTO updated = convertToDTO(courseRepository.save(existing));
+        searchIndex.indexAfterCommit(List.of(updated));
+        dashboards.coursesChanged(List.of(updated));
+        auditLog.record("Course", AuditEntry.Action.UPDATE, id, updated.getUniversityId());
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public long patchCourse(Long id, CourseDTO values, Set<String> fields, long expectedVersion) {
+        if (fields.isEmpty()) {
+            throw new BadRequestException("Nothing to update");
+        }
+        // read through the second-level cache rather than VersionedUpdates, whose bulk update would
+        // empty the region; with @DynamicUpdate the flush writes only the changed columns
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        if (course.getVersion() != expectedVersion) {
+            // the cached copy may be behind the row
+            entityManager.refresh(course);
+            if (course.getVersion() != expectedVersion) {
+                throw new ObjectOptimisticLockingFailureException(Course.class, id);
+            }
+        }
+        for (String field : fields) {
+            switch (field) {
+                case "courseCode" -> course.setCourseCode(values.getCourseCode());
+                case "title" -> course.setTitle(values.getTitle());
+                case "description" -> course.setDescription(values.getDescription());
+                case "credits" -> course.setCredits(values.getCredits());
+                case "capacity" -> {
+                    if (!Objects.equals(course.getCapacity(), values.getCapacity())) {
+                        course.setCapacity(values.getCapacity());
+                        seatCounter.resize(id, values.getCapacity());
+                    }
+                }
+                default -> throw new BadRequestException("Cannot patch " + field);
+            }
+        }
+        courseRepository.flush();
+        CourseDTO patched = convertToDTO(course);
+        searchIndex.indexAfterCommit(List.of(patched));
+        dashboards.coursesChanged(List.of(patched));
+        auditLog.record("Course", AuditEntry.Action.UPDATE, id, course.getUniversity().getId());
+        return course.getVersion();
+    }
+
+    @Override
+    public BulkResultDTO bulkCreateCourses(List<CourseDTO> dtos) {
+        // resolve each distinct university once instead of once per row
+        Set<Long> universityIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(CourseDTO::getUniversityId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownUniversities = universityRepository.findAllById(universityIds).stream()
+                .map(University::getId)
+                .collect(Collectors.toSet());
+
+        return bulkWriteExecutor.execute(dtos, dto -> {
+            if (dto.getUniversityId() == null || !knownUniversities.contains(dto.getUniversityId())) {
+                return "University not found";
+            }
+            return null;
+        }, chunk -> {
+            List<CourseDTO> created = chunk.stream()
+                    .map(dto -> convertToEntity(dto, universityRepository.getReferenceById(dto.getUniversityId())))
+                    .map(course -> convertToDTO(courseRepository.save(course)))
+                    .collect(Collectors.toList());
+            courseRepository.flush();
+            chunk.stream()
+                    .collect(Collectors.groupingBy(CourseDTO::getUniversityId, Collectors.counting()))
+                    .forEach((universityId, count) -> universityCounters.add(universityId, 0, count));
+            searchIndex.indexAfterCommit(created);
+            created.forEach(course ->
+                    auditLog.record("Course", AuditEntry.Action.CREATE, course.getId(), course.getUniversityId()));
+            return created.stream().map(CourseDTO::getId).collect(Collectors.toList());
+        }, BulkRowResultDTO.Status.CREATED);
+    }
+
+    @Override
+    public BulkResultDTO bulkUpdateCourses(List<CourseDTO> dtos) {
+        return bulkWriteExecutor.execute(dtos, dto -> dto.getId() == null ? "id is required" : null, chunk -> {
+            Map<Long, Course> existing = courseRepository.findAllById(
+                    chunk.stream().map(CourseDTO::getId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Course::getId, Function.identity()));
+            List<CourseDTO> updated = new ArrayList<>(chunk.size());
+            for (CourseDTO dto : chunk) {
+                Course course = existing.get(dto.getId());
+                if (course == null) {
+                    throw new ResourceNotFoundException("Course not found");
+                }
+                course.setCourseCode(dto.getCourseCode());
+                course.setTitle(dto.getTitle());
+                course.setDescription(dto.getDescription());
+                course.setCredits(dto.getCredits());
+                // as in updateCourse, a missing capacity keeps the course's limit
+                if (dto.getCapacity() != null && !Objects.equals(course.getCapacity(), dto.getCapacity())) {
+                    course.setCapacity(dto.getCapacity());
+                    seatCounter.resize(course.getId(), dto.getCapacity());
+                }
+                updated.add(convertToDTO(course));
+            }
+            searchIndex.indexAfterCommit(updated);
+            dashboards.coursesChanged(updated);
+            updated.forEach(course ->
+                    auditLog.record("Course", AuditEntry.Action.UPDATE, course.getId(), course.getUniversityId()));
+            return updated.stream().map(CourseDTO::getId).collect(Collectors.toList());
+        }, BulkRowResultDTO.Status.UPDATED);
+    }
+
+    @Override
+    public BulkResultDTO bulkDeleteCourses(List<Long> ids) {
+        return bulkWriteExecutor.execute(ids, id -> null, chunk -> {
+            Map<Long, Long> universities = new LinkedHashMap<>();
+            courseRepository.findUniversityIds(chunk).forEach(row -> universities.put((Long) row[0], (Long) row[1]));
+            if (universities.size() != new HashSet<>(chunk).size()) {
+                throw new ResourceNotFoundException("Course not found");
+            }
+            universityCounters.addCourses(universities.values(), -1);
+            enrollmentService.deleteForCourses(chunk);
+            topicService.deleteForCourses(chunk);
+            courseRepository.deleteAllByIdInBatch(chunk);
+            searchIndex.removeAfterCommit(chunk);
+            auditLog.recordAll("Course", AuditEntry.Action.DELETE, universities);
+            return chunk;
+        }, BulkRowResultDTO.Status.DELETED);
     }
 
     @Override
+    @Transactional
     public void deleteCourse(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        enrollmentService.deleteForCourses(List.of(id));
+        topicService.deleteForCourses(List.of(id));
+        universityCounters.add(course.getUniversity().getId(), 0, -1);
         courseRepository.delete(course);
+        searchIndex.removeAfterCommit(List.of(id));
+        auditLog.record("Course", AuditEntry.Action.DELETE, id, course.getUniversity().getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.entity.AuditEntry;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.CourseTopic;
+import com.lms_app.lms_backend.exception.BadRequestException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseTopicRepository;
+import com.lms_app.lms_backend.service.CourseTopicService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class CourseTopicServiceImpl implements CourseTopicService {
+
+    @Autowired
+    private StudentDashboards dashboards;
+
+    @Autowired
+    private CourseTopicRepository topicRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicOrdering topicOrdering;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private CourseSearchIndex searchIndex;
+
+    // sortOrder goes out as the position in the course, not the stored key
+    private CourseTopicDTO convertToDTO(CourseTopic topic) {
+        long courseId = topic.getCourse().getId();
+        return new CourseTopicDTO(topic.getId(), topic.getTitle(), topic.getDescription(), topic.getVideoUrl(),
+                topic.getDocumentUrl(), topic.getUrl(), topic.getDurationMinutes(),
+                topicOrdering.positionOf(courseId, topic.getId(), topic.getSortOrder()),
+                topic.getMaterials(), courseId, topic.getUniversity().getId());
+    }
+
+    // topic titles are part of the course's search document
+    private void reindexCourse(Long courseId) {
+        courseRepository.findProjectedById(courseId)
+                .ifPresent(course -> searchIndex.indexAfterCommit(List.of(course)));
+    }
+
+    private static void copyFields(CourseTopicDTO dto, CourseTopic topic) {
+        if (dto.getMaterials() == null) {
+            throw new BadRequestException("materials is required");
+        }
+        topic.setTitle(dto.getTitle());
+        topic.setDescription(dto.getDescription());
+        topic.setVideoUrl(dto.getVideoUrl());
+        topic.setDocumentUrl(dto.getDocumentUrl());
+        topic.setUrl(dto.getUrl());
+        topic.setDurationMinutes(dto.getDurationMinutes());
+        topic.setMaterials(dto.getMaterials());
+    }
+
+    @Override
+    @Transactional
+    public CourseTopicDTO createTopic(CourseTopicDTO dto) {
+        if (dto.getCourseId() == null) {
+            throw new BadRequestException("courseId is required");
+        }
+        Course course = courseRepository.findById(dto.getCourseId())
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        CourseTopic topic = new CourseTopic();
+        copyFields(dto, topic);
+        topic.setCourse(course);
+        // always the course's university, whatever the request said
+        topic.setUniversity(course.getUniversity());
+        topic.setSortOrder(topicOrdering.keyForPosition(course.getId(), dto.getSortOrder()));
+        CourseTopicDTO created = convertToDTO(topicRepository.saveAndFlush(topic));
+        dashboards.topicsChanged(course.getId());
+        reindexCourse(course.getId());
+        auditLog.record("CourseTopic", AuditEntry.Action.CREATE, created.getId(), created.getUniversityId());
+        return created;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseTopicDTO getTopicById(Long id) {
+        CourseTopicDTO topic = topicRepository.findProjectedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic not found"));
+        topic.setSortOrder(topicOrdering.positionOf(topic.getCourseId(), id, topic.getSortOrder()));
+        return topic;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseTopicDTO> getTopicsForCourse(Long courseId) {
+        List<CourseTopicDTO> topics = topicRepository.findProjectedByCourse(courseId);
+        for (int i = 0; i < topics.size(); i++) {
+            topics.get(i).setSortOrder(i + 1);
+        }
+        return topics;
+    }
+
+    @Override
+    @Transactional
+    public CourseTopicDTO updateTopic(Long id, CourseTopicDTO dto) {
+        CourseTopic topic = topicRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic not found"));
+        copyFields(dto, topic);
+        topicRepository.flush();
+        dashboards.topicsChanged(topic.getCourse().getId());
+        reindexCourse(topic.getCourse().getId());
+        CourseTopicDTO updated = convertToDTO(topic);
+        auditLog.record("CourseTopic", AuditEntry.Action.UPDATE, id, updated.getUniversityId());
+        return updated;
+    }
+
+    /** Places the topic right after another of its course's topics (first if none); writes only its own row. */
+    @Override
+    @Transactional
+    public CourseTopicDTO moveTopic(Long id, Long afterTopicId) {
+        CourseTopicDTO topic = topicRepository.findProjectedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic not found"));
+        int key = topicOrdering.keyAfter(topic.getCourseId(), id, afterTopicId);
+        topicRepository.updateSortOrder(id, key);
+        auditLog.record("CourseTopic", AuditEntry.Action.UPDATE, id, topic.getUniversityId());
+        topic.setSortOrder(topicOrdering.positionOf(topic.getCourseId(), id, key));
+        return topic;
+    }
+
+    @Override
+    @Transactional
+    public void deleteTopic(Long id) {
+        CourseTopic topic = topicRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic not found"));
+        topicRepository.delete(topic);
+        topicRepository.flush();
+        dashboards.topicsChanged(topic.getCourse().getId());
+        reindexCourse(topic.getCourse().getId());
+        auditLog.record("CourseTopic", AuditEntry.Action.DELETE, id, topic.getUniversity().getId());
+    }
+
+    @Override
+    @Transactional
+    public void deleteForCourses(Collection<Long> courseIds) {
+        if (!courseIds.isEmpty()) {
+            topicRepository.deleteByCourseIds(courseIds);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteForUniversity(Long universityId) {
+        topicRepository.deleteByUniversityId(universityId);
+    }
+}
@@ -0,0 +1,348 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.dto.SeatCountDTO;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.exception.CourseFullException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.EnrollmentRepository;
+import com.lms_app.lms_backend.service.EnrollmentService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Enrollments are written with plain JDBC: an enroll is one INSERT that
+ * relies on the (student_id, course_id) unique key to detect a repeat, plus
+ * one seat claim on {@link CourseSeatCounter}. Nothing is read first, so a
+ * retried request costs the same as the original and returns the same row.
+ */
+@Service
+public class EnrollmentServiceImpl implements EnrollmentService {
+
+    private static final String INSERT = "insert into enrollments "
+            + "(student_id, course_id, university_id, enrolled_at, completed) values (?, ?, ?, ?, false)";
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatCounter seatCounter;
+
+    @Autowired
+    private StudentDashboards dashboards;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${lms.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public EnrollmentDTO enroll(Long studentId, Long courseId) {
+        if (studentId == null) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+        // served from the second-level cache
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        LocalDateTime now = LocalDateTime.now();
+        Long id = inTransaction(status -> insert(studentId, course, now));
+        if (id == null) {
+            return enrollmentRepository.findProjected(studentId, courseId)
+                    .map(existing -> withStatus(existing, EnrollmentDTO.Status.ALREADY_ENROLLED))
+                    // unenrolled between our insert and this read
+                    .orElseGet(() -> enroll(studentId, courseId));
+        }
+        EnrollmentDTO enrolled = new EnrollmentDTO(id, studentId, courseId, course.getUniversity().getId(), now, false);
+        enrolled.setStatus(EnrollmentDTO.Status.ENROLLED);
+        return enrolled;
+    }
+
+    @Override
+    public List<EnrollmentDTO> enrollAll(List<EnrollmentDTO> requests) {
+        EnrollmentDTO[] results = new EnrollmentDTO[requests.size()];
+        Map<Long, List<Integer>> byCourse = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EnrollmentDTO request = requests.get(i);
+            if (request == null || request.getStudentId() == null || request.getCourseId() == null) {
+                results[i] = rejected(request, EnrollmentDTO.Status.FAILED, "studentId and courseId are required");
+            } else {
+                byCourse.computeIfAbsent(request.getCourseId(), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<Long, Course> courses = courseRepository.findAllById(byCourse.keySet()).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        byCourse.forEach((courseId, indexes) -> {
+            Course course = courses.get(courseId);
+            for (int from = 0; from < indexes.size(); from += chunkSize) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+                if (course == null) {
+                    chunk.forEach(i -> results[i] = rejected(requests.get(i), EnrollmentDTO.Status.FAILED,
+                            "Course not found"));
+                    continue;
+                }
+                try {
+                    inTransaction(status -> {
+                        enrollChunk(course, requests, chunk, results);
+                        return null;
+                    });
+                } catch (RuntimeException chunkFailure) {
+                    // an unknown student or one already enrolled; settle each row on its own
+                    chunk.forEach(i -> results[i] = enrollOne(requests.get(i)));
+                }
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public boolean unenroll(Long studentId, Long courseId) {
+        return inTransaction(status -> {
+            if (jdbcTemplate.update("delete from enrollments where student_id = ? and course_id = ?",
+                    studentId, courseId) == 0) {
+                return false;
+            }
+            seatCounter.release(courseId, 1);
+            // served from the second-level cache
+            courseRepository.findById(courseId)
+                    .ifPresent(course -> universityCounters.add(course.getUniversity().getId(), 0, 0, -1));
+            dashboards.unenrolled(studentId, courseId);
+            return true;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EnrollmentDTO> getEnrollmentsForStudent(Long studentId) {
+        return enrollmentRepository.findProjectedByStudent(studentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollmentDTO> getEnrollmentsForCourse(Long courseId, Long after, int size) {
+        int limit = CursorPage.clampSize(size);
+        List<EnrollmentDTO> rows = enrollmentRepository.findProjectedPageByCourse(courseId,
+                after == null ? 0L : after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, EnrollmentDTO::getStudentId, Function.identity());
+    }
+
+    @Override
+    public SeatCountDTO getSeats(Long courseId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        return new SeatCountDTO(courseId, course.getCapacity(), seatCounter.taken(courseId));
+    }
+
+    @Override
+    @Transactional
+    public void deleteForStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", studentIds);
+        namedJdbcTemplate.query("select course_id, university_id, count(*) from enrollments "
+                        + "where student_id in (:ids) group by course_id, university_id",
+                ids, (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)})
+                .forEach(seats -> {
+                    seatCounter.release(seats[0], (int) seats[2]);
+                    universityCounters.add(seats[1], 0, 0, -seats[2]);
+                });
+        namedJdbcTemplate.update("delete from enrollments where student_id in (:ids)", ids);
+        dashboards.deleteForStudents(studentIds);
+    }
+
+    @Override
+    @Transactional
+    public void deleteForCourses(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", courseIds);
+        namedJdbcTemplate.query("select university_id, count(*) from enrollments where course_id in (:ids) "
+                        + "group by university_id", ids, (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)})
+                .forEach(enrolled -> universityCounters.add(enrolled[0], 0, 0, -enrolled[1]));
+        namedJdbcTemplate.update("delete from enrollments where course_id in (:ids)", ids);
+        seatCounter.deleteAll(courseIds);
+        dashboards.deleteForCourses(courseIds);
+    }
+
+    @Override
+    @Transactional
+    public void deleteForUniversity(Long universityId) {
+        // its students may hold seats in other universities' courses; those seats go back
+        jdbcTemplate.query("select e.course_id, e.university_id, count(*) from enrollments e "
+                        + "join students s on s.id = e.student_id where s.university_id = ? and e.university_id <> ? "
+                        + "group by e.course_id, e.university_id",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)}, universityId, universityId)
+                .forEach(seats -> {
+                    seatCounter.release(seats[0], (int) seats[2]);
+                    universityCounters.add(seats[1], 0, 0, -seats[2]);
+                });
+        dashboards.deleteForUniversity(universityId);
+        jdbcTemplate.update("delete from enrollments where university_id = ? "
+                + "or student_id in (select id from students where university_id = ?)", universityId, universityId);
+        jdbcTemplate.update("delete from course_seat_stripes "
+                + "where course_id in (select id from course where university_id = ?)", universityId);
+    }
+
+    /** Returns the new row's id, or null if the student was already enrolled. */
+    private Long insert(Long studentId, Course course, LocalDateTime now) {
+        KeyHolder key = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT, new String[] {"id"});
+                statement.setLong(1, studentId);
+                statement.setLong(2, course.getId());
+                statement.setLong(3, course.getUniversity().getId());
+                statement.setTimestamp(4, Timestamp.valueOf(now));
+                return statement;
+            }, key);
+        } catch (DuplicateKeyException alreadyEnrolled) {
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            // the course is known to exist, so the failing foreign key is the student's
+            throw new ResourceNotFoundException("Student not found");
+        }
+        // claimed after the insert so that a repeat never takes a seat; rolling back returns both
+        if (!seatCounter.claim(course.getId(), course.getCapacity())) {
+            throw new CourseFullException("Course is full");
+        }
+        universityCounters.add(course.getUniversity().getId(), 0, 0, 1);
+        dashboards.enrolled(course.getId(), List.of(studentId));
+        return key.getKey().longValue();
+    }
+
+    // inserts first, as enroll() does: a student already enrolled fails the batch on the unique key
+    // and the caller settles the chunk row by row, so the common case costs no lookup up front
+    private void enrollChunk(Course course, List<EnrollmentDTO> requests, List<Integer> chunk,
+            EnrollmentDTO[] results) {
+        Long courseId = course.getId();
+        Long universityId = course.getUniversity().getId();
+        List<Long> studentIds = chunk.stream()
+                .map(i -> requests.get(i).getStudentId())
+                .distinct()
+                .toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, studentIds.stream()
+                .map(studentId -> new Object[] {studentId, courseId, universityId, now})
+                .collect(Collectors.toList()));
+
+        // seats are claimed after the insert, as in enroll(); rows that got none are taken back
+        int seated = 0;
+        while (seated < studentIds.size() && seatCounter.claim(courseId, course.getCapacity())) {
+            seated++;
+        }
+        List<Long> enrolled = studentIds.subList(0, seated);
+        if (seated < studentIds.size()) {
+            namedJdbcTemplate.update("delete from enrollments where course_id = :courseId and student_id in (:ids)",
+                    new MapSqlParameterSource("courseId", courseId)
+                            .addValue("ids", studentIds.subList(seated, studentIds.size())));
+        }
+        universityCounters.add(universityId, 0, 0, seated);
+        dashboards.enrolled(courseId, enrolled);
+        Map<Long, EnrollmentDTO> inserted = enrolled.isEmpty()
+                ? Map.of()
+                : byStudent(enrollmentRepository.findProjectedByCourse(courseId, enrolled));
+
+        Set<Long> reported = new HashSet<>();
+        for (int index : chunk) {
+            Long studentId = requests.get(index).getStudentId();
+            if (inserted.containsKey(studentId)) {
+                // a student listed twice is enrolled by the first row only
+                results[index] = withStatus(inserted.get(studentId), reported.add(studentId)
+                        ? EnrollmentDTO.Status.ENROLLED
+                        : EnrollmentDTO.Status.ALREADY_ENROLLED);
+            } else {
+                results[index] = rejected(requests.get(index), EnrollmentDTO.Status.COURSE_FULL, "Course is full");
+            }
+        }
+    }
+
+    private EnrollmentDTO enrollOne(EnrollmentDTO request) {
+        try {
+            return enroll(request.getStudentId(), request.getCourseId());
+        } catch (CourseFullException e) {
+            return rejected(request, EnrollmentDTO.Status.COURSE_FULL, e.getMessage());
+        } catch (RuntimeException e) {
+            return rejected(request, EnrollmentDTO.Status.FAILED,
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private <T> T inTransaction(TransactionCallback<T> work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            return tx.execute(work);
+        } catch (PessimisticLockingFailureException deadlockVictim) {
+            // the database rolled the whole transaction back; enrolling is idempotent, so go again once
+            return tx.execute(work);
+        }
+    }
+
+    private static Map<Long, EnrollmentDTO> byStudent(List<EnrollmentDTO> rows) {
+        return rows.stream().collect(Collectors.toMap(EnrollmentDTO::getStudentId, Function.identity()));
+    }
+
+    private static EnrollmentDTO withStatus(EnrollmentDTO source, EnrollmentDTO.Status status) {
+        EnrollmentDTO dto = new EnrollmentDTO(source.getId(), source.getStudentId(), source.getCourseId(),
+                source.getUniversityId(), source.getEnrolledAt(), source.getCompleted());
+        dto.setStatus(status);
+        return dto;
+    }
+
+    private static EnrollmentDTO rejected(EnrollmentDTO request, EnrollmentDTO.Status status, String error) {
+        EnrollmentDTO dto = new EnrollmentDTO();
+        if (request != null) {
+            dto.setStudentId(request.getStudentId());
+            dto.setCourseId(request.getCourseId());
+        }
+        dto.setStatus(status);
+        dto.setError(error);
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/** Paging rules shared by the search endpoints. */
+final class SearchPages {
+
+    private SearchPages() {
+    }
+
+    /**
+     * Rejects sorts on anything but {@code allowed} (arbitrary properties
+     * would mean arbitrary unindexed sorts) and appends the id as a tie-break
+     * so that pages never overlap or skip rows.
+     */
+    static Pageable checked(Pageable pageable, Set<String> allowed) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort by " + order.getProperty() + "; use one of " + allowed);
+            }
+        }
+        Sort sort = pageable.getSort().getOrderFor("id") == null
+                ? pageable.getSort().and(Sort.by("id"))
+                : pageable.getSort();
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+}
@@ -0,0 +1,211 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.DashboardCourseDTO;
+import com.lms_app.lms_backend.dto.StudentDashboardDTO;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Per-student dashboards, kept precomputed in {@code student_dashboards} and
+ * {@code student_dashboard_courses} so that reading one is two lookups by
+ * student id.
+ *
+ * <ul>
+ * <li>The course rows follow enrollments, course edits and topic changes as
+ * they happen: the services call in here inside their own transaction, and
+ * each change is one statement touching the rows of the students concerned.</li>
+ * <li>The header row is dropped when the student or their university changes
+ * ({@link #forgetStudents}, {@link #forgetUniversity}); the next read rebuilds
+ * the whole dashboard from the source tables. Deleting it by hand is how a
+ * dashboard that drifted (say, after writes that bypassed the services) is
+ * repaired.</li>
+ * </ul>
+ */
+@Component
+public class StudentDashboards {
+
+    private static final String INSERT_COURSES = "insert into student_dashboard_courses "
+            + "(student_id, course_id, university_id, course_code, title, credits, topic_count, topic_minutes, "
+            + "completed, enrolled_at) "
+            + "select e.student_id, e.course_id, e.university_id, c.course_code, c.title, c.credits, "
+            + "(select count(*) from course_topics t where t.course_id = c.id), "
+            + "(select coalesce(sum(t.duration_minutes), 0) from course_topics t where t.course_id = c.id), "
+            + "coalesce(e.completed, false), e.enrolled_at "
+            + "from enrollments e join course c on c.id = e.course_id ";
+
+    private static final RowMapper<DashboardCourseDTO> COURSE = (rs, rowNum) -> {
+        DashboardCourseDTO course = new DashboardCourseDTO();
+        course.setCourseId(rs.getLong("course_id"));
+        course.setCourseCode(rs.getString("course_code"));
+        course.setTitle(rs.getString("title"));
+        course.setCredits(rs.getInt("credits"));
+        course.setTopicCount(rs.getInt("topic_count"));
+        course.setTopicMinutes(rs.getInt("topic_minutes"));
+        course.setCompleted(rs.getBoolean("completed"));
+        Timestamp enrolledAt = rs.getTimestamp("enrolled_at");
+        course.setEnrolledAt(enrolledAt == null ? null : enrolledAt.toLocalDateTime());
+        return course;
+    };
+
+    private static final RowMapper<StudentDashboardDTO> HEADER = (rs, rowNum) -> {
+        StudentDashboardDTO dashboard = new StudentDashboardDTO();
+        dashboard.setId(rs.getLong("student_id"));
+        dashboard.setStudentId(rs.getString("student_code"));
+        dashboard.setFullName(rs.getString("full_name"));
+        dashboard.setEmail(rs.getString("email"));
+        dashboard.setMajor(rs.getString("major"));
+        dashboard.setYear(rs.getString("year"));
+        dashboard.setUniversityId(rs.getObject("university_id", Long.class));
+        dashboard.setUniversityName(rs.getString("university_name"));
+        return dashboard;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** The student's dashboard, rebuilt first if it was dropped or never built. */
+    public StudentDashboardDTO get(long studentId) {
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+        StudentDashboardDTO dashboard = read.execute(status -> find(studentId));
+        for (int attempt = 0; dashboard == null; attempt++) {
+            try {
+                dashboard = new TransactionTemplate(transactionManager).execute(status -> {
+                    rebuild(studentId);
+                    return find(studentId);
+                });
+            } catch (DuplicateKeyException e) {
+                // built, or enrolled, by someone else meanwhile; the next attempt sees their rows
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+        return dashboard;
+    }
+
+    /** Adds the courses the students were just enrolled in, from their new enrollments rows. */
+    public void enrolled(long courseId, Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            namedJdbcTemplate.update(INSERT_COURSES + "where e.course_id = :courseId and e.student_id in (:ids)",
+                    new MapSqlParameterSource("courseId", courseId).addValue("ids", studentIds));
+        }
+    }
+
+    public void unenrolled(long studentId, long courseId) {
+        jdbcTemplate.update("delete from student_dashboard_courses where student_id = ? and course_id = ?",
+                studentId, courseId);
+    }
+
+    /** Copies the courses' new code, title and credits onto the dashboards of everyone enrolled. */
+    public void coursesChanged(List<CourseDTO> courses) {
+        jdbcTemplate.batchUpdate("update student_dashboard_courses set course_code = ?, title = ?, credits = ? "
+                        + "where course_id = ?",
+                courses.stream()
+                        .map(course -> new Object[] {course.getCourseCode(), course.getTitle(), course.getCredits(),
+                                course.getId()})
+                        .collect(Collectors.toList()));
+    }
+
+    /** Recounts the course's topics on the dashboards of everyone enrolled; call once the topics are flushed. */
+    public void topicsChanged(long courseId) {
+        jdbcTemplate.update("update student_dashboard_courses set "
+                + "topic_count = (select count(*) from course_topics t where t.course_id = ?), "
+                + "topic_minutes = (select coalesce(sum(t.duration_minutes), 0) from course_topics t "
+                + "where t.course_id = ?) where course_id = ?", courseId, courseId, courseId);
+    }
+
+    /** Drops the students' dashboard headers; each is rebuilt on its next read. */
+    public void forgetStudents(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            namedJdbcTemplate.update("delete from student_dashboards where student_id in (:ids)",
+                    new MapSqlParameterSource("ids", studentIds));
+        }
+    }
+
+    public void forgetUniversity(long universityId) {
+        jdbcTemplate.update("delete from student_dashboards where university_id = ?", universityId);
+    }
+
+    public void deleteForStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", studentIds);
+        namedJdbcTemplate.update("delete from student_dashboard_courses where student_id in (:ids)", ids);
+        namedJdbcTemplate.update("delete from student_dashboards where student_id in (:ids)", ids);
+    }
+
+    public void deleteForCourses(Collection<Long> courseIds) {
+        if (!courseIds.isEmpty()) {
+            namedJdbcTemplate.update("delete from student_dashboard_courses where course_id in (:ids)",
+                    new MapSqlParameterSource("ids", courseIds));
+        }
+    }
+
+    /** Deletes the dashboards of the university's students and its courses' rows on anyone else's; before the students go. */
+    public void deleteForUniversity(long universityId) {
+        jdbcTemplate.update("delete from student_dashboard_courses where university_id = ? "
+                + "or student_id in (select id from students where university_id = ?)", universityId, universityId);
+        jdbcTemplate.update("delete from student_dashboards where university_id = ? "
+                + "or student_id in (select id from students where university_id = ?)", universityId, universityId);
+    }
+
+    private StudentDashboardDTO find(long studentId) {
+        List<StudentDashboardDTO> header = jdbcTemplate.query("select * from student_dashboards "
+                + "where student_id = ?", HEADER, studentId);
+        if (header.isEmpty()) {
+            return null;
+        }
+        StudentDashboardDTO dashboard = header.get(0);
+        List<DashboardCourseDTO> courses = jdbcTemplate.query("select * from student_dashboard_courses "
+                + "where student_id = ? order by enrolled_at, course_id", COURSE, studentId);
+        dashboard.setCourses(courses);
+        for (DashboardCourseDTO course : courses) {
+            dashboard.setEnrolledCourses(dashboard.getEnrolledCourses() + 1);
+            dashboard.setCredits(dashboard.getCredits() + course.getCredits());
+            dashboard.setTopics(dashboard.getTopics() + course.getTopicCount());
+            dashboard.setTopicMinutes(dashboard.getTopicMinutes() + course.getTopicMinutes());
+            if (course.isCompleted()) {
+                dashboard.setCompletedCourses(dashboard.getCompletedCourses() + 1);
+                dashboard.setCompletedCredits(dashboard.getCompletedCredits() + course.getCredits());
+            }
+        }
+        return dashboard;
+    }
+
+    private void rebuild(long studentId) {
+        jdbcTemplate.update("delete from student_dashboard_courses where student_id = ?", studentId);
+        jdbcTemplate.update("delete from student_dashboards where student_id = ?", studentId);
+        int built = jdbcTemplate.update("insert into student_dashboards (student_id, student_code, full_name, "
+                + "email, major, year, university_id, university_name, built_at) "
+                + "select s.id, s.student_id, s.full_name, s.email, s.major, s.year, s.university_id, u.uni_name, ? "
+                + "from students s left join university u on u.id = s.university_id where s.id = ?",
+                Timestamp.valueOf(LocalDateTime.now()), studentId);
+        if (built == 0) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+        jdbcTemplate.update(INSERT_COURSES + "where e.student_id = ?", studentId);
+    }
+}
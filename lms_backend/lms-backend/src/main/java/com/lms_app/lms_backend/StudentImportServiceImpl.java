@@ -0,0 +1,354 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.config.TenantContext;
+import com.lms_app.lms_backend.dto.BulkResultDTO;
+import com.lms_app.lms_backend.dto.BulkRowResultDTO;
+import com.lms_app.lms_backend.dto.ImportJobDTO;
+import com.lms_app.lms_backend.dto.ImportRowErrorDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.service.StudentImportService;
+import com.lms_app.lms_backend.service.StudentService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Imports student rosters as a two-stage pipeline. The parse stage streams
+ * the uploaded CSV, validates each record and hands chunks to the write stage
+ * through a bounded queue. The write stage drops rows that already exist in
+ * the database and inserts the rest through the batched bulk-create path,
+ * which also turns away duplicates within the chunk. Chunks are written one
+ * after another, so a studentId or email repeated later in the file is found
+ * by that lookup; the unique keys catch anything else. At most
+ * {@code queue-chunks + 2} chunks are held in memory at once, however large
+ * the file is.
+ */
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentImportServiceImpl.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final List<ParsedRow> END_OF_INPUT = new ArrayList<>();
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    @Qualifier("importParseExecutor")
+    private Executor parseExecutor;
+
+    @Autowired
+    @Qualifier("importWriteExecutor")
+    private Executor writeExecutor;
+
+    @Value("${lms.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${lms.import.queue-chunks:4}")
+    private int queueChunks;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> jobOrder = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public ImportJobDTO startImport(MultipartFile file) throws IOException {
+        // the multipart temp file goes away with the request, so keep our own copy
+        Path upload = Files.createTempFile("student-import-", ".csv");
+        file.transferTo(upload);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        register(job);
+        parseExecutor.execute(() -> run(job, upload));
+        return job.toDTO();
+    }
+
+    @Override
+    public ImportJobDTO getImportJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job.toDTO();
+    }
+
+    private void register(ImportJob job) {
+        jobs.put(job.id, job);
+        jobOrder.add(job.id);
+        while (jobs.size() > MAX_RETAINED_JOBS) {
+            String oldest = jobOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            ImportJob evicted = jobs.get(oldest);
+            if (evicted != null && evicted.isFinished()) {
+                jobs.remove(oldest);
+            } else {
+                jobOrder.add(oldest); // still running, look again later
+                break;
+            }
+        }
+    }
+
+    private void run(ImportJob job, Path upload) {
+        job.status = ImportJobDTO.Status.RUNNING;
+        job.startedAt = Instant.now();
+        BlockingQueue<List<ParsedRow>> queue = new ArrayBlockingQueue<>(queueChunks);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> drain(job, queue), writeExecutor);
+        try (Reader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+            parse(job, new CsvRecordReader(reader), queue, writer);
+            put(queue, END_OF_INPUT, writer);
+            writer.join();
+            job.finish(ImportJobDTO.Status.COMPLETED, null);
+        } catch (Exception e) {
+            writer.cancel(false);
+            queue.clear();
+            queue.offer(END_OF_INPUT);
+            log.warn("Student import {} failed", job.id, e);
+            job.finish(ImportJobDTO.Status.FAILED, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+    }
+
+    private void parse(ImportJob job, CsvRecordReader csv, BlockingQueue<List<ParsedRow>> queue,
+            CompletableFuture<Void> writer) throws IOException, InterruptedException {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("studentid", "universityid")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing column " + required);
+            }
+        }
+
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            job.rowsRead.incrementAndGet();
+            long line = csv.getRecordLine();
+            StudentDTO dto = new StudentDTO();
+            dto.setStudentId(field(record, columns, "studentid"));
+            dto.setFullName(field(record, columns, "fullname"));
+            dto.setEmail(field(record, columns, "email"));
+            dto.setMajor(field(record, columns, "major"));
+            dto.setYear(field(record, columns, "year"));
+            dto.setPhoneNumber(field(record, columns, "phonenumber"));
+
+            String error = null;
+            String universityId = field(record, columns, "universityid");
+            if (dto.getStudentId() == null) {
+                error = "studentId is required";
+            } else if (universityId == null) {
+                error = "universityId is required";
+            } else {
+                try {
+                    dto.setUniversityId(Long.valueOf(universityId));
+                } catch (NumberFormatException e) {
+                    error = "universityId is not a number";
+                }
+            }
+
+            if (error != null) {
+                job.rowFailed(line, error);
+                continue;
+            }
+            chunk.add(new ParsedRow(line, dto));
+            if (chunk.size() == chunkSize) {
+                put(queue, chunk, writer);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            put(queue, chunk, writer);
+        }
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /** Blocks while the write stage is behind, but gives up if it has died. */
+    private static void put(BlockingQueue<List<ParsedRow>> queue, List<ParsedRow> chunk,
+            CompletableFuture<Void> writer) throws InterruptedException {
+        while (!queue.offer(chunk, 1, TimeUnit.SECONDS)) {
+            if (writer.isDone()) {
+                writer.join(); // rethrows the write stage's failure
+                throw new IllegalStateException("Write stage stopped early");
+            }
+        }
+    }
+
+    private void drain(ImportJob job, BlockingQueue<List<ParsedRow>> queue) {
+        try {
+            while (true) {
+                List<ParsedRow> chunk = queue.take();
+                if (chunk == END_OF_INPUT) {
+                    return;
+                }
+                // a chunk from a single university counts against that university's connections
+                TenantContext.run(universityOf(chunk), () -> write(job, chunk));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private static Long universityOf(List<ParsedRow> chunk) {
+        Long universityId = chunk.get(0).dto().getUniversityId();
+        for (ParsedRow row : chunk) {
+            if (!universityId.equals(row.dto().getUniversityId())) {
+                return null;
+            }
+        }
+        return universityId;
+    }
+
+    private void write(ImportJob job, List<ParsedRow> chunk) {
+        Set<String> existingStudentIds = new HashSet<>(studentRepository.findExistingStudentIds(
+                chunk.stream().map(row -> row.dto().getStudentId()).collect(Collectors.toList())));
+        List<String> emails = chunk.stream()
+                .map(row -> row.dto().getEmail())
+                .filter(email -> email != null)
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        Set<String> existingEmails = emails.isEmpty()
+                ? Set.of()
+                : new HashSet<>(studentRepository.findExistingEmails(emails));
+
+        List<ParsedRow> fresh = new ArrayList<>(chunk.size());
+        for (ParsedRow row : chunk) {
+            String email = row.dto().getEmail();
+            if (existingStudentIds.contains(row.dto().getStudentId())) {
+                job.rowFailed(row.line(), "Student already exists");
+            } else if (email != null && existingEmails.contains(email.toLowerCase(Locale.ROOT))) {
+                job.rowFailed(row.line(), "Email already exists");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        BulkResultDTO result = studentService.bulkCreateStudents(
+                fresh.stream().map(ParsedRow::dto).collect(Collectors.toList()));
+        for (BulkRowResultDTO row : result.getRows()) {
+            if (row.getStatus() == BulkRowResultDTO.Status.FAILED) {
+                job.rowFailed(fresh.get(row.getIndex()).line(), row.getError());
+            } else {
+                job.rowsImported.incrementAndGet();
+            }
+        }
+    }
+
+    private record ParsedRow(long line, StudentDTO dto) {
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        private volatile ImportJobDTO.Status status = ImportJobDTO.Status.QUEUED;
+        private volatile String message;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        private ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        private void rowFailed(long line, String message) {
+            rowsFailed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportRowErrorDTO(line, message));
+                }
+            }
+        }
+
+        private void finish(ImportJobDTO.Status status, String message) {
+            this.message = message;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        private boolean isFinished() {
+            return status == ImportJobDTO.Status.COMPLETED || status == ImportJobDTO.Status.FAILED;
+        }
+
+        private ImportJobDTO toDTO() {
+            ImportJobDTO dto = new ImportJobDTO();
+            dto.setJobId(id);
+            dto.setFileName(fileName);
+            dto.setStatus(status);
+            dto.setMessage(message);
+            dto.setRowsRead(rowsRead.get());
+            dto.setRowsImported(rowsImported.get());
+            dto.setRowsFailed(rowsFailed.get());
+            synchronized (errors) {
+                dto.setErrors(new ArrayList<>(errors));
+            }
+            dto.setErrorsTruncated(rowsFailed.get() > MAX_REPORTED_ERRORS);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            return dto;
+        }
+    }
+}
@@ -1,30 +1,73 @@
 package com.lms_app.lms_backend;
 
+import com.lms_app.lms_backend.dto.BulkResultDTO;
+import com.lms_app.lms_backend.dto.BulkRowResultDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.StudentDashboardDTO;
+import com.lms_app.lms_backend.entity.AuditEntry;
 import com.lms_app.lms_backend.entity.Students;
 import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.exception.BadRequestException;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
 import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.StudentSpecifications;
 import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.EnrollmentService;
 import com.lms_app.lms_backend.service.StudentService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    private static final Set<String> SEARCH_SORTS = Set.of("id", "studentId", "fullName", "major", "year");
+
+    @Autowired
+    private StudentDashboards dashboards;
+
+    @Autowired
+    private VersionedUpdates versionedUpdates;
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private UniversityRepository universityRepository;
 
-    private StudentDTO convertToDTO(Students student) {
+    @Autowired
+    private BulkWriteExecutor bulkWriteExecutor;
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    StudentDTO convertToDTO(Students student) {
         StudentDTO dto = new StudentDTO();
+        dto.setId(student.getId());
         dto.setStudentId(student.getStudentId());
         dto.setFullName(student.getFullName());
         dto.setEmail(student.getEmail());
@@ -36,6 +79,12 @@ public class StudentServiceImpl implements StudentService {
     }
 
     private Students convertToEntity(StudentDTO dto) {
+        University university = universityRepository.findById(dto.getUniversityId())
+                .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        return convertToEntity(dto, university);
+    }
+
+    Students convertToEntity(StudentDTO dto, University university) {
         Students student = new Students();
         student.setStudentId(dto.getStudentId());
         student.setFullName(dto.getFullName());
@@ -43,33 +92,86 @@ public class StudentServiceImpl implements StudentService {
         student.setMajor(dto.getMajor());
         student.setYear(dto.getYear());
         student.setPhoneNumber(dto.getPhoneNumber());
-        University university = universityRepository.findById(dto.getUniversityId())
-                .orElseThrow(() -> new ResourceNotFoundException("University not found"));
         student.setUniversity(university);
         return student;
     }
 
     @Override
+    @Transactional
     public StudentDTO createStudent(StudentDTO dto) {
         Students student = convertToEntity(dto);
-        return convertToDTO(studentRepository.save(student));
+        // flushed first so that the row is written before the counter stripe is locked, see UniversityCounters
+        StudentDTO created = convertToDTO(studentRepository.saveAndFlush(student));
+        universityCounters.add(created.getUniversityId(), 1, 0);
+        auditLog.record("Student", AuditEntry.Action.CREATE, created.getId(), created.getUniversityId());
+        return created;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
-        return convertToDTO(studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found")));
+        return studentRepository.findProjectedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getStudentVersion(Long id) {
+        return studentRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+    }
+
+    // from the precomputed projection rather than joins over enrollments, courses and topics; not
+    // transactional here, as a dashboard that has to be rebuilt is written before it is read
+    @Override
+    public StudentDashboardDTO getDashboard(Long id) {
+        return dashboards.get(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents() {
-        return studentRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return studentRepository.findAllProjected();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<StudentDTO> getStudentsPage(Long after, int size) {
+        int limit = CursorPage.clampSize(size);
+        List<StudentDTO> rows = studentRepository.findProjectedPage(after == null ? 0L : after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, StudentDTO::getId, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<StudentDTO> getStudentsPageForUniversity(Long universityId, Long after, int size) {
+        // served from the second-level cache; only there to tell an unknown university from an empty one
+        universityRepository.findById(universityId)
+                .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        int limit = CursorPage.clampSize(size);
+        List<StudentDTO> rows = studentRepository.findProjectedPageByUniversity(universityId,
+                after == null ? 0L : after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, StudentDTO::getId, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<StudentDTO> searchStudents(Long universityId, String major, String year, Pageable pageable) {
+        return studentRepository.findAll(StudentSpecifications.matching(universityId, major, year),
+                SearchPages.checked(pageable, SEARCH_SORTS)).map(this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllStudents(Consumer<StudentDTO> sink) {
+        // projections are never managed, so nothing accumulates in the persistence context
+        try (Stream<StudentDTO> rows = studentRepository.streamAllProjected()) {
+            rows.forEach(sink);
+        }
+    }
+
+    @Override
+    @Transactional
     public StudentDTO updateStudent(Long id, StudentDTO dto) {
         Students existing = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
@@ -78,13 +180,126 @@ public class StudentServiceImpl implements StudentService {
         existing.setMajor(dto.getMajor());
         existing.setYear(dto.getYear());
         existing.setPhoneNumber(dto.getPhoneNumber());
-        return convertToDTO(studentRepository.save(existing));
+        StudentDTO updated = convertToDTO(studentRepository.save(existing));
+        dashboards.forgetStudents(List.of(id));
+        auditLog.record("Student", AuditEntry.Action.UPDATE, id, updated.getUniversityId());
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public long patchStudent(Long id, StudentDTO values, Set<String> fields, long expectedVersion) {
+        Map<String, Object> changes = new HashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "fullName" -> changes.put(field, values.getFullName());
+                case "email" -> changes.put(field, values.getEmail());
+                case "major" -> changes.put(field, values.getMajor());
+                case "year" -> changes.put(field, values.getYear());
+                case "phoneNumber" -> changes.put(field, values.getPhoneNumber());
+                default -> throw new BadRequestException("Cannot patch " + field);
+            }
+        }
+        long version = versionedUpdates.apply(Students.class, "Student", id, expectedVersion, changes);
+        dashboards.forgetStudents(List.of(id));
+        // the university is not read for a patch, so the event only reaches unfiltered change feed subscribers
+        auditLog.record("Student", AuditEntry.Action.UPDATE, id, null);
+        return version;
+    }
+
+    @Override
+    public BulkResultDTO bulkCreateStudents(List<StudentDTO> dtos) {
+        // resolve each distinct university once instead of once per row
+        Set<Long> universityIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(StudentDTO::getUniversityId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownUniversities = universityRepository.findAllById(universityIds).stream()
+                .map(University::getId)
+                .collect(Collectors.toSet());
+        Set<String> seenStudentIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        return bulkWriteExecutor.execute(dtos, dto -> {
+            if (dto.getStudentId() == null || dto.getStudentId().isBlank()) {
+                return "studentId is required";
+            }
+            if (dto.getUniversityId() == null || !knownUniversities.contains(dto.getUniversityId())) {
+                return "University not found";
+            }
+            if (!seenStudentIds.add(dto.getStudentId())) {
+                return "Duplicate studentId in request";
+            }
+            if (dto.getEmail() != null && !seenEmails.add(dto.getEmail().toLowerCase())) {
+                return "Duplicate email in request";
+            }
+            return null;
+        }, chunk -> {
+            List<Long> ids = chunk.stream()
+                    .map(dto -> convertToEntity(dto, universityRepository.getReferenceById(dto.getUniversityId())))
+                    .map(student -> studentRepository.save(student).getId())
+                    .collect(Collectors.toList());
+            studentRepository.flush();
+            chunk.stream()
+                    .collect(Collectors.groupingBy(StudentDTO::getUniversityId, Collectors.counting()))
+                    .forEach((universityId, count) -> universityCounters.add(universityId, count, 0));
+            for (int i = 0; i < ids.size(); i++) {
+                auditLog.record("Student", AuditEntry.Action.CREATE, ids.get(i), chunk.get(i).getUniversityId());
+            }
+            return ids;
+        }, BulkRowResultDTO.Status.CREATED);
+    }
+
+    @Override
+    public BulkResultDTO bulkUpdateStudents(List<StudentDTO> dtos) {
+        return bulkWriteExecutor.execute(dtos, dto -> dto.getId() == null ? "id is required" : null, chunk -> {
+            Map<Long, Students> existing = studentRepository.findAllById(
+                    chunk.stream().map(StudentDTO::getId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Students::getId, Function.identity()));
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (StudentDTO dto : chunk) {
+                Students student = existing.get(dto.getId());
+                if (student == null) {
+                    throw new ResourceNotFoundException("Student not found");
+                }
+                student.setFullName(dto.getFullName());
+                student.setEmail(dto.getEmail());
+                student.setMajor(dto.getMajor());
+                student.setYear(dto.getYear());
+                student.setPhoneNumber(dto.getPhoneNumber());
+                ids.add(student.getId());
+                auditLog.record("Student", AuditEntry.Action.UPDATE, student.getId(), student.getUniversity().getId());
+            }
+            dashboards.forgetStudents(ids);
+            return ids;
+        }, BulkRowResultDTO.Status.UPDATED);
+    }
+
+    @Override
+    public BulkResultDTO bulkDeleteStudents(List<Long> ids) {
+        return bulkWriteExecutor.execute(ids, id -> null, chunk -> {
+            Map<Long, Long> universities = new LinkedHashMap<>();
+            studentRepository.findUniversityIds(chunk).forEach(row -> universities.put((Long) row[0], (Long) row[1]));
+            if (universities.size() != new HashSet<>(chunk).size()) {
+                throw new ResourceNotFoundException("Student not found");
+            }
+            universityCounters.addStudents(universities.values(), -1);
+            enrollmentService.deleteForStudents(chunk);
+            studentRepository.deleteAllByIdInBatch(chunk);
+            auditLog.recordAll("Student", AuditEntry.Action.DELETE, universities);
+            return chunk;
+        }, BulkRowResultDTO.Status.DELETED);
     }
 
     @Override
+    @Transactional
     public void deleteStudent(Long id) {
         Students student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        enrollmentService.deleteForStudents(List.of(id));
+        universityCounters.add(student.getUniversity().getId(), -1, 0);
         studentRepository.delete(student);
+        auditLog.record("Student", AuditEntry.Action.DELETE, id, student.getUniversity().getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.exception.BadRequestException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sort keys for course topics ({@code course_topics.sort_order}). Keys are
+ * sparse, {@code lms.topics.order-gap} apart when a course is laid out, so a
+ * topic placed between two others takes the key halfway between theirs and
+ * no other row changes. A course whose keys have run close together is laid
+ * out afresh by a background job; only a placement into a gap that is
+ * already used up renumbers the course on the spot.
+ *
+ * <p>Placements and layouts lock the course row first, so that two
+ * placements in one course cannot pick the same key.
+ */
+@Component
+public class TopicOrdering {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicOrdering.class);
+
+    // below this, the next placement into the gap may find it used up
+    private static final long CROWDED_GAP = 8;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${lms.topics.order-gap:1024}")
+    private int gap;
+
+    private final Set<Long> crowded = ConcurrentHashMap.newKeySet();
+
+    /** The key for a new topic at 1-based {@code position} (null or past the end: last). */
+    int keyForPosition(long courseId, Integer position) {
+        lock(courseId);
+        Integer before = null;
+        Integer after = null;
+        if (position == null) {
+            before = jdbcTemplate.queryForObject("select max(sort_order) from course_topics where course_id = ?",
+                    Integer.class, courseId);
+        } else if (position <= 1) {
+            after = jdbcTemplate.queryForObject("select min(sort_order) from course_topics where course_id = ?",
+                    Integer.class, courseId);
+        } else {
+            // the topics now at position - 1 and position
+            List<Integer> around = jdbcTemplate.queryForList("select sort_order from course_topics "
+                    + "where course_id = ? order by sort_order, id limit 2 offset ?",
+                    Integer.class, courseId, position - 2);
+            if (around.isEmpty()) {
+                return keyForPosition(courseId, null);
+            }
+            before = around.get(0);
+            after = around.size() > 1 ? around.get(1) : null;
+        }
+        Integer key = between(courseId, before, after);
+        if (key == null) {
+            layOut(courseId);
+            return keyForPosition(courseId, position);
+        }
+        return key;
+    }
+
+    /** The key that puts {@code topicId} right after {@code afterTopicId}, or first if that is null. */
+    int keyAfter(long courseId, long topicId, Long afterTopicId) {
+        lock(courseId);
+        Integer before = null;
+        Integer after;
+        if (afterTopicId == null) {
+            after = jdbcTemplate.queryForObject("select min(sort_order) from course_topics "
+                    + "where course_id = ? and id <> ?", Integer.class, courseId, topicId);
+        } else {
+            if (afterTopicId == topicId) {
+                throw new BadRequestException("A topic cannot be moved after itself");
+            }
+            List<Integer> anchor = jdbcTemplate.queryForList("select sort_order from course_topics "
+                    + "where id = ? and course_id = ?", Integer.class, afterTopicId, courseId);
+            if (anchor.isEmpty()) {
+                throw new ResourceNotFoundException("Topic not found");
+            }
+            before = anchor.get(0);
+            after = jdbcTemplate.queryForObject("select min(sort_order) from course_topics "
+                    + "where course_id = ? and id <> ? and sort_order > ?", Integer.class, courseId, topicId, before);
+        }
+        Integer key = between(courseId, before, after);
+        if (key == null) {
+            layOut(courseId);
+            return keyAfter(courseId, topicId, afterTopicId);
+        }
+        return key;
+    }
+
+    /** 1-based position of a topic in its course; topics without a key yet come first, as in the listing. */
+    int positionOf(long courseId, long topicId, Integer key) {
+        Integer before = key == null
+                ? jdbcTemplate.queryForObject("select count(*) from course_topics where course_id = ? "
+                        + "and sort_order is null and id < ?", Integer.class, courseId, topicId)
+                : jdbcTemplate.queryForObject("select count(*) from course_topics where course_id = ? "
+                        + "and (sort_order is null or sort_order < ? or (sort_order = ? and id < ?))",
+                        Integer.class, courseId, key, key, topicId);
+        return before + 1;
+    }
+
+    /** A key strictly between the two (either may be null for an open end), or null if there is none. */
+    private Integer between(long courseId, Integer before, Integer after) {
+        long low = before == null ? (after == null ? 0 : (long) after - 2L * gap) : before;
+        long high = after == null ? low + 2L * gap : after;
+        if (high - low < 2 || low < Integer.MIN_VALUE || high > Integer.MAX_VALUE) {
+            return null;
+        }
+        long key = low + (high - low) / 2;
+        if (before != null && after != null && (key - low < CROWDED_GAP || high - key < CROWDED_GAP)) {
+            crowded.add(courseId);
+        }
+        return (int) key;
+    }
+
+    private void lockCourse(long courseId) {
+        if (jdbcTemplate.queryForList("select id from course where id = ? for update", Long.class, courseId)
+                .isEmpty()) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+    }
+
+    // locks the course and gives keys to topics from before there were any
+    private void lock(long courseId) {
+        lockCourse(courseId);
+        if (jdbcTemplate.queryForObject("select count(*) from course_topics where course_id = ? "
+                + "and sort_order is null", Integer.class, courseId) > 0) {
+            layOut(courseId);
+        }
+    }
+
+    /** Renumbers the course's topics {@code gap} apart, in their current order; joins the caller's transaction. */
+    void layOut(long courseId) {
+        lockCourse(courseId);
+        List<Long> ids = jdbcTemplate.queryForList("select id from course_topics where course_id = ? "
+                + "order by sort_order, id", Long.class, courseId);
+        List<Object[]> keys = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            keys.add(new Object[] {(long) (i + 1) * gap, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate("update course_topics set sort_order = ? where id = ?", keys);
+        crowded.remove(courseId);
+    }
+
+    @Scheduled(fixedDelayString = "${lms.topics.layout-interval:30s}",
+            initialDelayString = "${lms.topics.layout-interval:30s}")
+    public void layOutCrowded() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (Long courseId : List.copyOf(crowded)) {
+            try {
+                tx.executeWithoutResult(status -> layOut(courseId));
+            } catch (ResourceNotFoundException e) {
+                crowded.remove(courseId); // deleted since
+            } catch (RuntimeException e) {
+                log.warn("Could not lay out the topics of course {}", courseId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.AdminRepository;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code University.students}, {@code University.courses} and
+ * {@code Admin.students} in step with the students and course tables, and
+ * feeds student, course and enrollment counts to {@link AnalyticsRollups}.
+ *
+ * <ul>
+ * <li>Writers call {@link #add} inside their own transaction; the delta lands
+ * on one of {@code lms.counters.stripes} rows per university
+ * ({@link com.lms_app.lms_backend.entity.UniversityCounterStripe}), so
+ * concurrent creates do not queue on the University row.</li>
+ * <li>{@link #fold()} runs every {@code lms.counters.fold-interval} and moves
+ * the pending deltas into the University rows and their admins. Counts seen
+ * by readers therefore lag writes by up to one interval.</li>
+ * <li>{@link #reconcile()} recounts from the source tables on
+ * {@code lms.counters.reconcile-cron}, repairing drift from writes that
+ * bypass the services, and rebuilds the analytics rollups from the recount.</li>
+ * </ul>
+ *
+ * <p>Both jobs lock the University row before its stripes. Writers flush
+ * their student or course inserts, which take a shared lock on the University
+ * row for the foreign key check, before they touch a stripe; taking the locks
+ * in the same order on both sides is what keeps the two from deadlocking.
+ */
+@Component
+public class UniversityCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(UniversityCounters.class);
+
+    private static final String ADD = "update university_counter_stripes "
+            + "set students = students + ?, courses = courses + ?, enrollments = enrollments + ? "
+            + "where university_id = ? and stripe = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private AnalyticsRollups analyticsRollups;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${lms.counters.stripes:16}")
+    private int stripes;
+
+    /** Records a change in a university's counts as part of the caller's transaction. */
+    public void add(long universityId, long students, long courses) {
+        add(universityId, students, courses, 0);
+    }
+
+    /** As above, with a change in the enrollments in the university's courses. */
+    public void add(long universityId, long students, long courses, long enrollments) {
+        if (students == 0 && courses == 0 && enrollments == 0) {
+            return;
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        if (jdbcTemplate.update(ADD, students, courses, enrollments, universityId, stripe) == 1) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("insert into university_counter_stripes "
+                    + "(university_id, stripe, students, courses, enrollments) values (?, ?, ?, ?, ?)",
+                    universityId, stripe, students, courses, enrollments);
+        } catch (DuplicateKeyException createdConcurrently) {
+            jdbcTemplate.update(ADD, students, courses, enrollments, universityId, stripe);
+        }
+    }
+
+    /** Adds {@code sign} for each entry of {@code universityIds}, one per row, with one call per university. */
+    public void addStudents(Collection<Long> universityIds, int sign) {
+        perUniversity(universityIds).forEach((universityId, rows) -> add(universityId, sign * rows, 0));
+    }
+
+    public void addCourses(Collection<Long> universityIds, int sign) {
+        perUniversity(universityIds).forEach((universityId, rows) -> add(universityId, 0, sign * rows));
+    }
+
+    private static Map<Long, Long> perUniversity(Collection<Long> universityIds) {
+        return universityIds.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    /** Drops the stripes of a deleted university, inside the caller's transaction. */
+    public void forget(long universityId) {
+        jdbcTemplate.update("delete from university_counter_stripes where university_id = ?", universityId);
+    }
+
+    @Scheduled(fixedDelayString = "${lms.counters.fold-interval:5s}",
+            initialDelayString = "${lms.counters.fold-interval:5s}")
+    public void fold() {
+        List<Long> pending = jdbcTemplate.queryForList("select distinct university_id from university_counter_stripes "
+                + "where students <> 0 or courses <> 0 or enrollments <> 0", Long.class);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (Long universityId : pending) {
+            tx.executeWithoutResult(status -> settle(universityId, false));
+        }
+    }
+
+    @Scheduled(cron = "${lms.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int corrected = 0;
+        for (Long universityId : universityRepository.findAllIds()) {
+            if (Boolean.TRUE.equals(tx.execute(status -> settle(universityId, true)))) {
+                corrected++;
+            }
+        }
+        tx.executeWithoutResult(status -> {
+            adminRepository.refreshAllStudents();
+            analyticsRollups.rebuildPlatform();
+        });
+        if (corrected > 0) {
+            log.warn("Counter reconciliation corrected {} universities", corrected);
+        }
+    }
+
+    /**
+     * Folds one university's stripes into its row and the analytics rollups,
+     * or with {@code recount} replaces the counts in both with fresh ones.
+     * Returns whether a recount found drift.
+     */
+    private boolean settle(Long universityId, boolean recount) {
+        University university = entityManager.find(University.class, universityId, LockModeType.PESSIMISTIC_WRITE);
+        if (university == null) {
+            forget(universityId);
+            return false;
+        }
+        List<long[]> rows = jdbcTemplate.query("select students, courses, enrollments "
+                        + "from university_counter_stripes where university_id = ? for update",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)}, universityId);
+        long studentsAdded = rows.stream().mapToLong(row -> row[0]).sum();
+        long coursesAdded = rows.stream().mapToLong(row -> row[1]).sum();
+        long students = university.getStudents() + studentsAdded;
+        long courses = university.getCourses() + coursesAdded;
+        boolean drifted = false;
+        if (recount) {
+            long actualStudents = studentRepository.countByUniversityId(universityId);
+            long actualCourses = courseRepository.countByUniversityId(universityId);
+            drifted = actualStudents != students || actualCourses != courses;
+            students = actualStudents;
+            courses = actualCourses;
+            analyticsRollups.reset(university, students, courses, jdbcTemplate.queryForObject(
+                    "select count(*) from enrollments where university_id = ?", Long.class, universityId));
+        } else {
+            analyticsRollups.add(university, studentsAdded, coursesAdded, rows.stream().mapToLong(row -> row[2]).sum());
+        }
+        boolean studentsChanged = students != university.getStudents();
+        university.setStudents((int) students);
+        university.setCourses((int) courses);
+        entityManager.flush();
+        jdbcTemplate.update("update university_counter_stripes set students = 0, courses = 0, enrollments = 0 "
+                + "where university_id = ?", universityId);
+        if (studentsChanged && !recount && university.getUniName() != null) {
+            adminRepository.refreshStudents(List.of(university.getUniName()));
+        }
+        return drifted;
+    }
+}
@@ -1,23 +1,72 @@
 package com.lms_app.lms_backend;
 
 import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.entity.AuditEntry;
 import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.exception.BadRequestException;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.repository.AdminRepository;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
 import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseTopicService;
+import com.lms_app.lms_backend.service.EnrollmentService;
 import com.lms_app.lms_backend.service.UniversityService;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UniversityServiceImpl implements UniversityService {
 
+    @Autowired
+    private StudentDashboards dashboards;
+
     @Autowired
     private UniversityRepository universityRepository;
 
-    private UniversityDTO convertToDTO(University university) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseTopicService topicService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private AnalyticsRollups analyticsRollups;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    UniversityDTO convertToDTO(University university) {
         UniversityDTO dto = new UniversityDTO();
         dto.setUniName(university.getUniName());
         dto.setEstYear(university.getEstYear());
@@ -29,31 +78,50 @@ public class UniversityServiceImpl implements UniversityService {
         return dto;
     }
 
-    private University convertToEntity(UniversityDTO dto) {
+    University convertToEntity(UniversityDTO dto) {
         University university = new University();
         university.setUniName(dto.getUniName());
         university.setEstYear(dto.getEstYear());
         university.setAddress(dto.getAddress());
         university.setStatus(University.Status.valueOf(dto.getStatus().toUpperCase()));
         university.setAdminName(dto.getAdminName());
-        university.setStudents(dto.getStudents());
-        university.setCourses(dto.getCourses());
+        // students and courses are maintained by UniversityCounters, not taken from clients
         return university;
     }
 
     @Override
+    @Transactional
     public UniversityDTO createUniversity(UniversityDTO dto) {
-        University university = convertToEntity(dto);
-        return convertToDTO(universityRepository.save(university));
+        University saved = universityRepository.save(convertToEntity(dto));
+        analyticsRollups.universityCreated(saved.getId(), saved.getStatus() == University.Status.ACTIVE);
+        auditLog.record("University", AuditEntry.Action.CREATE, saved.getId(), saved.getId());
+        return convertToDTO(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UniversityDTO getUniversityById(Long id) {
         return convertToDTO(universityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("University not found")));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long getUniversityVersion(Long id) {
+        // a second-level cache hit for universities that have been read before
+        return universityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("University not found"))
+                .getVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getUniversitiesVersion() {
+        return universityRepository.findTableVersion().tag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<UniversityDTO> getAllUniversities() {
         return universityRepository.findAll()
                 .stream()
@@ -62,6 +130,27 @@ public class UniversityServiceImpl implements UniversityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UniversityDTO> getUniversitiesPage(Long after, int size) {
+        int limit = CursorPage.clampSize(size);
+        List<University> rows = universityRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, University::getId, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUniversities(Consumer<UniversityDTO> sink) {
+        try (Stream<University> rows = universityRepository.streamAllOrderById()) {
+            rows.forEach(row -> {
+                sink.accept(convertToDTO(row));
+                // keep the persistence context from growing with the result set
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
     public UniversityDTO updateUniversity(Long id, UniversityDTO dto) {
         University existing = universityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("University not found"));
@@ -70,15 +159,81 @@ public class UniversityServiceImpl implements UniversityService {
         existing.setAddress(dto.getAddress());
         existing.setStatus(University.Status.valueOf(dto.getStatus().toUpperCase()));
         existing.setAdminName(dto.getAdminName());
-        existing.setStudents(dto.getStudents());
-        existing.setCourses(dto.getCourses());
-        return convertToDTO(universityRepository.save(existing));
+        UniversityDTO updated = convertToDTO(universityRepository.save(existing));
+        analyticsRollups.statusChanged(id, existing.getStatus() == University.Status.ACTIVE);
+        dashboards.forgetUniversity(id);
+        auditLog.record("University", AuditEntry.Action.UPDATE, id, id);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public long patchUniversity(Long id, UniversityDTO values, Set<String> fields, long expectedVersion) {
+        if (fields.isEmpty()) {
+            throw new BadRequestException("Nothing to update");
+        }
+        // read through the second-level cache rather than VersionedUpdates, whose bulk update would
+        // empty the region; with @DynamicUpdate the flush writes only the changed columns
+        University university = universityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        if (university.getVersion() != expectedVersion) {
+            // the cached copy may be behind the row
+            entityManager.refresh(university);
+            if (university.getVersion() != expectedVersion) {
+                throw new ObjectOptimisticLockingFailureException(University.class, id);
+            }
+        }
+        for (String field : fields) {
+            switch (field) {
+                case "uniName" -> university.setUniName(values.getUniName());
+                case "estYear" -> university.setEstYear(values.getEstYear());
+                case "address" -> university.setAddress(values.getAddress());
+                case "status" -> university.setStatus(patchedEnum(University.Status.class, field, values.getStatus()));
+                case "adminName" -> university.setAdminName(values.getAdminName());
+                default -> throw new BadRequestException("Cannot patch " + field);
+            }
+        }
+        universityRepository.flush();
+        analyticsRollups.statusChanged(id, university.getStatus() == University.Status.ACTIVE);
+        dashboards.forgetUniversity(id);
+        auditLog.record("University", AuditEntry.Action.UPDATE, id, id);
+        return university.getVersion();
+    }
+
+    /** The constant {@code value} names, ignoring case; 400 for a missing or unknown value. */
+    private static <E extends Enum<E>> E patchedEnum(Class<E> type, String field, String value) {
+        if (value != null) {
+            for (E constant : type.getEnumConstants()) {
+                if (constant.name().equalsIgnoreCase(value)) {
+                    return constant;
+                }
+            }
+        }
+        throw new BadRequestException("Invalid " + field + ": " + value);
     }
 
+    /**
+     * Removes the university with its students, courses, topics and enrollments in
+     * one transaction of set-based deletes, however large it is.
+     */
     @Override
+    @Transactional
     public void deleteUniversity(Long id) {
         University university = universityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        enrollmentService.deleteForUniversity(id);
+        studentRepository.deleteByUniversityId(id);
+        topicService.deleteForUniversity(id);
+        courseRepository.deleteByUniversityId(id);
+        courseSearchIndex.removeUniversityAfterCommit(id);
+        universityCounters.forget(id);
+        analyticsRollups.universityDeleted(id);
         universityRepository.delete(university);
+        universityRepository.flush();
+        if (university.getUniName() != null) {
+            adminRepository.refreshStudents(List.of(university.getUniName()));
+        }
+        // its students and courses go with it and are not logged one by one
+        auditLog.record("University", AuditEntry.Action.DELETE, id, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.exception.BadRequestException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Writes a PATCH as one {@code update ... set <given columns>, version = version + 1
+ * where id = ? and version = ?}, with no SELECT in front of it. Suits entities
+ * outside the second-level cache; for cached ones a bulk update would empty the
+ * whole region, so their services load the (cached) entity instead and let
+ * {@code @DynamicUpdate} write the changed columns.
+ */
+@Component
+public class VersionedUpdates {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Applies {@code changes} (attribute name to value) inside the caller's
+     * transaction and returns the new version. Throws 404 ("{@code name} not
+     * found") when the row does not exist and 409 when its version is no longer
+     * {@code expectedVersion}.
+     */
+    public <T> long apply(Class<T> type, String name, Long id, long expectedVersion, Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            throw new BadRequestException("Nothing to update");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(type);
+        Root<T> root = update.from(type);
+        changes.forEach((attribute, value) -> set(cb, update, root.get(attribute), value));
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.where(cb.equal(root.get("id"), id), cb.equal(version, expectedVersion));
+        if (entityManager.createQuery(update).executeUpdate() == 1) {
+            return expectedVersion + 1;
+        }
+        // only a miss costs a second statement
+        if (entityManager.find(type, id) == null) {
+            throw new ResourceNotFoundException(name + " not found");
+        }
+        throw new ObjectOptimisticLockingFailureException(type, id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, Y> void set(CriteriaBuilder cb, CriteriaUpdate<T> update, Path<Y> path, Object value) {
+        if (value == null) {
+            update.set(path, cb.nullLiteral((Class<Y>) path.getJavaType()));
+        } else {
+            update.set(path, (Y) value);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.lms_app.lms_backend.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The number of API requests allowed in flight at once, adjusted to the
+ * database's latency. Statement times feed a short and a long moving average;
+ * every {@value #ADJUST_EVERY} statements the limit moves towards a target
+ * within {@code [min, max]}: the current limit, scaled down (to half at most)
+ * by how far the short average has risen beyond {@code tolerance} times the
+ * long one, plus its square root as headroom. Steady latency therefore lets it
+ * grow, rising latency shrinks it. Requests over the limit are turned away
+ * before they can queue on the connection pool.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final int ADJUST_EVERY = 100;
+
+    private static final double SHORT_WEIGHT = 0.1;
+
+    private static final double LONG_WEIGHT = 0.002;
+
+    private final int min;
+
+    private final int max;
+
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong samples = new AtomicLong();
+
+    private volatile int limit;
+
+    // updated without synchronization: a lost sample only makes the averages a little slower
+    private volatile double shortNanos;
+
+    private volatile double longNanos;
+
+    AdaptiveConcurrencyLimit(int initial, int min, int max, double tolerance) {
+        this.min = min;
+        this.max = max;
+        this.tolerance = tolerance;
+        this.limit = Math.max(min, Math.min(max, initial));
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    void sample(long nanos) {
+        double shortAverage = shortNanos;
+        if (shortAverage == 0) {
+            shortNanos = nanos;
+            longNanos = nanos;
+            return;
+        }
+        shortNanos = shortAverage + SHORT_WEIGHT * (nanos - shortAverage);
+        longNanos = longNanos + LONG_WEIGHT * (nanos - longNanos);
+        if (samples.incrementAndGet() % ADJUST_EVERY == 0) {
+            adjust();
+        }
+    }
+
+    private void adjust() {
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longNanos / shortNanos));
+        int current = limit;
+        double target = current * gradient + Math.sqrt(current);
+        // smoothed, so that one slow burst does not halve the limit outright
+        long next = Math.round(current * 0.8 + target * 0.2);
+        limit = (int) Math.max(min, Math.min(max, next));
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.lms_app.lms_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rate limits and the adaptive concurrency limit for {@code /api/*} (see
+ * {@link AdmissionFilter}), with {@code lms.admission.rejected} counting
+ * turned-away requests by reason and {@code lms.admission.limit} /
+ * {@code lms.admission.in-flight} showing the concurrency limit at work.
+ * Switched off with {@code lms.admission.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lms.admission.enabled", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<?> admissionFilter(SqlStatementMetrics sqlStatementMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${lms.admission.buckets:4096}") int buckets,
+            @Value("${lms.admission.read-rate:100}") double readRate,
+            @Value("${lms.admission.read-burst:200}") int readBurst,
+            @Value("${lms.admission.write-rate:20}") double writeRate,
+            @Value("${lms.admission.write-burst:50}") int writeBurst,
+            @Value("${lms.admission.initial-limit:20}") int initialLimit,
+            @Value("${lms.admission.min-limit:4}") int minLimit,
+            @Value("${lms.admission.max-limit:200}") int maxLimit,
+            @Value("${lms.admission.latency-tolerance:2.0}") double latencyTolerance) {
+        AdaptiveConcurrencyLimit concurrency =
+                new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTolerance);
+        sqlStatementMetrics.onStatement(concurrency::sample);
+        Gauge.builder("lms.admission.limit", concurrency, AdaptiveConcurrencyLimit::limit)
+                .description("API requests currently allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("lms.admission.in-flight", concurrency, AdaptiveConcurrencyLimit::inFlight)
+                .description("API requests in flight")
+                .register(meterRegistry);
+
+        AdmissionFilter filter = new AdmissionFilter(new TokenBuckets(buckets, readRate, readBurst),
+                new TokenBuckets(buckets, writeRate, writeBurst), concurrency,
+                rejected(meterRegistry, "rate"), rejected(meterRegistry, "concurrency"));
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("lms.admission.rejected")
+                .description("API requests turned away by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
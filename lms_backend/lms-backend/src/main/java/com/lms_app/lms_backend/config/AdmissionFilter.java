@@ -0,0 +1,89 @@
+package com.lms_app.lms_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the API. Each caller has separate read
+ * (GET/HEAD) and write budgets; past them it gets a 429 with the
+ * {@code Retry-After} until its next token. Requests within budget still
+ * need a slot under the {@link AdaptiveConcurrencyLimit}, else they get a 503.
+ *
+ * <p>A caller is the client address. Nothing in the request itself can pick
+ * the bucket: a {@code universityId} parameter is not checked against anything
+ * at this point, so keying on it would let a script rotate through ids for
+ * fresh budgets, or spend another university's. Per-university or per-admin
+ * budgets need an authenticated principal to key on.
+ */
+class AdmissionFilter extends OncePerRequestFilter {
+
+    private final TokenBuckets reads;
+
+    private final TokenBuckets writes;
+
+    private final AdaptiveConcurrencyLimit concurrency;
+
+    private final Counter rateLimited;
+
+    private final Counter shed;
+
+    AdmissionFilter(TokenBuckets reads, TokenBuckets writes, AdaptiveConcurrencyLimit concurrency,
+            Counter rateLimited, Counter shed) {
+        this.reads = reads;
+        this.writes = writes;
+        this.concurrency = concurrency;
+        this.rateLimited = rateLimited;
+        this.shed = shed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        long wait = (read ? reads : writes).tryAcquire(caller(request));
+        if (wait > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1,
+                    "Too many " + (read ? "reads" : "writes") + " from this caller; retry later");
+            return;
+        }
+        if (!concurrency.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "The service is at capacity; retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrency.release();
+        }
+    }
+
+    private static long caller(HttpServletRequest request) {
+        return request.getRemoteAddr().hashCode() & 0xFFFFFFFFL;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+            String detail) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase()
+                + "\",\"status\":" + status.value() + ",\"detail\":\"" + detail + "\"}");
+    }
+}
@@ -0,0 +1,101 @@
+package com.lms_app.lms_backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.University;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache for the read-mostly University and
+ * Course data, held in-process by Caffeine behind the JCache API. Sizes and
+ * TTLs come from {@code lms.cache.*}; set {@code lms.cache.enabled=false} to
+ * run without the cache, or point Hibernate at another JCache provider.
+ *
+ * <p>Hibernate keeps the regions in step with the writes it makes, entity
+ * updates and deletes after commit and JPQL bulk deletes by emptying the
+ * region. Each instance has its own cache: a write made on another instance,
+ * or by SQL outside Hibernate, shows up here once the entry's TTL runs out.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lms.cache.enabled", matchIfMissing = true)
+public class CacheConfig {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${lms.cache.university.max-size:1000}")
+    private long universityMaxSize;
+
+    @Value("${lms.cache.university.ttl:10m}")
+    private Duration universityTtl;
+
+    @Value("${lms.cache.course.max-size:10000}")
+    private long courseMaxSize;
+
+    @Value("${lms.cache.course.ttl:10m}")
+    private Duration courseTtl;
+
+    @Value("${lms.cache.query.max-size:10000}")
+    private long queryMaxSize;
+
+    @Value("${lms.cache.query.ttl:5m}")
+    private Duration queryTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(ObjectProvider<MeterRegistry> meterRegistry) {
+        CachingProvider provider = Caching
+                .getCachingProvider("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+        // a manager of our own, so that several application contexts in one JVM never share regions
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("lms-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        create(cacheManager, University.class.getName(), universityMaxSize, universityTtl, meterRegistry);
+        create(cacheManager, Course.class.getName(), courseMaxSize, courseTtl, meterRegistry);
+        create(cacheManager, QUERY_RESULTS_REGION, queryMaxSize, queryTtl, meterRegistry);
+        // must outlive every cached query result, so it is neither bounded nor expired
+        create(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, null, meterRegistry);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void create(CacheManager cacheManager, String region, long maxSize, Duration ttl,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+        meterRegistry.ifAvailable(registry -> JCacheMetrics.monitor(registry, cache));
+    }
+}
@@ -0,0 +1,54 @@
+package com.lms_app.lms_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Students and Course used to take their ids from AUTO_INCREMENT, as did the
+ * course_topics table that predates CourseTopic. On MySQL the
+ * sequences that replaced it are emulated with single-row tables which
+ * Hibernate creates starting at 1, so existing databases would hand out ids
+ * that are already taken. Before the application accepts requests this moves
+ * each sequence past the highest id in use (plus one allocation block, since
+ * the pooled optimizer hands out the block below the stored value).
+ */
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    // sequence table -> entity table
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "students_seq", "students",
+            "course_seq", "course",
+            "course_topic_seq", "course_topics");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return; // native sequences, created fresh with the schema
+        }
+        SEQUENCES.forEach((sequence, table) -> {
+            int updated = jdbcTemplate.update("update " + sequence + " set next_val = "
+                    + "(select coalesce(max(id), 0) + " + (ALLOCATION_SIZE + 1) + " from " + table + ") "
+                    + "where next_val <= (select coalesce(max(id), 0) + " + ALLOCATION_SIZE + " from " + table + ")");
+            if (updated > 0) {
+                log.info("Moved {} past the ids already used in {}", sequence, table);
+            }
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.lms_app.lms_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Thread pools for roster imports. Each running import uses one thread from
+ * each pool: the parse stage and the write stage it feeds. Both pools are
+ * sized to the number of concurrent imports, so a queued import can never
+ * take the writer thread a running one is waiting for.
+ */
+@Configuration
+public class ImportConfig {
+
+    @Value("${lms.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public ThreadPoolTaskExecutor importParseExecutor() {
+        return executor("import-parse-");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor importWriteExecutor() {
+        return executor("import-write-");
+    }
+
+    private ThreadPoolTaskExecutor executor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setVirtualThreads(virtualThreads);
+        return executor;
+    }
+}
@@ -0,0 +1,90 @@
+package com.lms_app.lms_backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Pool in front of which every statement execution is timed and handed to
+ * {@link SqlStatementMetrics}, whatever issued it: Hibernate, JdbcTemplate or
+ * the import pipeline. Statements run before the metrics are attached, while
+ * the context starts, are not recorded.
+ */
+class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private volatile SqlStatementMetrics metrics;
+
+    InstrumentedDataSource(DataSource target) {
+        super(target);
+    }
+
+    void attach(SqlStatementMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> statement(PreparedStatement.class, result, (String) args[0]);
+                        case "prepareCall" -> statement(CallableStatement.class, result, (String) args[0]);
+                        case "createStatement" -> statement(Statement.class, result, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object statement(Class<? extends Statement> type, Object statement, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            SqlStatementMetrics current = metrics;
+            if (current == null || !EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(statement, method, args);
+            }
+            // a plain Statement carries its SQL in the execute call; batches of those are not labelled
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invoke(statement, method, args);
+                failed = false;
+                return result;
+            } finally {
+                current.record(sql, System.nanoTime() - start, failed);
+            }
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.lms_app.lms_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Statement-level JDBC metrics. The rest of the observability surface comes
+ * with Spring Boot once the meters are on the classpath: {@code http.server.requests}
+ * per endpoint, {@code spring.data.repository.invocations} per repository
+ * method, {@code hikaricp.connections.*} for pool waits and usage, and
+ * {@code hibernate.*} from the Hibernate statistics.
+ */
+@Configuration
+public class JdbcMetricsConfig {
+
+    // static, so that the post-processor does not pull this configuration in early. Only pools are
+    // wrapped; proxies and routers in front of them (see ReplicaRoutingConfig) would count twice.
+    // Ordered, so that it sees the pools before TenancyConfig wraps the application DataSource.
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor() {
+        return new InstrumentingPostProcessor();
+    }
+
+    @Bean
+    public SqlStatementMetrics sqlStatementMetrics(MeterRegistry meterRegistry, List<DataSource> dataSources,
+            @Value("${lms.sql.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${lms.sql.slow-sample-rate:1.0}") double slowSampleRate) {
+        SqlStatementMetrics metrics = new SqlStatementMetrics(meterRegistry, slowThreshold, slowSampleRate);
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof InstrumentedDataSource pool) {
+                pool.attach(metrics);
+            } else if (dataSource instanceof TenantRoutingDataSource router) {
+                router.attach(metrics);
+            }
+        }
+        return metrics;
+    }
+
+    private static final class InstrumentingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                    && !(bean instanceof AbstractRoutingDataSource)
+                    ? new InstrumentedDataSource(dataSource)
+                    : bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.lms_app.lms_backend.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * The application DataSource when a replica is configured (see
+ * {@link ReplicaRoutingConfig}): connections are taken at the first statement,
+ * from the replica for read-only transactions while {@link ReplicaRouting}
+ * allows it, otherwise from the primary. Keeps both pools, so that
+ * {@link TenantRoutingDataSource} can put its dedicated copies behind the same
+ * switch.
+ */
+class ReplicaRoutedDataSource extends LazyConnectionDataSourceProxy {
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final ReplicaRouting routing;
+
+    ReplicaRoutedDataSource(DataSource primary, DataSource replica, ReplicaRouting routing) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        this.routing = routing;
+        AbstractRoutingDataSource reads = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return routing.useReplica();
+            }
+        };
+        reads.setTargetDataSources(Map.of(true, replica, false, primary));
+        reads.afterPropertiesSet();
+        setReadOnlyDataSource(reads);
+    }
+
+    DataSource getPrimary() {
+        return primary;
+    }
+
+    DataSource getReplica() {
+        return replica;
+    }
+
+    /** The same routing over other pools, e.g. a university's dedicated copies of these. */
+    ReplicaRoutedDataSource withPools(DataSource primary, DataSource replica) {
+        return new ReplicaRoutedDataSource(primary, replica, routing);
+    }
+}
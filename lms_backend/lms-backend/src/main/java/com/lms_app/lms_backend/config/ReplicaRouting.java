@@ -0,0 +1,89 @@
+package com.lms_app.lms_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Whether a read-only transaction starting now may run on the replica. It may
+ * unless the last lag check found the replica behind by more than
+ * {@code lms.datasource.replica.max-lag} (or unreachable), or the current HTTP
+ * request has already committed a write, which the replica might not show yet.
+ *
+ * <p>{@code lms.datasource.replica.lag-query} is run on the replica every
+ * {@code lms.datasource.replica.lag-check-interval} and must return the lag in
+ * seconds; without one the check only makes sure the replica answers.
+ */
+public class ReplicaRouting implements TransactionExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    private static final String WROTE = ReplicaRouting.class.getName() + ".WROTE";
+
+    private final JdbcTemplate replica;
+
+    @Value("${lms.datasource.replica.max-lag:5s}")
+    private Duration maxLag;
+
+    @Value("${lms.datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    // false until the first check has passed
+    private volatile boolean replicaCurrent;
+
+    public ReplicaRouting(JdbcTemplate replica) {
+        this.replica = replica;
+    }
+
+    boolean useReplica() {
+        if (!replicaCurrent) {
+            return false;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request == null || request.getAttribute(WROTE, RequestAttributes.SCOPE_REQUEST) == null;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            if (request != null) {
+                request.setAttribute(WROTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lms.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        boolean current;
+        try {
+            if (lagQuery.isBlank()) {
+                current = Boolean.TRUE.equals(replica.execute((ConnectionCallback<Boolean>) c -> c.isValid(1)));
+            } else {
+                Double lag = replica.queryForObject(lagQuery, Double.class);
+                current = lag != null && lag * 1000 <= maxLag.toMillis();
+                if (!current && replicaCurrent) {
+                    log.warn("Replica is {} s behind, reading from the primary", lag);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (replicaCurrent) {
+                log.warn("Replica lag check failed, reading from the primary", e);
+            }
+            current = false;
+        }
+        if (current && !replicaCurrent) {
+            log.info("Replica is current, serving read-only transactions from it");
+        }
+        replicaCurrent = current;
+    }
+}
@@ -0,0 +1,59 @@
+package com.lms_app.lms_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and read-replica pools, used when {@code lms.datasource.replica.url}
+ * is set. {@code @Transactional(readOnly = true)} work goes to the replica when
+ * {@link ReplicaRouting} allows it, everything else to the primary
+ * ({@code spring.datasource.*}). The application sees one DataSource that only
+ * takes a physical connection at the first statement, once the transaction's
+ * read-only flag is known; transactions served from the second-level cache
+ * take none at all.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lms.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("lms.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${lms.datasource.replica.url}") String url,
+            @Value("${lms.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${lms.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        replica.setPoolName("lms-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaRouting replicaRouting(@Qualifier("replicaDataSource") DataSource replica) {
+        return new ReplicaRouting(new JdbcTemplate(replica));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaRouting routing) {
+        return new ReplicaRoutedDataSource(primary, replica, routing);
+    }
+}
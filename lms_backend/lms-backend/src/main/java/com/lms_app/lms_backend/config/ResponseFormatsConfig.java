@@ -0,0 +1,72 @@
+package com.lms_app.lms_backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.luben.zstd.util.Native;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Arrays;
+
+/**
+ * Response formats besides JSON and encodings besides gzip.
+ *
+ * <ul>
+ * <li>{@code application/cbor} and {@code application/x-jackson-smile}: the
+ * same documents in binary, for clients that ask for them in {@code Accept}.
+ * Both converters start from Boot's {@link Jackson2ObjectMapperBuilder}, so
+ * they write exactly what the JSON converter writes.</li>
+ * <li>{@code Content-Encoding: zstd} for {@code /api/*} responses of the
+ * {@code server.compression} media types and minimum size (see
+ * {@link ZstdCompressionFilter}); Tomcat gzips the rest when it is switched on
+ * there. Switched off with {@code lms.compression.zstd.enabled=false}.</li>
+ * </ul>
+ */
+@Configuration
+public class ResponseFormatsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseFormatsConfig.class);
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "lms.compression.zstd.enabled", matchIfMissing = true)
+    @ConditionalOnWebApplication
+    public FilterRegistrationBean<?> zstdCompressionFilter(ServerProperties serverProperties,
+            @Value("${lms.compression.zstd.level:3}") int level) {
+        Compression compression = serverProperties.getCompression();
+        ZstdCompressionFilter filter = new ZstdCompressionFilter(
+                Arrays.stream(compression.getMimeTypes()).map(MediaType::parseMediaType).toList(),
+                compression.getMinResponseSize().toBytes(), level);
+        FilterRegistrationBean<ZstdCompressionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        try {
+            Native.load();
+        } catch (UnsatisfiedLinkError | RuntimeException e) {
+            // no native zstd for this platform: clients get gzip or identity instead
+            log.warn("zstd is not available here, responses will not be zstd-encoded: {}", e.toString());
+            registration.setEnabled(false);
+        }
+        return registration;
+    }
+}
@@ -0,0 +1,16 @@
+package com.lms_app.lms_backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs such as the counter fold and reconciliation in
+ * UniversityCounters. Tests switch it off with
+ * {@code lms.scheduling.enabled=false} and run the jobs directly.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "lms.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,132 @@
+package com.lms_app.lms_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * The {@code lms.jdbc.statements} timer, tagged by operation and outcome, and
+ * the slow-query log that replaced {@code spring.jpa.show-sql}.
+ *
+ * <p>A statement slower than {@code lms.sql.slow-threshold} is logged with a
+ * probability of {@code lms.sql.slow-sample-rate} by a background thread, so
+ * the executing thread only pays for queueing the message. When the log
+ * falls more than {@value #LOG_QUEUE} messages behind, further ones are
+ * counted in {@code lms.jdbc.slow.dropped} instead.
+ */
+public class SqlStatementMetrics implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger("com.lms_app.lms_backend.sql.slow");
+
+    private static final List<String> OPERATIONS = List.of("select", "insert", "update", "delete", "other");
+
+    private static final int LOG_QUEUE = 1000;
+
+    private static final int MAX_LOGGED_SQL = 2000;
+
+    private final Map<String, Timer> succeeded = new HashMap<>();
+
+    private final Map<String, Timer> failed = new HashMap<>();
+
+    private final Counter slow;
+
+    private final Counter dropped;
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private final ThreadPoolExecutor logger;
+
+    private volatile LongConsumer latencyListener = nanos -> { };
+
+    public SqlStatementMetrics(MeterRegistry registry, Duration threshold, double sampleRate) {
+        for (String operation : OPERATIONS) {
+            succeeded.put(operation, timer(registry, operation, "success"));
+            failed.put(operation, timer(registry, operation, "error"));
+        }
+        this.slow = Counter.builder("lms.jdbc.slow")
+                .description("Statements slower than lms.sql.slow-threshold")
+                .register(registry);
+        this.dropped = Counter.builder("lms.jdbc.slow.dropped")
+                .description("Slow statements not logged because the log was behind")
+                .register(registry);
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.logger = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(LOG_QUEUE),
+                new CustomizableThreadFactory("sql-slow-log-"), (task, executor) -> dropped.increment());
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation, String outcome) {
+        return Timer.builder("lms.jdbc.statements")
+                .description("JDBC statement executions")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /** Also hands every statement's duration to {@code listener}, on the executing thread. */
+    void onStatement(LongConsumer listener) {
+        this.latencyListener = listener;
+    }
+
+    void record(String sql, long nanos, boolean error) {
+        String operation = operation(sql);
+        (error ? failed : succeeded).get(operation).record(nanos, TimeUnit.NANOSECONDS);
+        latencyListener.accept(nanos);
+        if (nanos >= thresholdNanos) {
+            slow.increment();
+            if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                logger.execute(() -> log.warn("Slow {} ({} ms{}): {}", operation,
+                        TimeUnit.NANOSECONDS.toMillis(nanos), error ? ", failed" : "", abbreviate(sql)));
+            }
+        }
+    }
+
+    private static String operation(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String keyword = sql.substring(start, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "(batch)";
+        }
+        return sql.length() <= MAX_LOGGED_SQL ? sql : sql.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+
+    @Override
+    public void destroy() {
+        logger.shutdown();
+    }
+}
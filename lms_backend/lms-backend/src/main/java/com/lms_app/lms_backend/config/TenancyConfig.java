@@ -0,0 +1,61 @@
+package com.lms_app.lms_backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-university connection limits and dedicated pools (see
+ * {@link TenantRoutingDataSource}), keyed by the university each API request
+ * is for (see {@link TenantResolver}):
+ *
+ * <pre>
+ * lms.tenancy.max-connections-per-university=8
+ * lms.tenancy.pools.large=10
+ * lms.tenancy.assignments.42=large
+ * </pre>
+ */
+@Configuration
+public class TenancyConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private TenantResolver tenantResolver;
+
+    // wraps the application DataSource, whichever configuration defined it; runs after the
+    // (ordered) JdbcMetricsConfig post-processor, so the shared pool is already instrumented
+    @Bean
+    public static BeanPostProcessor tenantRoutingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                Binder binder = Binder.get(environment);
+                return new TenantRoutingDataSource(dataSource,
+                        binder.bind("lms.tenancy.assignments", Bindable.mapOf(Long.class, String.class))
+                                .orElse(Map.of()),
+                        binder.bind("lms.tenancy.pools", Bindable.mapOf(String.class, Integer.class))
+                                .orElse(Map.of()),
+                        binder.bind("lms.tenancy.max-connections-per-university", Integer.class).orElse(0),
+                        binder.bind("lms.tenancy.acquire-timeout", Duration.class)
+                                .orElse(Duration.ofSeconds(30)));
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tenantResolver).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,51 @@
+package com.lms_app.lms_backend.config;
+
+import java.util.function.Supplier;
+
+/**
+ * The university the current thread is working for, if known. Set per HTTP
+ * request by {@link TenantResolver} and around background work that belongs to
+ * one university; {@link TenantRoutingDataSource} picks the connection pool
+ * from it.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<Long> UNIVERSITY = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Long current() {
+        return UNIVERSITY.get();
+    }
+
+    static void set(Long universityId) {
+        UNIVERSITY.set(universityId);
+    }
+
+    static void clear() {
+        UNIVERSITY.remove();
+    }
+
+    public static void run(Long universityId, Runnable work) {
+        call(universityId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Runs {@code work} for {@code universityId} (null for none), restoring the previous tenant afterwards. */
+    public static <T> T call(Long universityId, Supplier<T> work) {
+        Long previous = UNIVERSITY.get();
+        UNIVERSITY.set(universityId);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                UNIVERSITY.remove();
+            } else {
+                UNIVERSITY.set(previous);
+            }
+        }
+    }
+}
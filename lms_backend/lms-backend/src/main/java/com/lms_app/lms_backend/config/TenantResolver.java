@@ -0,0 +1,110 @@
+package com.lms_app.lms_backend.config;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Works out which university an API request is for and sets it as the
+ * {@link TenantContext} while the request is handled: from a
+ * {@code universityId} path variable or request parameter, failing that from
+ * the request body (one DTO, or a bulk list whose rows all belong to the same
+ * university). Requests that only name an entity id, or span universities, run
+ * without one.
+ */
+@ControllerAdvice
+public class TenantResolver extends RequestBodyAdviceAdapter implements AsyncHandlerInterceptor {
+
+    private static final String UNIVERSITY_ID = "universityId";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = pathVariables != null ? pathVariables.get(UNIVERSITY_ID) : null;
+        if (value == null) {
+            value = request.getParameter(UNIVERSITY_ID);
+        }
+        TenantContext.set(parse(value));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+            Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (TenantContext.current() == null) {
+            TenantContext.set(universityOf(body));
+        }
+        return body;
+    }
+
+    private static Long universityOf(Object body) {
+        if (body instanceof StudentDTO student) {
+            return student.getUniversityId();
+        }
+        if (body instanceof CourseDTO course) {
+            return course.getUniversityId();
+        }
+        if (body instanceof CourseTopicDTO topic) {
+            return topic.getUniversityId();
+        }
+        if (body instanceof EnrollmentDTO enrollment) {
+            return enrollment.getUniversityId();
+        }
+        if (body instanceof Collection<?> rows && !rows.isEmpty()) {
+            Long universityId = universityOf(rows.iterator().next());
+            for (Object row : rows) {
+                if (!Objects.equals(universityOf(row), universityId)) {
+                    return null;
+                }
+            }
+            return universityId;
+        }
+        return null;
+    }
+
+    private static Long parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null; // left for the handler's own binding to reject
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.lms_app.lms_backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The application DataSource, in front of the shared pool. Connections taken
+ * for a university ({@link TenantContext}) come from the pool it is assigned
+ * to in {@code lms.tenancy.assignments}, if any, and count against
+ * {@code lms.tenancy.max-connections-per-university}; a university at its
+ * limit waits up to {@code lms.tenancy.acquire-timeout} for one of its own
+ * connections to come back instead of taking more of the shared pool.
+ *
+ * <p>Dedicated pools are copies of the shared one (same database, settings
+ * and credentials) with their own size, opened on first use. With a replica
+ * configured ({@link ReplicaRoutedDataSource}) a university gets a copy of
+ * both the primary and the replica pool, each of that size, behind the same
+ * read-only switch.
+ *
+ * <p>A university's permits exist only while some of its connections are
+ * held or waited for, so the ids requests claim (which nothing here checks
+ * against the universities table) cannot pile up.
+ */
+class TenantRoutingDataSource extends DelegatingDataSource implements DisposableBean {
+
+    private final Map<Long, String> assignments;
+
+    private final Map<String, Integer> poolSizes;
+
+    private final int maxConnectionsPerUniversity;
+
+    private final Duration acquireTimeout;
+
+    private final Map<String, DataSource> pools = new ConcurrentHashMap<>();
+
+    private final List<HikariDataSource> opened = new CopyOnWriteArrayList<>();
+
+    private final List<InstrumentedDataSource> instrumented = new CopyOnWriteArrayList<>();
+
+    private final Map<Long, Permits> permits = new ConcurrentHashMap<>();
+
+    private volatile SqlStatementMetrics metrics;
+
+    TenantRoutingDataSource(DataSource shared, Map<Long, String> assignments, Map<String, Integer> poolSizes,
+            int maxConnectionsPerUniversity, Duration acquireTimeout) {
+        super(shared);
+        for (Map.Entry<Long, String> assignment : assignments.entrySet()) {
+            if (!poolSizes.containsKey(assignment.getValue())) {
+                throw new IllegalStateException("University " + assignment.getKey()
+                        + " is assigned to unknown pool " + assignment.getValue());
+            }
+        }
+        this.assignments = Map.copyOf(assignments);
+        this.poolSizes = Map.copyOf(poolSizes);
+        this.maxConnectionsPerUniversity = maxConnectionsPerUniversity;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    void attach(SqlStatementMetrics metrics) {
+        this.metrics = metrics;
+        if (getTargetDataSource() instanceof InstrumentedDataSource shared) {
+            shared.attach(metrics); // the shared pool itself, unless it is a bean of its own
+        }
+        instrumented.forEach(pool -> pool.attach(metrics));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Long universityId = TenantContext.current();
+        if (universityId == null) {
+            return super.getConnection();
+        }
+        DataSource pool = poolFor(universityId);
+        if (maxConnectionsPerUniversity <= 0) {
+            return pool.getConnection();
+        }
+        Permits held = permits.compute(universityId, (id, existing) -> {
+            Permits entry = existing != null ? existing : new Permits(maxConnectionsPerUniversity);
+            entry.users++;
+            return entry;
+        });
+        try {
+            if (!held.semaphore.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                leave(universityId);
+                throw new SQLTransientConnectionException("University " + universityId + " is using all of its "
+                        + maxConnectionsPerUniversity + " connections");
+            }
+        } catch (InterruptedException e) {
+            leave(universityId);
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            return releasingOnClose(pool.getConnection(), () -> release(universityId, held));
+        } catch (SQLException | RuntimeException e) {
+            release(universityId, held);
+            throw e;
+        }
+    }
+
+    private void release(Long universityId, Permits held) {
+        held.semaphore.release();
+        leave(universityId);
+    }
+
+    /** Drops the university's entry once nobody holds or waits for one of its connections. */
+    private void leave(Long universityId) {
+        permits.computeIfPresent(universityId, (id, entry) -> --entry.users == 0 ? null : entry);
+    }
+
+    /** Universities with connections held or waited for, i.e. the entries in the permit map. */
+    int trackedUniversities() {
+        return permits.size();
+    }
+
+    private DataSource poolFor(Long universityId) throws SQLException {
+        String name = assignments.get(universityId);
+        if (name == null) {
+            return obtainTargetDataSource();
+        }
+        DataSource pool = pools.get(name);
+        return pool != null ? pool : open(name);
+    }
+
+    private synchronized DataSource open(String name) throws SQLException {
+        DataSource pool = pools.get(name);
+        if (pool != null) {
+            return pool;
+        }
+        DataSource shared = obtainTargetDataSource();
+        if (shared.isWrapperFor(ReplicaRoutedDataSource.class)) {
+            // unwrapping the router for a Hikari pool would only find the primary
+            ReplicaRoutedDataSource routed = shared.unwrap(ReplicaRoutedDataSource.class);
+            pool = routed.withPools(open(routed.getPrimary().unwrap(HikariDataSource.class), name),
+                    open(routed.getReplica().unwrap(HikariDataSource.class), name));
+        } else {
+            pool = open(shared.unwrap(HikariDataSource.class), name);
+        }
+        pools.put(name, pool);
+        return pool;
+    }
+
+    private InstrumentedDataSource open(HikariDataSource shared, String name) {
+        HikariConfig config = new HikariConfig();
+        shared.copyStateTo(config);
+        config.setPoolName(shared.getPoolName() + "-" + name);
+        config.setMaximumPoolSize(poolSizes.get(name));
+        HikariDataSource hikari = new HikariDataSource(config);
+        opened.add(hikari);
+        InstrumentedDataSource pool = new InstrumentedDataSource(hikari);
+        pool.attach(metrics);
+        instrumented.add(pool);
+        return pool;
+    }
+
+    private static Connection releasingOnClose(Connection connection, Runnable release) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(TenantRoutingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            release.run();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Override
+    public void destroy() {
+        opened.forEach(HikariDataSource::close);
+    }
+
+    /** A university's connection limit and the number of threads holding or waiting for one of them. */
+    private static final class Permits {
+
+        final Semaphore semaphore;
+
+        int users; // only changed inside the map's compute functions
+
+        Permits(int connections) {
+            this.semaphore = new Semaphore(connections);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.lms_app.lms_backend.config;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for any number of keys in one fixed table, updated by CAS
+ * without locks or allocation. Each bucket is a single long, the time at which
+ * it would be full again (the "theoretical arrival time" of GCRA): a request
+ * is let through while that time is less than a full burst ahead of now, and
+ * moves it one interval further on. Buckets sit a cache line apart so that
+ * busy keys do not contend on the same line.
+ *
+ * <p>Keys are hashed to buckets, so two keys can end up sharing one; the table
+ * is meant to be sized well above the number of keys active at a time.
+ */
+final class TokenBuckets {
+
+    // longs per 64-byte cache line
+    private static final int STRIDE = 8;
+
+    private final AtomicLongArray buckets;
+
+    private final int mask;
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final long origin = System.nanoTime();
+
+    TokenBuckets(int size, double permitsPerSecond, int burst) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Bucket count must be a power of two: " + size);
+        }
+        this.buckets = new AtomicLongArray(size * STRIDE);
+        this.mask = size - 1;
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(burst, 1);
+    }
+
+    /** Takes a token from {@code key}'s bucket; returns 0 if there was one, otherwise the nanoseconds until there is. */
+    long tryAcquire(long key) {
+        int index = bucket(key);
+        // never negative, so that an untouched bucket (0) is full
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long full = buckets.get(index);
+            long next = Math.max(full, now) + intervalNanos;
+            long wait = next - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (buckets.compareAndSet(index, full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private int bucket(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return ((int) (hash >>> 32) & mask) * STRIDE;
+    }
+}
@@ -0,0 +1,303 @@
+package com.lms_app.lms_backend.config;
+
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Encodes responses as {@code Content-Encoding: zstd} for clients that list
+ * zstd in {@code Accept-Encoding}. Whether a response is encoded is settled
+ * at its first body write, from the headers set by then: a compressible
+ * media type, no encoding of its own, and a length that is either unknown
+ * (streams) or at least {@code minSize}. Range requests are passed through,
+ * since ranges refer to the unencoded bytes.
+ *
+ * <p>The encoder is flushed with the response, so NDJSON and other
+ * {@code /stream} rows still reach the client as they are written. Async
+ * responses are finished on the dispatch that completes them.
+ */
+class ZstdCompressionFilter extends OncePerRequestFilter {
+
+    static final String ZSTD = "zstd";
+
+    private final List<MediaType> mediaTypes;
+
+    private final long minSize;
+
+    private final int level;
+
+    ZstdCompressionFilter(List<MediaType> mediaTypes, long minSize, int level) {
+        this.mediaTypes = mediaTypes;
+        this.minSize = minSize;
+        this.level = level;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ZstdResponse started = WebUtils.getNativeResponse(response, ZstdResponse.class);
+        if (started != null) {
+            chain.doFilter(request, response);
+            finishUnlessAsync(request, started);
+            return;
+        }
+        if (request.getHeader(HttpHeaders.RANGE) != null || !acceptsZstd(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ZstdResponse wrapped = new ZstdResponse(response);
+        chain.doFilter(request, wrapped);
+        finishUnlessAsync(request, wrapped);
+    }
+
+    private static void finishUnlessAsync(HttpServletRequest request, ZstdResponse response) throws IOException {
+        if (!request.isAsyncStarted()) {
+            response.finish();
+        }
+    }
+
+    // zstd with a q-value other than 0, e.g. "gzip, zstd;q=0.9"
+    private static boolean acceptsZstd(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (header == null) {
+            return false;
+        }
+        for (String coding : header.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase(ZSTD)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private final class ZstdResponse extends HttpServletResponseWrapper {
+
+        private long contentLength = -1;
+
+        // null until the first write or flush settles it
+        private Boolean encode;
+
+        private ServletOutputStream outputStream;
+
+        private PrintWriter writer;
+
+        private ZstdOutputStreamNoFinalizer encoder;
+
+        private boolean finished;
+
+        ZstdResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        // held back until it is known whether the body is encoded, which changes its length
+        @Override
+        public void setContentLengthLong(long len) {
+            if (encode == null) {
+                contentLength = len;
+            } else if (!encode) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new EncodingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.flush();
+            } else {
+                settle();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            contentLength = -1;
+            encode = null;
+            encoder = null;
+        }
+
+        private boolean settle() {
+            if (encode == null) {
+                encode = !isCommitted() && isStatusWithBody() && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                        && (contentLength < 0 || contentLength >= minSize) && isCompressible(getContentType());
+                if (encode) {
+                    super.setHeader(HttpHeaders.CONTENT_ENCODING, ZSTD);
+                } else if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+            }
+            return encode;
+        }
+
+        private boolean isStatusWithBody() {
+            int status = getStatus();
+            return status >= 200 && status != HttpServletResponse.SC_NO_CONTENT
+                    && status != HttpServletResponse.SC_NOT_MODIFIED;
+        }
+
+        private boolean isCompressible(String contentType) {
+            if (contentType == null) {
+                return false;
+            }
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (MediaType compressible : mediaTypes) {
+                if (compressible.includes(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (writer != null) {
+                writer.flush();
+            }
+            if (encode == null) {
+                // no body
+                encode = false;
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+            } else if (encode) {
+                // an empty body that was flushed as zstd still needs its frame
+                if (encoder == null) {
+                    encoder = new ZstdOutputStreamNoFinalizer(super.getOutputStream(), level);
+                }
+                encoder.close();
+            }
+        }
+
+        private final class EncodingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream raw;
+
+            EncodingOutputStream(ServletOutputStream raw) {
+                this.raw = raw;
+            }
+
+            private OutputStream target() throws IOException {
+                if (!settle()) {
+                    return raw;
+                }
+                if (encoder == null) {
+                    encoder = new ZstdOutputStreamNoFinalizer(raw, level);
+                }
+                return encoder;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                target().write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                target().write(b, off, len);
+            }
+
+            // StreamingResponseBody flushes once more after the body has closed the stream
+            @Override
+            public void flush() throws IOException {
+                if (!finished) {
+                    target().flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                finish();
+                raw.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return raw.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                raw.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.service.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admins")
@@ -15,14 +23,24 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RowStreams rowStreams;
+
+    @Value("${lms.http.cache-control.admins:private, no-cache}")
+    private String cacheControl;
+
     @PostMapping
     public AdminDTO createAdmin(@RequestBody AdminDTO dto) {
         return adminService.createAdmin(dto);
     }
 
     @GetMapping("/{id}")
-    public AdminDTO getAdmin(@PathVariable Long id) {
-        return adminService.getAdminById(id);
+    public ResponseEntity<AdminDTO> getAdmin(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalResponses.get(request, adminService.getAdminVersion(id), cacheControl,
+                () -> adminService.getAdminById(id));
     }
 
     @GetMapping
@@ -30,11 +48,34 @@ public class AdminController {
         return adminService.getAllAdmins();
     }
 
+    @GetMapping("/page")
+    public CursorPage<AdminDTO> getAdminsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return adminService.getAdminsPage(after, size);
+    }
+
+    // NDJSON, or a CBOR sequence / Smile stream when Accept asks for one
+    @GetMapping(value = "/stream",
+            produces = {RowStreams.NDJSON_VALUE, RowStreams.CBOR_SEQ_VALUE, RowStreams.SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamAdmins(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return rowStreams.stream(accept, adminService::streamAllAdmins);
+    }
+
     @PutMapping("/{id}")
     public AdminDTO updateAdmin(@PathVariable Long id, @RequestBody AdminDTO dto) {
         return adminService.updateAdmin(id, dto);
     }
 
+    // only the fields present in the body; If-Match must carry the ETag of the last GET
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchAdmin(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long version = adminService.patchAdmin(id, ConditionalResponses.patchValues(objectMapper, patch, AdminDTO.class),
+                patch.keySet(), ConditionalResponses.expectedVersion(ifMatch));
+        return ConditionalResponses.patched(version);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteAdmin(@PathVariable Long id) {
         adminService.deleteAdmin(id);
@@ -0,0 +1,39 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.dto.AnalyticsDTO;
+import com.lms_app.lms_backend.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @GetMapping("/summary")
+    public AnalyticsDTO getSummary() {
+        return analyticsService.getSummary();
+    }
+
+    // one entry per day from..to (ISO dates, both included); by default the last lms.analytics.default-days
+    @GetMapping("/daily")
+    public List<AnalyticsDTO> getDaily(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyticsService.getDaily(from, to);
+    }
+
+    @GetMapping("/universities/{universityId}/daily")
+    public List<AnalyticsDTO> getUniversityDaily(@PathVariable Long universityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyticsService.getUniversityDaily(universityId, from, to);
+    }
+}
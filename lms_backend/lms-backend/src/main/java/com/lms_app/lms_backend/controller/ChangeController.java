@@ -0,0 +1,25 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ChangeController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // "change" events with the sequence number as their id, so EventSource resumes after a reconnect
+    // by itself; ?after= does the same for a client that kept the number. Without either, starts now.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long universityId,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeedService.subscribe(universityId, lastEventId != null ? lastEventId : after);
+    }
+}
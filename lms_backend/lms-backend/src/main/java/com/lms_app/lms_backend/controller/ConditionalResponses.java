@@ -0,0 +1,77 @@
+package com.lms_app.lms_backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.exception.BadRequestException;
+import com.lms_app.lms_backend.exception.PreconditionRequiredException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GETs keyed on entity versions. The version is looked up first
+ * and compared with {@code If-None-Match}; only when it differs is the body
+ * loaded and serialized, so a poll that finds nothing new costs one version
+ * lookup, usually answered from Hibernate's caches.
+ *
+ * <p>ETags are weak: equal versions mean the same data, not byte-identical
+ * responses across encodings.
+ *
+ * <p>PATCHes go the other way: the client sends the ETag it last saw in
+ * {@code If-Match}, the write only succeeds against that version (409
+ * otherwise), and the new ETag comes back on a bodiless 204.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> get(ServletWebRequest request, Object version, String cacheControl,
+            Supplier<T> body) {
+        String etag = etag(version);
+        if (request.checkNotModified(etag)) {
+            // status 304 and the ETag are already set on the response
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .body(body.get());
+    }
+
+    /** The version a PATCH was based on; without one it would silently overwrite newer changes. */
+    static long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("Send If-Match with the ETag of the last GET");
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match must be an ETag returned by this API");
+        }
+    }
+
+    /** The fields of a PATCH body, typed as the resource's DTO. */
+    static <T> T patchValues(ObjectMapper objectMapper, Map<String, Object> patch, Class<T> type) {
+        try {
+            return objectMapper.convertValue(patch, type);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed patch: " + e.getMessage());
+        }
+    }
+
+    static ResponseEntity<Void> patched(long version) {
+        return ResponseEntity.noContent().eTag(etag(version)).build();
+    }
+
+    private static String etag(Object version) {
+        return "W/\"" + version + "\"";
+    }
+}
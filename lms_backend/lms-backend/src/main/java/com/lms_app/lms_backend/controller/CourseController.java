@@ -1,11 +1,25 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.BulkResultDTO;
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.CourseTopicService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -15,19 +29,69 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CourseTopicService topicService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RowStreams rowStreams;
+
+    @Value("${lms.http.cache-control.courses:no-cache}")
+    private String cacheControl;
+
     @PostMapping
     public CourseDTO createCourse(@RequestBody CourseDTO dto) {
         return courseService.createCourse(dto);
     }
 
     @GetMapping("/{id}")
-    public CourseDTO getCourse(@PathVariable Long id) {
-        return courseService.getCourseById(id);
+    public ResponseEntity<CourseDTO> getCourse(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalResponses.get(request, courseService.getCourseVersion(id), cacheControl,
+                () -> courseService.getCourseById(id));
+    }
+
+    // in order; sortOrder is each topic's position
+    @GetMapping("/{id}/topics")
+    public List<CourseTopicDTO> getTopics(@PathVariable Long id) {
+        return topicService.getTopicsForCourse(id);
     }
 
     @GetMapping
-    public List<CourseDTO> getAllCourses() {
-        return courseService.getAllCourses();
+    public ResponseEntity<List<CourseDTO>> getAllCourses(ServletWebRequest request) {
+        return ConditionalResponses.get(request, courseService.getCoursesVersion(), cacheControl,
+                courseService::getAllCourses);
+    }
+
+    @GetMapping("/page")
+    public CursorPage<CourseDTO> getCoursesPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return courseService.getCoursesPage(after, size);
+    }
+
+    // filters within one university, by course code prefix and title; sort with e.g. sort=title,asc
+    @GetMapping(value = "/search", params = "!q")
+    public PagedModel<CourseDTO> searchCourses(@RequestParam Long universityId,
+            @RequestParam(required = false) String courseCode, @RequestParam(required = false) String title,
+            @PageableDefault(size = CursorPage.DEFAULT_SIZE, sort = "id") Pageable pageable) {
+        return new PagedModel<>(courseService.searchCourses(universityId, courseCode, title, pageable));
+    }
+
+    // full-text over code, title and description, best match first; universityId narrows it to one university
+    @GetMapping(value = "/search", params = "q")
+    public PagedModel<CourseDTO> searchCoursesByText(@RequestParam String q,
+            @RequestParam(required = false) Long universityId,
+            @PageableDefault(size = CursorPage.DEFAULT_SIZE) Pageable pageable) {
+        return new PagedModel<>(courseService.searchCoursesByText(q, universityId, pageable));
+    }
+
+    // NDJSON, or a CBOR sequence / Smile stream when Accept asks for one
+    @GetMapping(value = "/stream",
+            produces = {RowStreams.NDJSON_VALUE, RowStreams.CBOR_SEQ_VALUE, RowStreams.SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamCourses(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return rowStreams.stream(accept, courseService::streamAllCourses);
     }
 
     @PutMapping("/{id}")
@@ -35,6 +99,30 @@ public class CourseController {
         return courseService.updateCourse(id, dto);
     }
 
+    // only the fields present in the body; If-Match must carry the ETag of the last GET
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchCourse(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long version = courseService.patchCourse(id, ConditionalResponses.patchValues(objectMapper, patch, CourseDTO.class),
+                patch.keySet(), ConditionalResponses.expectedVersion(ifMatch));
+        return ConditionalResponses.patched(version);
+    }
+
+    @PostMapping("/bulk")
+    public BulkResultDTO bulkCreateCourses(@RequestBody List<CourseDTO> dtos) {
+        return courseService.bulkCreateCourses(dtos);
+    }
+
+    @PutMapping("/bulk")
+    public BulkResultDTO bulkUpdateCourses(@RequestBody List<CourseDTO> dtos) {
+        return courseService.bulkUpdateCourses(dtos);
+    }
+
+    @DeleteMapping("/bulk")
+    public BulkResultDTO bulkDeleteCourses(@RequestBody List<Long> ids) {
+        return courseService.bulkDeleteCourses(ids);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteCourse(@PathVariable Long id) {
         courseService.deleteCourse(id);
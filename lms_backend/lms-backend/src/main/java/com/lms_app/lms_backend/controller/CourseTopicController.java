@@ -0,0 +1,48 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.service.CourseTopicService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/topics")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CourseTopicController {
+
+    @Autowired
+    private CourseTopicService topicService;
+
+    @PostMapping
+    public CourseTopicDTO createTopic(@RequestBody CourseTopicDTO dto) {
+        return topicService.createTopic(dto);
+    }
+
+    @GetMapping("/{id}")
+    public CourseTopicDTO getTopic(@PathVariable Long id) {
+        return topicService.getTopicById(id);
+    }
+
+    @GetMapping("/by-course/{courseId}")
+    public List<CourseTopicDTO> getTopicsForCourse(@PathVariable Long courseId) {
+        return topicService.getTopicsForCourse(courseId);
+    }
+
+    @PutMapping("/{id}")
+    public CourseTopicDTO updateTopic(@PathVariable Long id, @RequestBody CourseTopicDTO dto) {
+        return topicService.updateTopic(id, dto);
+    }
+
+    // places the topic right after topic `after` of the same course, or first without it
+    @PostMapping("/{id}/move")
+    public CourseTopicDTO moveTopic(@PathVariable Long id, @RequestParam(required = false) Long after) {
+        return topicService.moveTopic(id, after);
+    }
+
+    @DeleteMapping("/{id}")
+    public void deleteTopic(@PathVariable Long id) {
+        topicService.deleteTopic(id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.dto.SeatCountDTO;
+import com.lms_app.lms_backend.service.EnrollmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/enrollments")
+@CrossOrigin(origins = "http://localhost:3000")
+public class EnrollmentController {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    // 201 for a new enrollment, 200 when the student was already enrolled; 409 when the course is full
+    @PostMapping
+    public ResponseEntity<EnrollmentDTO> enroll(@RequestBody EnrollmentDTO request) {
+        EnrollmentDTO enrollment = enrollmentService.enroll(request.getStudentId(), request.getCourseId());
+        HttpStatus status = enrollment.getStatus() == EnrollmentDTO.Status.ENROLLED ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(enrollment);
+    }
+
+    @PostMapping("/batch")
+    public List<EnrollmentDTO> enrollAll(@RequestBody List<EnrollmentDTO> requests) {
+        return enrollmentService.enrollAll(requests);
+    }
+
+    // idempotent: 204 whether or not the enrollment existed
+    @DeleteMapping
+    public ResponseEntity<Void> unenroll(@RequestParam Long studentId, @RequestParam Long courseId) {
+        enrollmentService.unenroll(studentId, courseId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/student/{studentId}")
+    public List<EnrollmentDTO> getEnrollmentsForStudent(@PathVariable Long studentId) {
+        return enrollmentService.getEnrollmentsForStudent(studentId);
+    }
+
+    @GetMapping("/course/{courseId}")
+    public CursorPage<EnrollmentDTO> getEnrollmentsForCourse(@PathVariable Long courseId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return enrollmentService.getEnrollmentsForCourse(courseId, after, size);
+    }
+
+    @GetMapping("/course/{courseId}/seats")
+    public SeatCountDTO getSeats(@PathVariable Long courseId) {
+        return enrollmentService.getSeats(courseId);
+    }
+}
@@ -0,0 +1,134 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.service.ContentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Topic materials: uploads go to the {@link ContentService}, downloads come
+ * straight from its files. Where Tomcat supports sendfile the request thread
+ * only sets up the response and the connector hands the file (or the requested
+ * range of it) to the socket on its own; elsewhere it is copied with
+ * {@link FileChannel#transferTo}. Neither reads the file into the heap.
+ *
+ * <p>Downloads are never content-sniffed, and only videos are served for
+ * playback in the page; every other file is an attachment.
+ */
+@RestController
+@RequestMapping("/api/files")
+@CrossOrigin(origins = "http://localhost:3000")
+public class FileController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // names are never reused, so a stored file never changes
+    private static final String CACHE_CONTROL = "max-age=31536000, immutable";
+
+    @Autowired
+    private ContentService contentService;
+
+    // returns the URL to fetch the file from, which topics keep as their video or document URL
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_PLAIN_VALUE)
+    public String upload(@RequestParam("file") MultipartFile file) throws IOException {
+        String name = contentService.store(file);
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/files/{name}")
+                .buildAndExpand(name).toUriString();
+    }
+
+    @GetMapping("/{name}")
+    public void download(@PathVariable String name, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path path = contentService.getContent(name);
+        long length = Files.size(path);
+        String etag = "\"" + name + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        MediaType type = contentService.getMediaType(name);
+        response.setContentType(type.toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (!type.getType().equals("video")) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(name).build().toString());
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = range(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start >= length || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += file.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    /** The single range asked for, if any and if the file is still the one named in If-Range. */
+    private static HttpRange range(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (header == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            // several ranges would need a multipart/byteranges body; the whole file is a valid answer too
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
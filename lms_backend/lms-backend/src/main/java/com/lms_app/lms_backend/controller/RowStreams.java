@@ -0,0 +1,105 @@
+package com.lms_app.lms_backend.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows pushed by a service as they come, without collecting them
+ * first, in the format the {@code Accept} header prefers:
+ * newline-delimited JSON (the default), a CBOR sequence (RFC 8742: one CBOR
+ * item after another) or a Smile stream (one Smile value after another,
+ * behind a single header). The binary formats use the mappers of the CBOR and
+ * Smile message converters.
+ */
+@Component
+class RowStreams {
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+
+    static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
+    private static final MediaType CBOR_SEQ = MediaType.parseMediaType(CBOR_SEQ_VALUE);
+
+    private static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
+    // in order of preference when the client has none
+    private static final List<MediaType> FORMATS = List.of(NDJSON, CBOR_SEQ, SMILE);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    <T> ResponseEntity<StreamingResponseBody> stream(String accept, Consumer<Consumer<T>> source) {
+        MediaType format = format(accept);
+        ObjectMapper mapper = format == CBOR_SEQ ? cborConverter.getObjectMapper()
+                : format == SMILE ? smileConverter.getObjectMapper() : objectMapper;
+        boolean lines = format == NDJSON;
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                if (lines) {
+                    generator.setRootValueSeparator(null);
+                }
+                source.accept(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        if (lines) {
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(format)
+                .body(body);
+    }
+
+    // the accepted format with the highest q-value, the earlier one on a tie
+    private static MediaType format(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return NDJSON;
+        }
+        MediaType best = NDJSON;
+        double bestQuality = 0;
+        for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+            double quality = accepted.getQualityValue();
+            if (quality <= bestQuality) {
+                continue;
+            }
+            for (MediaType format : FORMATS) {
+                if (accepted.includes(format)) {
+                    best = format;
+                    bestQuality = quality;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -1,11 +1,30 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.StudentDashboardDTO;
+import com.lms_app.lms_backend.dto.BulkResultDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.ImportJobDTO;
+import com.lms_app.lms_backend.service.StudentImportService;
 import com.lms_app.lms_backend.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/students")
@@ -15,14 +34,33 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RowStreams rowStreams;
+
+    @Value("${lms.http.cache-control.students:private, no-cache}")
+    private String cacheControl;
+
     @PostMapping
     public StudentDTO createStudent(@RequestBody StudentDTO dto) {
         return studentService.createStudent(dto);
     }
 
     @GetMapping("/{id}")
-    public StudentDTO getStudent(@PathVariable Long id) {
-        return studentService.getStudentById(id);
+    public ResponseEntity<StudentDTO> getStudent(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalResponses.get(request, studentService.getStudentVersion(id), cacheControl,
+                () -> studentService.getStudentById(id));
+    }
+
+    // everything the student dashboard shows, in one call
+    @GetMapping("/{id}/dashboard")
+    public StudentDashboardDTO getDashboard(@PathVariable Long id) {
+        return studentService.getDashboard(id);
     }
 
     @GetMapping
@@ -30,11 +68,70 @@ public class StudentController {
         return studentService.getAllStudents();
     }
 
+    @GetMapping("/page")
+    public CursorPage<StudentDTO> getStudentsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return studentService.getStudentsPage(after, size);
+    }
+
+    // filters within one university, by major and year; sort with e.g. sort=fullName,desc
+    @GetMapping("/search")
+    public PagedModel<StudentDTO> searchStudents(@RequestParam Long universityId,
+            @RequestParam(required = false) String major, @RequestParam(required = false) String year,
+            @PageableDefault(size = CursorPage.DEFAULT_SIZE, sort = "id") Pageable pageable) {
+        return new PagedModel<>(studentService.searchStudents(universityId, major, year, pageable));
+    }
+
+    // NDJSON, or a CBOR sequence / Smile stream when Accept asks for one
+    @GetMapping(value = "/stream",
+            produces = {RowStreams.NDJSON_VALUE, RowStreams.CBOR_SEQ_VALUE, RowStreams.SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamStudents(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return rowStreams.stream(accept, studentService::streamAllStudents);
+    }
+
     @PutMapping("/{id}")
     public StudentDTO updateStudent(@PathVariable Long id, @RequestBody StudentDTO dto) {
         return studentService.updateStudent(id, dto);
     }
 
+    // only the fields present in the body; If-Match must carry the ETag of the last GET
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchStudent(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long version = studentService.patchStudent(id, ConditionalResponses.patchValues(objectMapper, patch, StudentDTO.class),
+                patch.keySet(), ConditionalResponses.expectedVersion(ifMatch));
+        return ConditionalResponses.patched(version);
+    }
+
+    @PostMapping("/bulk")
+    public BulkResultDTO bulkCreateStudents(@RequestBody List<StudentDTO> dtos) {
+        return studentService.bulkCreateStudents(dtos);
+    }
+
+    @PutMapping("/bulk")
+    public BulkResultDTO bulkUpdateStudents(@RequestBody List<StudentDTO> dtos) {
+        return studentService.bulkUpdateStudents(dtos);
+    }
+
+    @DeleteMapping("/bulk")
+    public BulkResultDTO bulkDeleteStudents(@RequestBody List<Long> ids) {
+        return studentService.bulkDeleteStudents(ids);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importStudents(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportJobDTO job = studentImportService.startImport(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/students/import/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ImportJobDTO getImportJob(@PathVariable String jobId) {
+        return studentImportService.getImportJob(jobId);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteStudent(@PathVariable Long id) {
         studentService.deleteStudent(id);
@@ -1,11 +1,21 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.service.StudentService;
 import com.lms_app.lms_backend.service.UniversityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/universities")
@@ -15,19 +25,53 @@ public class UniversityController {
     @Autowired
     private UniversityService universityService;
 
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RowStreams rowStreams;
+
+    @Value("${lms.http.cache-control.universities:no-cache}")
+    private String cacheControl;
+
     @PostMapping
     public UniversityDTO createUniversity(@RequestBody UniversityDTO dto) {
         return universityService.createUniversity(dto);
     }
 
     @GetMapping("/{id}")
-    public UniversityDTO getUniversity(@PathVariable Long id) {
-        return universityService.getUniversityById(id);
+    public ResponseEntity<UniversityDTO> getUniversity(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalResponses.get(request, universityService.getUniversityVersion(id), cacheControl,
+                () -> universityService.getUniversityById(id));
     }
 
     @GetMapping
-    public List<UniversityDTO> getAllUniversities() {
-        return universityService.getAllUniversities();
+    public ResponseEntity<List<UniversityDTO>> getAllUniversities(ServletWebRequest request) {
+        return ConditionalResponses.get(request, universityService.getUniversitiesVersion(), cacheControl,
+                universityService::getAllUniversities);
+    }
+
+    @GetMapping("/page")
+    public CursorPage<UniversityDTO> getUniversitiesPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return universityService.getUniversitiesPage(after, size);
+    }
+
+    @GetMapping("/{id}/students")
+    public CursorPage<StudentDTO> getStudents(@PathVariable Long id, @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return studentService.getStudentsPageForUniversity(id, after, size);
+    }
+
+    // NDJSON, or a CBOR sequence / Smile stream when Accept asks for one
+    @GetMapping(value = "/stream",
+            produces = {RowStreams.NDJSON_VALUE, RowStreams.CBOR_SEQ_VALUE, RowStreams.SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamUniversities(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return rowStreams.stream(accept, universityService::streamAllUniversities);
     }
 
     @PutMapping("/{id}")
@@ -35,6 +79,15 @@ public class UniversityController {
         return universityService.updateUniversity(id, dto);
     }
 
+    // only the fields present in the body; If-Match must carry the ETag of the last GET
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchUniversity(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long version = universityService.patchUniversity(id, ConditionalResponses.patchValues(objectMapper, patch, UniversityDTO.class),
+                patch.keySet(), ConditionalResponses.expectedVersion(ifMatch));
+        return ConditionalResponses.patched(version);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteUniversity(@PathVariable Long id) {
         universityService.deleteUniversity(id);
@@ -7,6 +7,7 @@ public class AdminDTO {
     private String role;
     private String status;
     private String email;
+    // students at the university named uniName, maintained by UniversityCounters; ignored on writes
     private int students;
     private Long phnnum;
     private int department;
@@ -0,0 +1,65 @@
+package com.lms_app.lms_backend.dto;
+
+import java.time.LocalDate;
+
+public class AnalyticsDTO {
+    // the day the totals are for; for the summary, the latest day anything changed
+    private LocalDate day;
+    // platform-wide only; null in a university's series
+    private Long universities;
+    private Long activeUniversities;
+    private Long admins;
+    private Long activeAdmins;
+    private long students;
+    private long courses;
+    private long enrollments;
+
+	public LocalDate getDay() {
+		return day;
+	}
+	public void setDay(LocalDate day) {
+		this.day = day;
+	}
+	public Long getUniversities() {
+		return universities;
+	}
+	public void setUniversities(Long universities) {
+		this.universities = universities;
+	}
+	public Long getActiveUniversities() {
+		return activeUniversities;
+	}
+	public void setActiveUniversities(Long activeUniversities) {
+		this.activeUniversities = activeUniversities;
+	}
+	public Long getAdmins() {
+		return admins;
+	}
+	public void setAdmins(Long admins) {
+		this.admins = admins;
+	}
+	public Long getActiveAdmins() {
+		return activeAdmins;
+	}
+	public void setActiveAdmins(Long activeAdmins) {
+		this.activeAdmins = activeAdmins;
+	}
+	public long getStudents() {
+		return students;
+	}
+	public void setStudents(long students) {
+		this.students = students;
+	}
+	public long getCourses() {
+		return courses;
+	}
+	public void setCourses(long courses) {
+		this.courses = courses;
+	}
+	public long getEnrollments() {
+		return enrollments;
+	}
+	public void setEnrollments(long enrollments) {
+		this.enrollments = enrollments;
+	}
+}
@@ -0,0 +1,28 @@
+package com.lms_app.lms_backend.dto;
+
+import java.util.List;
+
+public class BulkResultDTO {
+    private int succeeded;
+    private int failed;
+    private List<BulkRowResultDTO> rows;
+
+	public int getSucceeded() {
+		return succeeded;
+	}
+	public void setSucceeded(int succeeded) {
+		this.succeeded = succeeded;
+	}
+	public int getFailed() {
+		return failed;
+	}
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+	public List<BulkRowResultDTO> getRows() {
+		return rows;
+	}
+	public void setRows(List<BulkRowResultDTO> rows) {
+		this.rows = rows;
+	}
+}
@@ -0,0 +1,47 @@
+package com.lms_app.lms_backend.dto;
+
+public class BulkRowResultDTO {
+    public enum Status {
+        CREATED, UPDATED, DELETED, FAILED
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String error;
+
+    public BulkRowResultDTO() {
+    }
+
+    public BulkRowResultDTO(int index, Long id, Status status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+	public int getIndex() {
+		return index;
+	}
+	public void setIndex(int index) {
+		this.index = index;
+	}
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public Status getStatus() {
+		return status;
+	}
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+	public String getError() {
+		return error;
+	}
+	public void setError(String error) {
+		this.error = error;
+	}
+}
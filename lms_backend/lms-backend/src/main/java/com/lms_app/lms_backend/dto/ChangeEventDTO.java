@@ -0,0 +1,52 @@
+package com.lms_app.lms_backend.dto;
+
+public class ChangeEventDTO {
+    private long seq;
+    private String entityType;
+    private Long entityId;
+    private String action;
+    // null when the writer did not know it, e.g. for admins; such events go to every subscriber
+    private Long universityId;
+
+    public ChangeEventDTO() {
+    }
+
+    public ChangeEventDTO(long seq, String entityType, Long entityId, String action, Long universityId) {
+        this.seq = seq;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.action = action;
+        this.universityId = universityId;
+    }
+
+	public long getSeq() {
+		return seq;
+	}
+	public void setSeq(long seq) {
+		this.seq = seq;
+	}
+	public String getEntityType() {
+		return entityType;
+	}
+	public void setEntityType(String entityType) {
+		this.entityType = entityType;
+	}
+	public Long getEntityId() {
+		return entityId;
+	}
+	public void setEntityId(Long entityId) {
+		this.entityId = entityId;
+	}
+	public String getAction() {
+		return action;
+	}
+	public void setAction(String action) {
+		this.action = action;
+	}
+	public Long getUniversityId() {
+		return universityId;
+	}
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+}
@@ -6,7 +6,24 @@ public class CourseDTO {
     private String title;
     private String description;
     private int credits;
+    private Integer capacity;
     private Long universityId;
+
+    public CourseDTO() {
+    }
+
+    // Used by the JPQL constructor projections in CourseRepository
+    public CourseDTO(Long id, String courseCode, String title, String description, int credits,
+            Integer capacity, Long universityId) {
+        this.id = id;
+        this.courseCode = courseCode;
+        this.title = title;
+        this.description = description;
+        this.credits = credits;
+        this.capacity = capacity;
+        this.universityId = universityId;
+    }
+
 	public Long getId() {
 		return id;
 	}
@@ -37,6 +54,12 @@ public class CourseDTO {
 	public void setCredits(int credits) {
 		this.credits = credits;
 	}
+	public Integer getCapacity() {
+		return capacity;
+	}
+	public void setCapacity(Integer capacity) {
+		this.capacity = capacity;
+	}
 	public Long getUniversityId() {
 		return universityId;
 	}
@@ -0,0 +1,108 @@
+package com.lms_app.lms_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.lms_app.lms_backend.entity.CourseTopic;
+
+public class CourseTopicDTO {
+    private Long id;
+    private String title;
+    // the topic form posts this as "topicdescription", after the column
+    @JsonAlias("topicdescription")
+    private String description;
+    private String videoUrl;
+    private String documentUrl;
+    private String url;
+    private Integer durationMinutes;
+    // 1-based position in the course; on create, where to insert (default last)
+    private Integer sortOrder;
+    private CourseTopic.Material materials;
+    private Long courseId;
+    private Long universityId;
+
+    public CourseTopicDTO() {
+    }
+
+    // Used by the JPQL constructor projections in CourseTopicRepository
+    public CourseTopicDTO(Long id, String title, String description, String videoUrl, String documentUrl,
+            String url, Integer durationMinutes, Integer sortOrder, CourseTopic.Material materials, Long courseId,
+            Long universityId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.videoUrl = videoUrl;
+        this.documentUrl = documentUrl;
+        this.url = url;
+        this.durationMinutes = durationMinutes;
+        this.sortOrder = sortOrder;
+        this.materials = materials;
+        this.courseId = courseId;
+        this.universityId = universityId;
+    }
+
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getTitle() {
+		return title;
+	}
+	public void setTitle(String title) {
+		this.title = title;
+	}
+	public String getDescription() {
+		return description;
+	}
+	public void setDescription(String description) {
+		this.description = description;
+	}
+	public String getVideoUrl() {
+		return videoUrl;
+	}
+	public void setVideoUrl(String videoUrl) {
+		this.videoUrl = videoUrl;
+	}
+	public String getDocumentUrl() {
+		return documentUrl;
+	}
+	public void setDocumentUrl(String documentUrl) {
+		this.documentUrl = documentUrl;
+	}
+	public String getUrl() {
+		return url;
+	}
+	public void setUrl(String url) {
+		this.url = url;
+	}
+	public Integer getDurationMinutes() {
+		return durationMinutes;
+	}
+	public void setDurationMinutes(Integer durationMinutes) {
+		this.durationMinutes = durationMinutes;
+	}
+	public Integer getSortOrder() {
+		return sortOrder;
+	}
+	public void setSortOrder(Integer sortOrder) {
+		this.sortOrder = sortOrder;
+	}
+	public CourseTopic.Material getMaterials() {
+		return materials;
+	}
+	public void setMaterials(CourseTopic.Material materials) {
+		this.materials = materials;
+	}
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public Long getUniversityId() {
+		return universityId;
+	}
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+}
@@ -0,0 +1,58 @@
+package com.lms_app.lms_backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as
+ * {@code after} to fetch the following page.
+ */
+public class CursorPage<T> {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 1000;
+
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    public static int clampSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the
+     * extra row only signals that another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Long> idOf, Function<E, T> mapper) {
+        CursorPage<T> page = new CursorPage<>();
+        boolean hasMore = rows.size() > size;
+        List<E> visible = hasMore ? rows.subList(0, size) : rows;
+        page.setItems(visible.stream().map(mapper).collect(Collectors.toList()));
+        page.setHasMore(hasMore);
+        page.setNextCursor(hasMore ? idOf.apply(visible.get(visible.size() - 1)) : null);
+        return page;
+    }
+
+	public List<T> getItems() {
+		return items;
+	}
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+	public Long getNextCursor() {
+		return nextCursor;
+	}
+	public void setNextCursor(Long nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+	public boolean isHasMore() {
+		return hasMore;
+	}
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+}
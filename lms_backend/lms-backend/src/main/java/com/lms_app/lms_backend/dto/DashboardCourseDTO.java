@@ -0,0 +1,64 @@
+package com.lms_app.lms_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class DashboardCourseDTO {
+    private Long courseId;
+    private String courseCode;
+    private String title;
+    private int credits;
+    // the course's topics, and their total duration, in place of per-topic progress
+    private int topicCount;
+    private int topicMinutes;
+    private boolean completed;
+    private LocalDateTime enrolledAt;
+
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public String getCourseCode() {
+		return courseCode;
+	}
+	public void setCourseCode(String courseCode) {
+		this.courseCode = courseCode;
+	}
+	public String getTitle() {
+		return title;
+	}
+	public void setTitle(String title) {
+		this.title = title;
+	}
+	public int getCredits() {
+		return credits;
+	}
+	public void setCredits(int credits) {
+		this.credits = credits;
+	}
+	public int getTopicCount() {
+		return topicCount;
+	}
+	public void setTopicCount(int topicCount) {
+		this.topicCount = topicCount;
+	}
+	public int getTopicMinutes() {
+		return topicMinutes;
+	}
+	public void setTopicMinutes(int topicMinutes) {
+		this.topicMinutes = topicMinutes;
+	}
+	public boolean isCompleted() {
+		return completed;
+	}
+	public void setCompleted(boolean completed) {
+		this.completed = completed;
+	}
+	public LocalDateTime getEnrolledAt() {
+		return enrolledAt;
+	}
+	public void setEnrolledAt(LocalDateTime enrolledAt) {
+		this.enrolledAt = enrolledAt;
+	}
+}
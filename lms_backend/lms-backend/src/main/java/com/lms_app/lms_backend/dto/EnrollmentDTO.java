@@ -0,0 +1,82 @@
+package com.lms_app.lms_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class EnrollmentDTO {
+    public enum Status {
+        ENROLLED, ALREADY_ENROLLED, COURSE_FULL, FAILED
+    }
+
+    private Long id;
+    private Long studentId;
+    private Long courseId;
+    private Long universityId;
+    private LocalDateTime enrolledAt;
+    private Boolean completed;
+    // only set on enroll responses
+    private Status status;
+    private String error;
+
+    public EnrollmentDTO() {
+    }
+
+    // Used by the JPQL constructor projections in EnrollmentRepository
+    public EnrollmentDTO(Long id, Long studentId, Long courseId, Long universityId, LocalDateTime enrolledAt,
+            Boolean completed) {
+        this.id = id;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.universityId = universityId;
+        this.enrolledAt = enrolledAt;
+        this.completed = completed;
+    }
+
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public Long getStudentId() {
+		return studentId;
+	}
+	public void setStudentId(Long studentId) {
+		this.studentId = studentId;
+	}
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public Long getUniversityId() {
+		return universityId;
+	}
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+	public LocalDateTime getEnrolledAt() {
+		return enrolledAt;
+	}
+	public void setEnrolledAt(LocalDateTime enrolledAt) {
+		this.enrolledAt = enrolledAt;
+	}
+	public Boolean getCompleted() {
+		return completed;
+	}
+	public void setCompleted(Boolean completed) {
+		this.completed = completed;
+	}
+	public Status getStatus() {
+		return status;
+	}
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+	public String getError() {
+		return error;
+	}
+	public void setError(String error) {
+		this.error = error;
+	}
+}
@@ -0,0 +1,89 @@
+package com.lms_app.lms_backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ImportJobDTO {
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+    private String fileName;
+    private Status status;
+    private String message;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private List<ImportRowErrorDTO> errors;
+    private boolean errorsTruncated;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+	public String getJobId() {
+		return jobId;
+	}
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+	public String getFileName() {
+		return fileName;
+	}
+	public void setFileName(String fileName) {
+		this.fileName = fileName;
+	}
+	public Status getStatus() {
+		return status;
+	}
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+	public String getMessage() {
+		return message;
+	}
+	public void setMessage(String message) {
+		this.message = message;
+	}
+	public long getRowsRead() {
+		return rowsRead;
+	}
+	public void setRowsRead(long rowsRead) {
+		this.rowsRead = rowsRead;
+	}
+	public long getRowsImported() {
+		return rowsImported;
+	}
+	public void setRowsImported(long rowsImported) {
+		this.rowsImported = rowsImported;
+	}
+	public long getRowsFailed() {
+		return rowsFailed;
+	}
+	public void setRowsFailed(long rowsFailed) {
+		this.rowsFailed = rowsFailed;
+	}
+	public List<ImportRowErrorDTO> getErrors() {
+		return errors;
+	}
+	public void setErrors(List<ImportRowErrorDTO> errors) {
+		this.errors = errors;
+	}
+	public boolean isErrorsTruncated() {
+		return errorsTruncated;
+	}
+	public void setErrorsTruncated(boolean errorsTruncated) {
+		this.errorsTruncated = errorsTruncated;
+	}
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+	public void setStartedAt(Instant startedAt) {
+		this.startedAt = startedAt;
+	}
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+}
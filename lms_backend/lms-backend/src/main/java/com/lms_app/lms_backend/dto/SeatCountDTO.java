@@ -0,0 +1,44 @@
+package com.lms_app.lms_backend.dto;
+
+public class SeatCountDTO {
+    private Long courseId;
+    private Integer capacity;
+    private long taken;
+    // null when the course is unlimited
+    private Long available;
+
+    public SeatCountDTO() {
+    }
+
+    public SeatCountDTO(Long courseId, Integer capacity, long taken) {
+        this.courseId = courseId;
+        this.capacity = capacity;
+        this.taken = taken;
+        this.available = capacity == null ? null : Math.max(0, capacity - taken);
+    }
+
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public Integer getCapacity() {
+		return capacity;
+	}
+	public void setCapacity(Integer capacity) {
+		this.capacity = capacity;
+	}
+	public long getTaken() {
+		return taken;
+	}
+	public void setTaken(long taken) {
+		this.taken = taken;
+	}
+	public Long getAvailable() {
+		return available;
+	}
+	public void setAvailable(Long available) {
+		this.available = available;
+	}
+}
@@ -1,6 +1,7 @@
 package com.lms_app.lms_backend.dto;
 
 public class StudentDTO {
+    private Long id;
     private String studentId;
     private String fullName;
     private String email;
@@ -8,6 +9,29 @@ public class StudentDTO {
     private String year;
     private String phoneNumber;
     private Long universityId;
+
+    public StudentDTO() {
+    }
+
+    // Used by the JPQL constructor projections in StudentRepository
+    public StudentDTO(Long id, String studentId, String fullName, String email, String major,
+            String year, String phoneNumber, Long universityId) {
+        this.id = id;
+        this.studentId = studentId;
+        this.fullName = fullName;
+        this.email = email;
+        this.major = major;
+        this.year = year;
+        this.phoneNumber = phoneNumber;
+        this.universityId = universityId;
+    }
+
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
 	public String getStudentId() {
 		return studentId;
 	}
@@ -0,0 +1,113 @@
+package com.lms_app.lms_backend.dto;
+
+import java.util.List;
+
+public class StudentDashboardDTO {
+    private Long id;
+    private String studentId;
+    private String fullName;
+    private String email;
+    private String major;
+    private String year;
+    private Long universityId;
+    private String universityName;
+    // totals over the courses below
+    private int enrolledCourses;
+    private int completedCourses;
+    private int credits;
+    private int completedCredits;
+    private int topics;
+    private int topicMinutes;
+    private List<DashboardCourseDTO> courses;
+
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getStudentId() {
+		return studentId;
+	}
+	public void setStudentId(String studentId) {
+		this.studentId = studentId;
+	}
+	public String getFullName() {
+		return fullName;
+	}
+	public void setFullName(String fullName) {
+		this.fullName = fullName;
+	}
+	public String getEmail() {
+		return email;
+	}
+	public void setEmail(String email) {
+		this.email = email;
+	}
+	public String getMajor() {
+		return major;
+	}
+	public void setMajor(String major) {
+		this.major = major;
+	}
+	public String getYear() {
+		return year;
+	}
+	public void setYear(String year) {
+		this.year = year;
+	}
+	public Long getUniversityId() {
+		return universityId;
+	}
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+	public String getUniversityName() {
+		return universityName;
+	}
+	public void setUniversityName(String universityName) {
+		this.universityName = universityName;
+	}
+	public int getEnrolledCourses() {
+		return enrolledCourses;
+	}
+	public void setEnrolledCourses(int enrolledCourses) {
+		this.enrolledCourses = enrolledCourses;
+	}
+	public int getCompletedCourses() {
+		return completedCourses;
+	}
+	public void setCompletedCourses(int completedCourses) {
+		this.completedCourses = completedCourses;
+	}
+	public int getCredits() {
+		return credits;
+	}
+	public void setCredits(int credits) {
+		this.credits = credits;
+	}
+	public int getCompletedCredits() {
+		return completedCredits;
+	}
+	public void setCompletedCredits(int completedCredits) {
+		this.completedCredits = completedCredits;
+	}
+	public int getTopics() {
+		return topics;
+	}
+	public void setTopics(int topics) {
+		this.topics = topics;
+	}
+	public int getTopicMinutes() {
+		return topicMinutes;
+	}
+	public void setTopicMinutes(int topicMinutes) {
+		this.topicMinutes = topicMinutes;
+	}
+	public List<DashboardCourseDTO> getCourses() {
+		return courses;
+	}
+	public void setCourses(List<DashboardCourseDTO> courses) {
+		this.courses = courses;
+	}
+}
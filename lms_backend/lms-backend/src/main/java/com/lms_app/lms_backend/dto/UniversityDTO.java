@@ -6,6 +6,7 @@ public class UniversityDTO {
     private String address;
     private String status;
     private String adminName;
+    // maintained by UniversityCounters; ignored on create and update
     private int students;
     private int courses;
 	public String getUniName() {
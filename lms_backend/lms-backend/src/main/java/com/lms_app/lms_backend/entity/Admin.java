@@ -6,14 +6,21 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 public class Admin {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // optimistic lock; also the ETag of the detail GET
+    @Version
+    private long version;
+
     private String adminName;
     private String uniName;
     private String role;
@@ -117,6 +124,14 @@ public class Admin {
 		this.adminStatus = adminStatus;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
     // Getters and Setters
     
 }
@@ -0,0 +1,97 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Platform-wide totals at the end of a day, or so far today; the latest row
+ * is the current summary. As with {@link AnalyticsUniversityDay}, days on
+ * which nothing changed have no row.
+ */
+@Entity
+@Table(name = "analytics_days")
+public class AnalyticsDay {
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate day;
+
+    private long universities;
+
+    private long activeUniversities;
+
+    private long admins;
+
+    private long activeAdmins;
+
+    private long students;
+
+    private long courses;
+
+    private long enrollments;
+
+	public LocalDate getDay() {
+		return day;
+	}
+
+	public void setDay(LocalDate day) {
+		this.day = day;
+	}
+
+	public long getUniversities() {
+		return universities;
+	}
+
+	public void setUniversities(long universities) {
+		this.universities = universities;
+	}
+
+	public long getActiveUniversities() {
+		return activeUniversities;
+	}
+
+	public void setActiveUniversities(long activeUniversities) {
+		this.activeUniversities = activeUniversities;
+	}
+
+	public long getAdmins() {
+		return admins;
+	}
+
+	public void setAdmins(long admins) {
+		this.admins = admins;
+	}
+
+	public long getActiveAdmins() {
+		return activeAdmins;
+	}
+
+	public void setActiveAdmins(long activeAdmins) {
+		this.activeAdmins = activeAdmins;
+	}
+
+	public long getStudents() {
+		return students;
+	}
+
+	public void setStudents(long students) {
+		this.students = students;
+	}
+
+	public long getCourses() {
+		return courses;
+	}
+
+	public void setCourses(long courses) {
+		this.courses = courses;
+	}
+
+	public long getEnrollments() {
+		return enrollments;
+	}
+
+	public void setEnrollments(long enrollments) {
+		this.enrollments = enrollments;
+	}
+}
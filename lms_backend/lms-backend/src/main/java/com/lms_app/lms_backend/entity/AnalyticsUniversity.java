@@ -0,0 +1,65 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A university's current totals as the analytics rollups see them, kept by
+ * {@link com.lms_app.lms_backend.AnalyticsRollups}. They trail the source
+ * tables by one counter fold and are recounted nightly.
+ */
+@Entity
+@Table(name = "analytics_universities")
+public class AnalyticsUniversity {
+
+    @Id
+    @Column(name = "university_id")
+    private Long universityId;
+
+    private boolean active;
+
+    private long students;
+
+    private long courses;
+
+    private long enrollments;
+
+	public Long getUniversityId() {
+		return universityId;
+	}
+
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	public long getStudents() {
+		return students;
+	}
+
+	public void setStudents(long students) {
+		this.students = students;
+	}
+
+	public long getCourses() {
+		return courses;
+	}
+
+	public void setCourses(long courses) {
+		this.courses = courses;
+	}
+
+	public long getEnrollments() {
+		return enrollments;
+	}
+
+	public void setEnrollments(long enrollments) {
+		this.enrollments = enrollments;
+	}
+}
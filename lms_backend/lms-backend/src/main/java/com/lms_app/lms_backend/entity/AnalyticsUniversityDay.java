@@ -0,0 +1,96 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A university's totals at the end of a day, or so far today. There is a row
+ * only for days on which something changed; a day without one has the totals
+ * of the latest row before it.
+ */
+@Entity
+@Table(name = "analytics_university_days")
+@IdClass(AnalyticsUniversityDay.Key.class)
+public class AnalyticsUniversityDay {
+
+    @Id
+    @Column(name = "university_id")
+    private Long universityId;
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate day;
+
+    private long students;
+
+    private long courses;
+
+    private long enrollments;
+
+	public Long getUniversityId() {
+		return universityId;
+	}
+
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+
+	public LocalDate getDay() {
+		return day;
+	}
+
+	public void setDay(LocalDate day) {
+		this.day = day;
+	}
+
+	public long getStudents() {
+		return students;
+	}
+
+	public void setStudents(long students) {
+		this.students = students;
+	}
+
+	public long getCourses() {
+		return courses;
+	}
+
+	public void setCourses(long courses) {
+		this.courses = courses;
+	}
+
+	public long getEnrollments() {
+		return enrollments;
+	}
+
+	public void setEnrollments(long enrollments) {
+		this.enrollments = enrollments;
+	}
+
+    public static class Key implements Serializable {
+        private Long universityId;
+        private LocalDate day;
+
+        public Key() {
+        }
+
+        public Key(Long universityId, LocalDate day) {
+            this.universityId = universityId;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(universityId, key.universityId)
+                    && Objects.equals(day, key.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(universityId, day);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * One create, update or delete made through the services. Rows are appended
+ * by {@link com.lms_app.lms_backend.AuditLog} with plain JDBC batches and
+ * never modified; the entity only declares the table and serves reads.
+ */
+@Entity
+@Table(name = "audit_log", indexes = @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id"))
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Action action;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getEntityType() {
+		return entityType;
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public Action getAction() {
+		return action;
+	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+}
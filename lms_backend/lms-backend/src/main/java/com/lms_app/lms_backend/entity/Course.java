@@ -1,20 +1,37 @@
 package com.lms_app.lms_backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
+// serves GET /api/courses/search, which always filters by university first
+@Table(indexes = @Index(name = "idx_course_university_code", columnList = "university_id, course_code"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Course {
 
+    // Pooled sequence rather than IDENTITY so that Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     private Long id;
 
+    // optimistic lock; also the ETag of the detail GET
+    @Version
+    private long version;
+
     private String courseCode;
     private String title;
     private String description;
     private int credits;
 
-    @ManyToOne
+    // seats on offer; null means unlimited. Seats taken are kept in CourseSeatStripe rows
+    private Integer capacity;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id")
     private University university;
 
@@ -58,6 +75,14 @@ public class Course {
 		this.credits = credits;
 	}
 
+	public Integer getCapacity() {
+		return capacity;
+	}
+
+	public void setCapacity(Integer capacity) {
+		this.capacity = capacity;
+	}
+
 	public University getUniversity() {
 		return university;
 	}
@@ -66,6 +91,14 @@ public class Course {
 		this.university = university;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
     // Getters and Setters
     
 }
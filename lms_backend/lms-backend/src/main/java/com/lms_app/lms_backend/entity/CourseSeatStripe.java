@@ -0,0 +1,85 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One slice of a course's seat counter. Each course has a fixed number of
+ * stripes and every enrollment claims a seat on one of them, so concurrent
+ * enrollments lock different rows instead of queueing on a single counter.
+ * {@code seatLimit} is this stripe's share of {@link Course#getCapacity()}
+ * (null when the course is unlimited); seats taken is the sum over stripes.
+ */
+@Entity
+@Table(name = "course_seat_stripes")
+@IdClass(CourseSeatStripe.Key.class)
+public class CourseSeatStripe {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Id
+    private int stripe;
+
+    private int taken;
+
+    private Integer seatLimit;
+
+	public Long getCourseId() {
+		return courseId;
+	}
+
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+
+	public int getStripe() {
+		return stripe;
+	}
+
+	public void setStripe(int stripe) {
+		this.stripe = stripe;
+	}
+
+	public int getTaken() {
+		return taken;
+	}
+
+	public void setTaken(int taken) {
+		this.taken = taken;
+	}
+
+	public Integer getSeatLimit() {
+		return seatLimit;
+	}
+
+	public void setSeatLimit(Integer seatLimit) {
+		this.seatLimit = seatLimit;
+	}
+
+    public static class Key implements Serializable {
+        private Long courseId;
+        private int stripe;
+
+        public Key() {
+        }
+
+        public Key(Long courseId, int stripe) {
+            this.courseId = courseId;
+            this.stripe = stripe;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && stripe == key.stripe && Objects.equals(courseId, key.courseId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(courseId, stripe);
+        }
+    }
+}
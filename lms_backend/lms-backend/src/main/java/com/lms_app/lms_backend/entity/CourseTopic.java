@@ -0,0 +1,136 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One entry of a course's syllabus: a video, document, assignment or link.
+ * Uploaded files are kept by the content store and referenced here by URL.
+ */
+@Entity
+// lists a course's topics in order; the sort keys are managed by TopicOrdering
+@Table(name = "course_topics",
+        indexes = @Index(name = "idx_course_topics_course_order", columnList = "course_id, sort_order"))
+public class CourseTopic {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_topic_seq")
+    @SequenceGenerator(name = "course_topic_seq", sequenceName = "course_topic_seq", allocationSize = 50)
+    private Long id;
+
+    private String title;
+
+    @Column(name = "topicdescription")
+    private String description;
+
+    private String videoUrl;
+    private String documentUrl;
+    private String url;
+    private Integer durationMinutes;
+
+    // sparse key, not the position shown to users
+    private Integer sortOrder;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Material materials;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "university_id")
+    private University university;
+
+    public enum Material {
+        ASSIGNMENT, DOCUMENT, LINK, VIDEO
+    }
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public String getVideoUrl() {
+		return videoUrl;
+	}
+
+	public void setVideoUrl(String videoUrl) {
+		this.videoUrl = videoUrl;
+	}
+
+	public String getDocumentUrl() {
+		return documentUrl;
+	}
+
+	public void setDocumentUrl(String documentUrl) {
+		this.documentUrl = documentUrl;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public void setUrl(String url) {
+		this.url = url;
+	}
+
+	public Integer getDurationMinutes() {
+		return durationMinutes;
+	}
+
+	public void setDurationMinutes(Integer durationMinutes) {
+		this.durationMinutes = durationMinutes;
+	}
+
+	public Integer getSortOrder() {
+		return sortOrder;
+	}
+
+	public void setSortOrder(Integer sortOrder) {
+		this.sortOrder = sortOrder;
+	}
+
+	public Material getMaterials() {
+		return materials;
+	}
+
+	public void setMaterials(Material materials) {
+		this.materials = materials;
+	}
+
+	public Course getCourse() {
+		return course;
+	}
+
+	public void setCourse(Course course) {
+		this.course = course;
+	}
+
+	public University getUniversity() {
+		return university;
+	}
+
+	public void setUniversity(University university) {
+		this.university = university;
+	}
+}
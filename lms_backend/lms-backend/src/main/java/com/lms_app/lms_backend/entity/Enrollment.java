@@ -0,0 +1,83 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Written through plain JDBC on the enroll path (EnrollmentServiceImpl); the
+// mapping is what creates the table and serves the read side
+@Entity
+@Table(name = "enrollments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollments_student_course",
+                columnNames = {"student_id", "course_id"}),
+        indexes = @Index(name = "idx_enrollments_course", columnList = "course_id, student_id"))
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Boolean completed;
+
+    private LocalDateTime enrolledAt;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id")
+    private Students student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "university_id")
+    private University university;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Boolean getCompleted() {
+		return completed;
+	}
+
+	public void setCompleted(Boolean completed) {
+		this.completed = completed;
+	}
+
+	public LocalDateTime getEnrolledAt() {
+		return enrolledAt;
+	}
+
+	public void setEnrolledAt(LocalDateTime enrolledAt) {
+		this.enrolledAt = enrolledAt;
+	}
+
+	public Students getStudent() {
+		return student;
+	}
+
+	public void setStudent(Students student) {
+		this.student = student;
+	}
+
+	public Course getCourse() {
+		return course;
+	}
+
+	public void setCourse(Course course) {
+		this.course = course;
+	}
+
+	public University getUniversity() {
+		return university;
+	}
+
+	public void setUniversity(University university) {
+		this.university = university;
+	}
+}
@@ -0,0 +1,111 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The student and university part of a student's dashboard, copied from their
+ * rows by {@link com.lms_app.lms_backend.StudentDashboards}. Its presence also
+ * marks the student's {@link StudentDashboardCourse} rows as complete: it is
+ * deleted when the student or their university changes and rebuilt, along
+ * with those rows, on the next read.
+ */
+@Entity
+@Table(name = "student_dashboards", indexes = @Index(name = "idx_student_dashboards_university",
+        columnList = "university_id"))
+public class StudentDashboard {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    private String studentCode;
+
+    private String fullName;
+
+    private String email;
+
+    private String major;
+
+    private String year;
+
+    @Column(name = "university_id")
+    private Long universityId;
+
+    private String universityName;
+
+    private LocalDateTime builtAt;
+
+	public Long getStudentId() {
+		return studentId;
+	}
+
+	public void setStudentId(Long studentId) {
+		this.studentId = studentId;
+	}
+
+	public String getStudentCode() {
+		return studentCode;
+	}
+
+	public void setStudentCode(String studentCode) {
+		this.studentCode = studentCode;
+	}
+
+	public String getFullName() {
+		return fullName;
+	}
+
+	public void setFullName(String fullName) {
+		this.fullName = fullName;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getMajor() {
+		return major;
+	}
+
+	public void setMajor(String major) {
+		this.major = major;
+	}
+
+	public String getYear() {
+		return year;
+	}
+
+	public void setYear(String year) {
+		this.year = year;
+	}
+
+	public Long getUniversityId() {
+		return universityId;
+	}
+
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+
+	public String getUniversityName() {
+		return universityName;
+	}
+
+	public void setUniversityName(String universityName) {
+		this.universityName = universityName;
+	}
+
+	public LocalDateTime getBuiltAt() {
+		return builtAt;
+	}
+
+	public void setBuiltAt(LocalDateTime builtAt) {
+		this.builtAt = builtAt;
+	}
+}
@@ -0,0 +1,151 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One enrolled course on a student's dashboard, with what the dashboard shows
+ * of the course and its topics copied in, so that a dashboard is read without
+ * joins. Written through plain JDBC by
+ * {@link com.lms_app.lms_backend.StudentDashboards} as enrollments, courses and
+ * topics change; the mapping is what creates the table.
+ */
+@Entity
+@Table(name = "student_dashboard_courses", indexes = @Index(name = "idx_student_dashboard_courses_course",
+        columnList = "course_id"))
+@IdClass(StudentDashboardCourse.Key.class)
+public class StudentDashboardCourse {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    // the course's university
+    @Column(name = "university_id")
+    private Long universityId;
+
+    private String courseCode;
+
+    private String title;
+
+    private int credits;
+
+    private int topicCount;
+
+    private int topicMinutes;
+
+    private boolean completed;
+
+    private LocalDateTime enrolledAt;
+
+	public Long getStudentId() {
+		return studentId;
+	}
+
+	public void setStudentId(Long studentId) {
+		this.studentId = studentId;
+	}
+
+	public Long getCourseId() {
+		return courseId;
+	}
+
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+
+	public Long getUniversityId() {
+		return universityId;
+	}
+
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+
+	public String getCourseCode() {
+		return courseCode;
+	}
+
+	public void setCourseCode(String courseCode) {
+		this.courseCode = courseCode;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public int getCredits() {
+		return credits;
+	}
+
+	public void setCredits(int credits) {
+		this.credits = credits;
+	}
+
+	public int getTopicCount() {
+		return topicCount;
+	}
+
+	public void setTopicCount(int topicCount) {
+		this.topicCount = topicCount;
+	}
+
+	public int getTopicMinutes() {
+		return topicMinutes;
+	}
+
+	public void setTopicMinutes(int topicMinutes) {
+		this.topicMinutes = topicMinutes;
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public void setCompleted(boolean completed) {
+		this.completed = completed;
+	}
+
+	public LocalDateTime getEnrolledAt() {
+		return enrolledAt;
+	}
+
+	public void setEnrolledAt(LocalDateTime enrolledAt) {
+		this.enrolledAt = enrolledAt;
+	}
+
+    public static class Key implements Serializable {
+        private Long studentId;
+        private Long courseId;
+
+        public Key() {
+        }
+
+        public Key(Long studentId, Long courseId) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(studentId, key.studentId)
+                    && Objects.equals(courseId, key.courseId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, courseId);
+        }
+    }
+}
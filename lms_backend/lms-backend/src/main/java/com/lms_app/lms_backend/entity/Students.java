@@ -2,19 +2,34 @@ package com.lms_app.lms_backend.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
+// serves GET /api/students/search, which always filters by university first
+@Table(indexes = @Index(name = "idx_students_university_major_year", columnList = "university_id, major, year"))
 public class Students {
 
+	// Pooled sequence rather than IDENTITY so that Hibernate can batch inserts
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+	@SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
 	private Long id;
 
+	// optimistic lock; also the ETag of the detail GET
+	@Version
+	private long version;
+
 	@Column(unique = true, nullable = false)
 	private String studentId;
 
@@ -27,7 +42,7 @@ public class Students {
 	private String year;
 	private String phoneNumber;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "university_id")
 	private University university;
 
@@ -87,6 +102,14 @@ public class Students {
 		this.phoneNumber = phoneNumber;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public University getUniversity() {
 		return university;
 	}
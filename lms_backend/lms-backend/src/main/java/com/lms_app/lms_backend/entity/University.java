@@ -1,15 +1,24 @@
 package com.lms_app.lms_backend.entity;
 
 import jakarta.persistence.*;
-import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class University {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // optimistic lock; also the ETag of the detail GET
+    @Version
+    private long version;
+
     private String uniName;
     private String estYear;
     private String address;
@@ -25,8 +34,8 @@ public class University {
         ACTIVE, INACTIVE
     }
 
-    @OneToMany(mappedBy = "university", cascade = CascadeType.ALL)
-    private List<Students> studentList;
+    // No studentList collection: a university's students are read a page at a time through
+    // StudentRepository, and deleteUniversity removes them with set-based deletes
 
 	public Long getId() {
 		return id;
@@ -92,14 +101,14 @@ public class University {
 		this.courses = courses;
 	}
 
-	public List<Students> getStudentList() {
-		return studentList;
+	public long getVersion() {
+		return version;
 	}
 
-	public void setStudentList(List<Students> studentList) {
-		this.studentList = studentList;
+	public void setVersion(long version) {
+		this.version = version;
 	}
 
     // Getters and Setters
     
-}
\ No newline at end of file
+}
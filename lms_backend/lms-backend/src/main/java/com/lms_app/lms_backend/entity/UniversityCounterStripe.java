@@ -0,0 +1,96 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Pending changes to a university's student, course and enrollment counts.
+ * Writers add their delta to one randomly chosen stripe in their own
+ * transaction, so concurrent creates neither lock the University row nor queue
+ * on a single counter; UniversityCounters folds the stripes into
+ * {@link University#getStudents()} and {@link University#getCourses()}, and
+ * all three into the analytics rollups.
+ */
+@Entity
+@Table(name = "university_counter_stripes")
+@IdClass(UniversityCounterStripe.Key.class)
+public class UniversityCounterStripe {
+
+    @Id
+    @Column(name = "university_id")
+    private Long universityId;
+
+    @Id
+    private int stripe;
+
+    private long students;
+
+    private long courses;
+
+    private long enrollments;
+
+	public Long getUniversityId() {
+		return universityId;
+	}
+
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+
+	public int getStripe() {
+		return stripe;
+	}
+
+	public void setStripe(int stripe) {
+		this.stripe = stripe;
+	}
+
+	public long getStudents() {
+		return students;
+	}
+
+	public void setStudents(long students) {
+		this.students = students;
+	}
+
+	public long getCourses() {
+		return courses;
+	}
+
+	public void setCourses(long courses) {
+		this.courses = courses;
+	}
+
+	public long getEnrollments() {
+		return enrollments;
+	}
+
+	public void setEnrollments(long enrollments) {
+		this.enrollments = enrollments;
+	}
+
+    public static class Key implements Serializable {
+        private Long universityId;
+        private int stripe;
+
+        public Key() {
+        }
+
+        public Key(Long universityId, int stripe) {
+            this.universityId = universityId;
+            this.stripe = stripe;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && stripe == key.stripe && Objects.equals(universityId, key.universityId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(universityId, stripe);
+        }
+    }
+}
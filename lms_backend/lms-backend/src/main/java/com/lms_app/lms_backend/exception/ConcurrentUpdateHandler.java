@@ -0,0 +1,21 @@
+package com.lms_app.lms_backend.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Another request committed a change to the same row between this request's
+ * read and its write (the row's {@code @Version} no longer matched).
+ */
+@RestControllerAdvice
+public class ConcurrentUpdateHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "The record was changed by another request; reload it and try again");
+    }
+}
@@ -1,7 +1,41 @@
 package com.lms_app.lms_backend.repository;
 
 import com.lms_app.lms_backend.entity.Admin;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface AdminRepository extends JpaRepository<Admin, Long> {}
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+public interface AdminRepository extends JpaRepository<Admin, Long> {
+    List<Admin> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // bumps the version as well, since it is the ETag of GET /api/admins/{id}
+    String SET_STUDENTS = "update Admin a set a.version = a.version + 1, a.students = cast(coalesce("
+            + "(select sum(u.students) from University u where u.uniName = a.uniName), 0) as Integer)";
+
+    // served from the query cache until the admin table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select a.version from Admin a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query(SET_STUDENTS + " where a.uniName in :uniNames")
+    int refreshStudents(@Param("uniNames") Collection<String> uniNames);
+
+    @Modifying
+    @Query(SET_STUDENTS)
+    int refreshAllStudents();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select a from Admin a order by a.id")
+    Stream<Admin> streamAllOrderById();
+}
@@ -0,0 +1,10 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.entity.AuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+    List<AuditEntry> findByEntityTypeAndEntityIdOrderById(String entityType, Long entityId);
+}
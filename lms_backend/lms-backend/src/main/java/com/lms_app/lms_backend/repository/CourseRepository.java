@@ -1,6 +1,57 @@
 package com.lms_app.lms_backend.repository;
 
+import com.lms_app.lms_backend.dto.CourseDTO;
 import com.lms_app.lms_backend.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {}
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
+
+    long countByUniversityId(Long universityId);
+
+    @Modifying
+    @Query("delete from Course c where c.university.id = :universityId")
+    int deleteByUniversityId(@Param("universityId") Long universityId);
+
+    // [course id, university id] for the given courses, to check and count a bulk delete and route its events
+    @Query("select c.id, c.university.id from Course c where c.id in :ids")
+    List<Object[]> findUniversityIds(@Param("ids") Collection<Long> ids);
+
+    // DTO projections: university.id resolves to the university_id column, so
+    // none of these join or load University
+    String SELECT_DTO = "select new com.lms_app.lms_backend.dto.CourseDTO(" +
+            "c.id, c.courseCode, c.title, c.description, c.credits, c.capacity, c.university.id) from Course c";
+
+    @Query(SELECT_DTO)
+    List<CourseDTO> findAllProjected();
+
+    // served from the query cache until the course table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select count(c) as rowCount, coalesce(max(c.id), 0) as maxId, coalesce(sum(c.version), 0) as versionSum "
+            + "from Course c")
+    TableVersion findTableVersion();
+
+    // detail GETs are served from the query cache until the course table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_DTO + " where c.id = :id")
+    Optional<CourseDTO> findProjectedById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where c.id > :after order by c.id")
+    List<CourseDTO> findProjectedPage(@Param("after") Long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + " order by c.id")
+    Stream<CourseDTO> streamAllProjected();
+}
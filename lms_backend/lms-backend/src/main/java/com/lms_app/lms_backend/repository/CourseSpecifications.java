@@ -0,0 +1,37 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.entity.Course;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters for {@code GET /api/courses/search}. The university and course code
+ * prefix are a range on {@code idx_course_university_code}; the title filter
+ * is applied to the rows of that range.
+ */
+public final class CourseSpecifications {
+
+    private CourseSpecifications() {
+    }
+
+    public static Specification<Course> matching(Long universityId, String courseCodePrefix, String titleContains) {
+        return (root, query, cb) -> {
+            var predicate = cb.equal(root.get("university").get("id"), universityId);
+            if (courseCodePrefix != null && !courseCodePrefix.isEmpty()) {
+                // LIKE 'x%' rather than a hand-made range: the upper bound of a range depends on the
+                // column's collation (under utf8mb4_0900_ai_ci "CS:" sorts before "CS9"), and both
+                // MySQL and H2 turn a constant-prefix LIKE into an index range themselves
+                predicate = cb.and(predicate,
+                        cb.like(root.get("courseCode"), escape(courseCodePrefix) + "%", '\\'));
+            }
+            if (titleContains != null) {
+                predicate = cb.and(predicate, cb.like(cb.lower(root.get("title")),
+                        "%" + escape(titleContains.toLowerCase()) + "%", '\\'));
+            }
+            return predicate;
+        };
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
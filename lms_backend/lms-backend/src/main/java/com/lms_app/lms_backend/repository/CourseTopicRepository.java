@@ -0,0 +1,50 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.entity.CourseTopic;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CourseTopicRepository extends JpaRepository<CourseTopic, Long> {
+
+    String SELECT_DTO = "select new com.lms_app.lms_backend.dto.CourseTopicDTO(t.id, t.title, t.description, " +
+            "t.videoUrl, t.documentUrl, t.url, t.durationMinutes, t.sortOrder, t.materials, t.course.id, " +
+            "t.university.id) from CourseTopic t";
+
+    @Query(SELECT_DTO + " where t.id = :id")
+    Optional<CourseTopicDTO> findProjectedById(@Param("id") Long id);
+
+    // in order, from the (course_id, sort_order) index
+    @Query(SELECT_DTO + " where t.course.id = :courseId order by t.sortOrder, t.id")
+    List<CourseTopicDTO> findProjectedByCourse(@Param("courseId") Long courseId);
+
+    // [course id, title] pairs for the course search index
+    @Query("select t.course.id, t.title from CourseTopic t where t.course.id in :courseIds")
+    List<Object[]> findTitlesByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.course.id, t.title from CourseTopic t")
+    Stream<Object[]> streamAllTitles();
+
+    @Modifying
+    @Query("update CourseTopic t set t.sortOrder = :sortOrder where t.id = :id")
+    int updateSortOrder(@Param("id") Long id, @Param("sortOrder") int sortOrder);
+
+    @Modifying
+    @Query("delete from CourseTopic t where t.course.id in :courseIds")
+    int deleteByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Modifying
+    @Query("delete from CourseTopic t where t.university.id = :universityId")
+    int deleteByUniversityId(@Param("universityId") Long universityId);
+}
@@ -0,0 +1,34 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.entity.Enrollment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Reads only: enrollments are written by EnrollmentServiceImpl through JDBC
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    String SELECT_DTO = "select new com.lms_app.lms_backend.dto.EnrollmentDTO(" +
+            "e.id, e.student.id, e.course.id, e.university.id, e.enrolledAt, e.completed) from Enrollment e";
+
+    @Query(SELECT_DTO + " where e.student.id = :studentId and e.course.id = :courseId")
+    Optional<EnrollmentDTO> findProjected(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Query(SELECT_DTO + " where e.course.id = :courseId and e.student.id in :studentIds")
+    List<EnrollmentDTO> findProjectedByCourse(@Param("courseId") Long courseId,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    @Query(SELECT_DTO + " where e.student.id = :studentId order by e.id")
+    List<EnrollmentDTO> findProjectedByStudent(@Param("studentId") Long studentId);
+
+    // keyset on student id, served by the (course_id, student_id) index
+    @Query(SELECT_DTO + " where e.course.id = :courseId and e.student.id > :after order by e.student.id")
+    List<EnrollmentDTO> findProjectedPageByCourse(@Param("courseId") Long courseId, @Param("after") Long after,
+            Limit limit);
+}
@@ -1,8 +1,65 @@
 package com.lms_app.lms_backend.repository;
 
+import com.lms_app.lms_backend.dto.StudentDTO;
 import com.lms_app.lms_backend.entity.Students;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface StudentRepository extends JpaRepository<Students, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface StudentRepository extends JpaRepository<Students, Long>, JpaSpecificationExecutor<Students> {
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    long countByUniversityId(Long universityId);
+
+    @Modifying
+    @Query("delete from Students s where s.university.id = :universityId")
+    int deleteByUniversityId(@Param("universityId") Long universityId);
+
+    // [student id, university id] for the given students, to check and count a bulk delete and route its events
+    @Query("select s.id, s.university.id from Students s where s.id in :ids")
+    List<Object[]> findUniversityIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.studentId from Students s where s.studentId in :studentIds")
+    List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+    @Query("select lower(s.email) from Students s where s.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // DTO projections: university.id resolves to the university_id column, so
+    // none of these join or load University
+    String SELECT_DTO = "select new com.lms_app.lms_backend.dto.StudentDTO(" +
+            "s.id, s.studentId, s.fullName, s.email, s.major, s.year, s.phoneNumber, s.university.id) from Students s";
+
+    @Query(SELECT_DTO)
+    List<StudentDTO> findAllProjected();
+
+    @Query(SELECT_DTO + " where s.id = :id")
+    Optional<StudentDTO> findProjectedById(@Param("id") Long id);
+
+    // served from the query cache until the students table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select s.version from Students s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where s.id > :after order by s.id")
+    List<StudentDTO> findProjectedPage(@Param("after") Long after, Limit limit);
+
+    @Query(SELECT_DTO + " where s.university.id = :universityId and s.id > :after order by s.id")
+    List<StudentDTO> findProjectedPageByUniversity(@Param("universityId") Long universityId,
+            @Param("after") Long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + " order by s.id")
+    Stream<StudentDTO> streamAllProjected();
+}
@@ -0,0 +1,29 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.entity.Students;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters for {@code GET /api/students/search}. Predicates are only added for
+ * the parameters given, in the column order of
+ * {@code idx_students_university_major_year}, so each combination is an index
+ * range on that index.
+ */
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Students> matching(Long universityId, String major, String year) {
+        return (root, query, cb) -> {
+            var predicate = cb.equal(root.get("university").get("id"), universityId);
+            if (major != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("major"), major));
+            }
+            if (year != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("year"), year));
+            }
+            return predicate;
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.lms_app.lms_backend.repository;
+
+/**
+ * Changes whenever a row of the table is inserted, updated or deleted: an
+ * update raises the version sum, a delete lowers the row count and an insert
+ * takes a new highest id. ETag of the list GETs.
+ */
+public interface TableVersion {
+    long getRowCount();
+    long getMaxId();
+    long getVersionSum();
+
+    default String tag() {
+        return getRowCount() + "-" + getMaxId() + "-" + getVersionSum();
+    }
+}
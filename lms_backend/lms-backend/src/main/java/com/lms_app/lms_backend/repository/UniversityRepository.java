@@ -1,7 +1,34 @@
 package com.lms_app.lms_backend.repository;
 
 import com.lms_app.lms_backend.entity.University;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface UniversityRepository extends JpaRepository<University, Long> {}
+import java.util.List;
+import java.util.stream.Stream;
 
+public interface UniversityRepository extends JpaRepository<University, Long> {
+    List<University> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select u.id from University u order by u.id")
+    List<Long> findAllIds();
+
+    // an admin is tied to its university by name
+    @Query("select coalesce(sum(u.students), 0) from University u where u.uniName = :uniName")
+    long sumStudentsByUniName(@Param("uniName") String uniName);
+
+    // served from the query cache until the university table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select count(u) as rowCount, coalesce(max(u.id), 0) as maxId, coalesce(sum(u.version), 0) as versionSum "
+            + "from University u")
+    TableVersion findTableVersion();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u from University u order by u.id")
+    Stream<University> streamAllOrderById();
+}
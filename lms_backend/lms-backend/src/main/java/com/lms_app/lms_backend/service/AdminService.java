@@ -1,12 +1,19 @@
 package com.lms_app.lms_backend.service;
 
 import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface AdminService {
     AdminDTO createAdmin(AdminDTO dto);
     AdminDTO getAdminById(Long id);
+    long getAdminVersion(Long id);
     List<AdminDTO> getAllAdmins();
+    CursorPage<AdminDTO> getAdminsPage(Long after, int size);
+    void streamAllAdmins(Consumer<AdminDTO> sink);
     AdminDTO updateAdmin(Long id, AdminDTO dto);
+    long patchAdmin(Long id, AdminDTO values, Set<String> fields, long expectedVersion);
     void deleteAdmin(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.lms_app.lms_backend.service;
+
+import com.lms_app.lms_backend.dto.AnalyticsDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyticsService {
+    AnalyticsDTO getSummary();
+    List<AnalyticsDTO> getDaily(LocalDate from, LocalDate to);
+    List<AnalyticsDTO> getUniversityDaily(Long universityId, LocalDate from, LocalDate to);
+}
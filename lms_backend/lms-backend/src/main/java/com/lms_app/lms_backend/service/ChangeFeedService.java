@@ -0,0 +1,7 @@
+package com.lms_app.lms_backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChangeFeedService {
+    SseEmitter subscribe(Long universityId, Long after);
+}
@@ -0,0 +1,15 @@
+package com.lms_app.lms_backend.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface ContentService {
+    /** Stores the upload and returns the name it can be fetched by. */
+    String store(MultipartFile file) throws IOException;
+    Path getContent(String name);
+    /** The type a stored file is served as; application/octet-stream for anything unexpected. */
+    MediaType getMediaType(String name);
+}
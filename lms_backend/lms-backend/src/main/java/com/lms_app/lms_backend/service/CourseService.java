@@ -1,12 +1,28 @@
 package com.lms_app.lms_backend.service;
 
+import com.lms_app.lms_backend.dto.BulkResultDTO;
 import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface CourseService {
     CourseDTO createCourse(CourseDTO dto);
     CourseDTO getCourseById(Long id);
+    long getCourseVersion(Long id);
+    String getCoursesVersion();
     List<CourseDTO> getAllCourses();
+    CursorPage<CourseDTO> getCoursesPage(Long after, int size);
+    Page<CourseDTO> searchCourses(Long universityId, String courseCode, String title, Pageable pageable);
+    Page<CourseDTO> searchCoursesByText(String query, Long universityId, Pageable pageable);
+    void streamAllCourses(Consumer<CourseDTO> sink);
     CourseDTO updateCourse(Long id, CourseDTO dto);
+    long patchCourse(Long id, CourseDTO values, Set<String> fields, long expectedVersion);
+    BulkResultDTO bulkCreateCourses(List<CourseDTO> dtos);
+    BulkResultDTO bulkUpdateCourses(List<CourseDTO> dtos);
+    BulkResultDTO bulkDeleteCourses(List<Long> ids);
     void deleteCourse(Long id);
 }
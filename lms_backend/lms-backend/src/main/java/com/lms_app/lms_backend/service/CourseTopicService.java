@@ -0,0 +1,16 @@
+package com.lms_app.lms_backend.service;
+
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import java.util.Collection;
+import java.util.List;
+
+public interface CourseTopicService {
+    CourseTopicDTO createTopic(CourseTopicDTO dto);
+    CourseTopicDTO getTopicById(Long id);
+    List<CourseTopicDTO> getTopicsForCourse(Long courseId);
+    CourseTopicDTO updateTopic(Long id, CourseTopicDTO dto);
+    CourseTopicDTO moveTopic(Long id, Long afterTopicId);
+    void deleteTopic(Long id);
+    void deleteForCourses(Collection<Long> courseIds);
+    void deleteForUniversity(Long universityId);
+}
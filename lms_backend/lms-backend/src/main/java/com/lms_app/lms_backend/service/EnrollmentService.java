@@ -0,0 +1,19 @@
+package com.lms_app.lms_backend.service;
+
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.dto.SeatCountDTO;
+import java.util.Collection;
+import java.util.List;
+
+public interface EnrollmentService {
+    EnrollmentDTO enroll(Long studentId, Long courseId);
+    List<EnrollmentDTO> enrollAll(List<EnrollmentDTO> requests);
+    boolean unenroll(Long studentId, Long courseId);
+    List<EnrollmentDTO> getEnrollmentsForStudent(Long studentId);
+    CursorPage<EnrollmentDTO> getEnrollmentsForCourse(Long courseId, Long after, int size);
+    SeatCountDTO getSeats(Long courseId);
+    void deleteForStudents(Collection<Long> studentIds);
+    void deleteForCourses(Collection<Long> courseIds);
+    void deleteForUniversity(Long universityId);
+}
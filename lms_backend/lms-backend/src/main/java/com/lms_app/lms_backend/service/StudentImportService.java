@@ -0,0 +1,11 @@
+package com.lms_app.lms_backend.service;
+
+import com.lms_app.lms_backend.dto.ImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface StudentImportService {
+    ImportJobDTO startImport(MultipartFile file) throws IOException;
+    ImportJobDTO getImportJob(String jobId);
+}
@@ -1,12 +1,26 @@
 package com.lms_app.lms_backend.service;
 
 import com.lms_app.lms_backend.dto.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface StudentService {
 	StudentDTO createStudent(StudentDTO studentDTO);
     StudentDTO getStudentById(Long id);
+    long getStudentVersion(Long id);
+    StudentDashboardDTO getDashboard(Long id);
     List<StudentDTO> getAllStudents();
+    CursorPage<StudentDTO> getStudentsPage(Long after, int size);
+    CursorPage<StudentDTO> getStudentsPageForUniversity(Long universityId, Long after, int size);
+    Page<StudentDTO> searchStudents(Long universityId, String major, String year, Pageable pageable);
+    void streamAllStudents(Consumer<StudentDTO> sink);
     StudentDTO updateStudent(Long id, StudentDTO studentDTO);
+    long patchStudent(Long id, StudentDTO values, Set<String> fields, long expectedVersion);
+    BulkResultDTO bulkCreateStudents(List<StudentDTO> dtos);
+    BulkResultDTO bulkUpdateStudents(List<StudentDTO> dtos);
+    BulkResultDTO bulkDeleteStudents(List<Long> ids);
     void deleteStudent(Long id);
 }
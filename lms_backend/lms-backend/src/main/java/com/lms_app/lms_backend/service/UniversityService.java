@@ -1,12 +1,20 @@
 package com.lms_app.lms_backend.service;
 
 import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UniversityService {
     UniversityDTO createUniversity(UniversityDTO dto);
     UniversityDTO getUniversityById(Long id);
+    long getUniversityVersion(Long id);
+    String getUniversitiesVersion();
     List<UniversityDTO> getAllUniversities();
+    CursorPage<UniversityDTO> getUniversitiesPage(Long after, int size);
+    void streamAllUniversities(Consumer<UniversityDTO> sink);
     UniversityDTO updateUniversity(Long id, UniversityDTO dto);
+    long patchUniversity(Long id, UniversityDTO values, Set<String> fields, long expectedVersion);
     void deleteUniversity(Long id);
 }
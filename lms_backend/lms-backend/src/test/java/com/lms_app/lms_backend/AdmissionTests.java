@@ -0,0 +1,142 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms-admission;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "lms.admission.read-rate=0.1",
+        "lms.admission.read-burst=2",
+        "lms.admission.write-rate=0.1",
+        "lms.admission.write-burst=1"})
+class AdmissionTests {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    @Qualifier("admissionFilter")
+    private FilterRegistrationBean<?> admissionFilter;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilter((Filter) admissionFilter.getFilter(), "/api/*")
+                .build();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void eachAddressHasItsOwnReadBudget() throws Exception {
+        Long universityId = university("Busy University");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/courses/search").param("universityId", universityId.toString())
+                            .with(from("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/courses/search").param("universityId", universityId.toString())
+                        .with(from("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        mockMvc.perform(get("/api/courses/search").param("universityId", universityId.toString())
+                        .with(from("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rotatingTheUniversityIdDoesNotEscapeTheLimit() throws Exception {
+        Long first = university("First University");
+        Long second = university("Second University");
+        Long third = university("Third University");
+
+        mockMvc.perform(get("/api/students").param("universityId", first.toString()).with(from("10.0.1.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/students").param("universityId", second.toString()).with(from("10.0.1.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/students").param("universityId", third.toString()).with(from("10.0.1.1")))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/students").param("universityId", "999999").with(from("10.0.1.1")))
+                .andExpect(status().isTooManyRequests());
+
+        // nor does naming a university spend that university's budget for its own callers
+        mockMvc.perform(get("/api/students").param("universityId", first.toString()).with(from("10.0.1.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writesAreBudgetedApartFromReads() throws Exception {
+        Long universityId = university("Scripted University");
+
+        mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                        .content(student("ADM-1", universityId)).with(from("10.0.2.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                        .content(student("ADM-2", universityId)).with(from("10.0.2.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        mockMvc.perform(get("/api/students").with(from("10.0.2.1"))).andExpect(status().isOk());
+    }
+
+    // buckets outlive a test, so each test calls from addresses of its own
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static String student(String studentId, Long universityId) {
+        return "{\"studentId\":\"" + studentId + "\",\"fullName\":\"Scripted Student\",\"universityId\":"
+                + universityId + "}";
+    }
+
+    private Long university(String name) {
+        University university = new University();
+        university.setUniName(name);
+        university.setStatus(University.Status.ACTIVE);
+        return universityRepository.save(university).getId();
+    }
+}
@@ -0,0 +1,194 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.AdminRepository;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.EnrollmentRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.AdminService;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.EnrollmentService;
+import com.lms_app.lms_backend.service.StudentService;
+import com.lms_app.lms_backend.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:lms-analytics;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1")
+class AnalyticsTests {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private UniversityService universityService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long universityId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        UniversityDTO university = new UniversityDTO();
+        university.setUniName("Analytic University");
+        university.setStatus("ACTIVE");
+        universityService.createUniversity(university);
+        universityId = universityRepository.findAll().get(0).getId();
+        AdminDTO admin = new AdminDTO();
+        admin.setAdminName("Analytic Admin");
+        admin.setUniName("Analytic University");
+        admin.setStatus("ACTIVE");
+        admin.setAdminStatus("ACTIVE");
+        adminService.createAdmin(admin);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from course_seat_stripes");
+        jdbcTemplate.update("delete from student_dashboard_courses");
+        jdbcTemplate.update("delete from analytics_days");
+        jdbcTemplate.update("delete from analytics_university_days");
+        jdbcTemplate.update("delete from analytics_universities");
+        jdbcTemplate.update("delete from audit_log");
+        enrollmentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        adminRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void rollupsFollowTheServicesAtEachFold() throws Exception {
+        Long first = studentService.createStudent(student("AN-1")).getId();
+        studentService.createStudent(student("AN-2"));
+        Long course = courseService.createCourse(course()).getId();
+        enrollmentService.enroll(first, course);
+
+        // universities and admins count at once, the rest once folded
+        mockMvc.perform(get("/api/analytics/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.universities").value(1))
+                .andExpect(jsonPath("$.activeAdmins").value(1))
+                .andExpect(jsonPath("$.students").value(0));
+        universityCounters.fold();
+        mockMvc.perform(get("/api/analytics/summary"))
+                .andExpect(jsonPath("$.students").value(2))
+                .andExpect(jsonPath("$.courses").value(1))
+                .andExpect(jsonPath("$.enrollments").value(1));
+
+        enrollmentService.unenroll(first, course);
+        UniversityDTO university = universityService.getUniversityById(universityId);
+        university.setStatus("INACTIVE");
+        universityService.updateUniversity(universityId, university);
+        universityCounters.fold();
+
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(get("/api/analytics/daily")
+                        .param("from", today.minusDays(2).toString()).param("to", today.toString()))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].students").value(0))
+                .andExpect(jsonPath("$[2].day").value(today.toString()))
+                .andExpect(jsonPath("$[2].activeUniversities").value(0))
+                .andExpect(jsonPath("$[2].enrollments").value(0));
+        mockMvc.perform(get("/api/analytics/universities/{id}/daily", universityId))
+                .andExpect(jsonPath("$.length()").value(30))
+                .andExpect(jsonPath("$[29].students").value(2))
+                .andExpect(jsonPath("$[29].admins").doesNotExist());
+        mockMvc.perform(get("/api/analytics/daily").param("from", today.toString())
+                        .param("to", today.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void reconcileRebuildsAndDeletesTakeUniversitiesOut() throws Exception {
+        studentService.createStudent(student("AN-1"));
+        universityCounters.fold();
+        // a write that bypassed the services
+        Students bypassed = new Students();
+        bypassed.setStudentId("AN-2");
+        bypassed.setUniversity(universityRepository.getReferenceById(universityId));
+        studentRepository.save(bypassed);
+
+        universityCounters.reconcile();
+        mockMvc.perform(get("/api/analytics/summary"))
+                .andExpect(jsonPath("$.students").value(2))
+                .andExpect(jsonPath("$.admins").value(1));
+
+        universityService.deleteUniversity(universityId);
+        mockMvc.perform(get("/api/analytics/summary"))
+                .andExpect(jsonPath("$.universities").value(0))
+                .andExpect(jsonPath("$.students").value(0));
+        mockMvc.perform(get("/api/analytics/universities/{id}/daily", universityId))
+                .andExpect(status().isNotFound());
+    }
+
+    private StudentDTO student(String studentId) {
+        StudentDTO dto = new StudentDTO();
+        dto.setStudentId(studentId);
+        dto.setFullName("Analytic Student");
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+
+    private CourseDTO course() {
+        CourseDTO dto = new CourseDTO();
+        dto.setCourseCode("ANA-101");
+        dto.setTitle("Analysis");
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+}
@@ -0,0 +1,124 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.AuditEntry;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.AuditEntryRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AuditLogTests {
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private AuditEntryRepository auditEntryRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long universityId;
+
+    @BeforeEach
+    void seed() {
+        University university = new University();
+        university.setUniName("Audited University");
+        university.setStatus(University.Status.ACTIVE);
+        universityId = universityRepository.save(university).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(auditLog, "mode", "async");
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void committedWritesAreAppendedInOrder() throws InterruptedException {
+        Long id = studentService.createStudent(student("AUD-1")).getId();
+        StudentDTO change = new StudentDTO();
+        change.setMajor("Physics");
+        studentService.patchStudent(id, change, Set.of("major"), 0);
+        studentService.deleteStudent(id);
+
+        assertThat(auditLog.flush()).isTrue();
+
+        assertThat(actions(id)).containsExactly(
+                AuditEntry.Action.CREATE, AuditEntry.Action.UPDATE, AuditEntry.Action.DELETE);
+    }
+
+    @Test
+    void rolledBackWritesAreNotAudited() throws InterruptedException {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(status -> {
+            Long created = studentService.createStudent(student("AUD-2")).getId();
+            status.setRollbackOnly();
+            return created;
+        });
+
+        assertThat(auditLog.flush()).isTrue();
+
+        assertThat(actions(id)).isEmpty();
+    }
+
+    @Test
+    void syncOnCommitWritesWithTheTransaction() {
+        ReflectionTestUtils.setField(auditLog, "mode", "sync-on-commit");
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Long id = tx.execute(status -> {
+            Long created = studentService.createStudent(student("AUD-3")).getId();
+            // not written until the transaction commits
+            assertThat(actions(created)).isEmpty();
+            return created;
+        });
+
+        assertThat(actions(id)).containsExactly(AuditEntry.Action.CREATE);
+    }
+
+    private List<AuditEntry.Action> actions(Long studentId) {
+        return auditEntryRepository.findByEntityTypeAndEntityIdOrderById("Student", studentId).stream()
+                .map(AuditEntry::getAction)
+                .toList();
+    }
+
+    private StudentDTO student(String studentId) {
+        StudentDTO dto = new StudentDTO();
+        dto.setStudentId(studentId);
+        dto.setFullName("Audited Student");
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+}
@@ -0,0 +1,94 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.BulkResultDTO;
+import com.lms_app.lms_backend.dto.BulkRowResultDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BulkWriteTests {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long universityId;
+
+    @BeforeEach
+    void seed() {
+        University university = new University();
+        university.setUniName("Bulk University");
+        university.setStatus(University.Status.ACTIVE);
+        universityId = universityRepository.save(university).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createsRowsInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkResultDTO result = studentService.bulkCreateStudents(students(200));
+
+        assertThat(result.getSucceeded()).isEqualTo(200);
+        assertThat(studentRepository.count()).isEqualTo(200);
+        // one university lookup, a few sequence calls and 200 / batch_size insert batches
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @Test
+    void reportsFailuresPerRowAndWritesTheRest() {
+        studentService.bulkCreateStudents(students(1));
+
+        List<StudentDTO> rows = students(3);  // row 0 clashes with the existing student
+        rows.get(2).setUniversityId(-1L);
+        BulkResultDTO result = studentService.bulkCreateStudents(rows);
+
+        assertThat(result.getRows()).extracting(BulkRowResultDTO::getStatus).containsExactly(
+                BulkRowResultDTO.Status.FAILED, BulkRowResultDTO.Status.CREATED, BulkRowResultDTO.Status.FAILED);
+        assertThat(result.getRows().get(2).getError()).isEqualTo("University not found");
+        assertThat(studentRepository.count()).isEqualTo(2);
+    }
+
+    private List<StudentDTO> students(int count) {
+        List<StudentDTO> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StudentDTO dto = new StudentDTO();
+            dto.setStudentId("B-" + i);
+            dto.setFullName("Bulk Student " + i);
+            dto.setEmail("bulk" + i + "@example.edu");
+            dto.setUniversityId(universityId);
+            rows.add(dto);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,91 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.AuditEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * A change feed client that connects over a real socket and never reads, on
+ * a feed with a single sender thread.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms-change-stall;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "lms.changes.sender-threads=1",
+        "lms.changes.send-timeout=1s"})
+class ChangeFeedStallTests {
+
+    // far more than the socket buffers between the server and a client that does not read
+    private static final int EVENTS = 100;
+
+    private static final String PADDING = "x".repeat(64 * 1024);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ChangeFeedServiceImpl changeFeed;
+
+    @Test
+    void aClientThatNeverReadsIsDroppedAndOthersKeepReceiving() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        try (Socket stalled = new Socket()) {
+            stalled.setReceiveBufferSize(1024);
+            stalled.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = stalled.getOutputStream();
+            out.write(("GET /api/changes/stream HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            awaitSubscribers(1);
+
+            MockHttpServletResponse reader = mockMvc.perform(get("/api/changes/stream"))
+                    .andExpect(request().asyncStarted()).andReturn().getResponse();
+            awaitSubscribers(2);
+
+            List<AuditLog.Event> events = new ArrayList<>();
+            for (int i = 0; i < EVENTS; i++) {
+                events.add(new AuditLog.Event(PADDING, i, AuditEntry.Action.UPDATE, null, Instant.now()));
+            }
+            changeFeed.publish(events);
+            changeFeed.publish(List.of(new AuditLog.Event("Marker", 424242, AuditEntry.Action.CREATE, null,
+                    Instant.now())));
+
+            // well before the container's own write timeout (20s) would have freed the sender
+            long deadline = System.currentTimeMillis() + 10000;
+            while (!reader.getContentAsString().contains("\"entityId\":424242")
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(200);
+            }
+            assertThat(reader.getContentAsString()).contains("\"entityType\":\"Marker\"");
+            awaitSubscribers(1);
+        }
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (changeFeed.subscriberCount() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(changeFeed.subscriberCount()).isEqualTo(expected);
+    }
+}
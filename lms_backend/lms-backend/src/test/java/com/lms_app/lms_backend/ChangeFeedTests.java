@@ -0,0 +1,159 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+class ChangeFeedTests {
+
+    private static final Pattern LAST_ID = Pattern.compile("(?s).*id:(\\d+)\\n");
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long universityId;
+
+    private Long otherUniversityId;
+
+    @BeforeEach
+    void seed() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        universityId = university("Streamed University");
+        otherUniversityId = university("Other Streamed University");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void subscribersOnlyGetTheirUniversitysChanges() throws Exception {
+        MockHttpServletResponse stream = subscribe("/api/changes/stream?universityId=" + universityId);
+
+        Long other = studentService.createStudent(student("SSE-1", otherUniversityId)).getId();
+        Long own = studentService.createStudent(student("SSE-2", universityId)).getId();
+
+        String events = awaitContent(stream, "\"entityId\":" + own);
+        assertThat(events).contains("event:change", "\"entityType\":\"Student\"", "\"action\":\"CREATE\"");
+        assertThat(events).doesNotContain("\"entityId\":" + other + ",");
+    }
+
+    @Test
+    void bulkDeletesCarryTheirUniversityAndPatchesStayUnfiltered() throws Exception {
+        Long own = studentService.createStudent(student("SSE-5", universityId)).getId();
+        Long other = studentService.createStudent(student("SSE-6", otherUniversityId)).getId();
+        Long patched = studentService.createStudent(student("SSE-7", universityId)).getId();
+        MockHttpServletResponse filtered = subscribe("/api/changes/stream?universityId=" + universityId);
+        MockHttpServletResponse unfiltered = subscribe("/api/changes/stream");
+
+        StudentDTO values = new StudentDTO();
+        values.setFullName("Patched Student");
+        studentService.patchStudent(patched, values, Set.of("fullName"), 0);
+        studentService.bulkDeleteStudents(List.of(other, own));
+
+        String events = awaitContent(filtered, "\"entityId\":" + own + ",");
+        assertThat(events).contains("\"action\":\"DELETE\"", "\"universityId\":" + universityId);
+        assertThat(events).doesNotContain("\"entityId\":" + other + ",", "\"entityId\":" + patched + ",");
+        // the patch was published before the deletes
+        assertThat(awaitContent(unfiltered, "\"entityId\":" + own + ","))
+                .contains("\"entityId\":" + patched + ",", "\"entityId\":" + other + ",");
+    }
+
+    @Test
+    void reconnectsResumeAfterTheLastEventId() throws Exception {
+        MockHttpServletResponse first = subscribe("/api/changes/stream");
+        Long seen = studentService.createStudent(student("SSE-3", universityId)).getId();
+        String lastId = lastId(awaitContent(first, "\"entityId\":" + seen));
+
+        Long missed = studentService.createStudent(student("SSE-4", universityId)).getId();
+
+        MockHttpServletResponse resumed = subscribe("/api/changes/stream", lastId);
+        String events = awaitContent(resumed, "\"entityId\":" + missed);
+        assertThat(events).doesNotContain("\"entityId\":" + seen + ",");
+
+        // a position from before this instance started can no longer be served
+        MockHttpServletResponse stale = subscribe("/api/changes/stream?after=1");
+        assertThat(awaitContent(stale, "event:reset")).doesNotContain("event:change");
+    }
+
+    private MockHttpServletResponse subscribe(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse subscribe(String url, String lastEventId) throws Exception {
+        return mockMvc.perform(get(url).header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private static String lastId(String events) {
+        Matcher matcher = LAST_ID.matcher(events);
+        assertThat(matcher.lookingAt()).isTrue();
+        return matcher.group(1);
+    }
+
+    private Long university(String name) {
+        University university = new University();
+        university.setUniName(name);
+        university.setStatus(University.Status.ACTIVE);
+        return universityRepository.save(university).getId();
+    }
+
+    private StudentDTO student(String studentId, Long universityId) {
+        StudentDTO dto = new StudentDTO();
+        dto.setStudentId(studentId);
+        dto.setFullName("Streamed Student");
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+}
@@ -0,0 +1,172 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.AdminRepository;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class ConditionalGetTests {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long universityId;
+
+    @BeforeEach
+    void seed() {
+        // built by hand rather than with @AutoConfigureMockMvc, which would start a second
+        // context and re-create the shared in-memory schema under the other test classes
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        University university = new University();
+        university.setUniName("Conditional University");
+        university.setStatus(University.Status.ACTIVE);
+        universityId = universityRepository.save(university).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        courseRepository.deleteAllInBatch();
+        adminRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void unchangedCourseIsNotModifiedWithoutTouchingTheDatabase() throws Exception {
+        CourseDTO course = courseService.createCourse(course("ETG-101"));
+        String url = "/api/courses/" + course.getId();
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).isEqualTo("W/\"0\"");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        course.setTitle("Renamed");
+        courseService.updateCourse(course.getId(), course);
+        mockMvc.perform(get(url).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1\""));
+    }
+
+    @Test
+    void listEtagChangesOnInsertUpdateAndDelete() throws Exception {
+        CourseDTO first = courseService.createCourse(course("ETG-201"));
+        String initial = listEtag();
+        mockMvc.perform(get("/api/courses").header("If-None-Match", initial))
+                .andExpect(status().isNotModified());
+
+        CourseDTO second = courseService.createCourse(course("ETG-202"));
+        String afterInsert = listEtag();
+        first.setTitle("Changed");
+        courseService.updateCourse(first.getId(), first);
+        String afterUpdate = listEtag();
+        courseService.deleteCourse(second.getId());
+        String afterDelete = listEtag();
+
+        assertThat(List.of(initial, afterInsert, afterUpdate, afterDelete)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void adminEtagFollowsRefreshedStudentCountsAndStaleWritesFail() throws Exception {
+        Admin admin = new Admin();
+        admin.setAdminName("Conditional Admin");
+        admin.setUniName("Conditional University");
+        admin.setStatus(Admin.Status.ACTIVE);
+        admin.setAdminStatus(Admin.AdminStatus.ACTIVE);
+        Long adminId = adminRepository.save(admin).getId();
+        String url = "/api/admins/" + adminId;
+        String etag = mockMvc.perform(get(url))
+                .andExpect(header().string("Cache-Control", "private, no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> adminRepository.refreshStudents(List.of("Conditional University")));
+        mockMvc.perform(get(url).header("If-None-Match", etag)).andExpect(status().isOk());
+
+        // a write based on a read that another transaction has since overtaken
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            University stale = universityRepository.findById(universityId).orElseThrow();
+            inner.executeWithoutResult(s -> universityRepository.findById(universityId).orElseThrow()
+                    .setAddress("Moved"));
+            stale.setAddress("Also moved");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    private String listEtag() throws Exception {
+        return mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private CourseDTO course(String code) {
+        CourseDTO dto = new CourseDTO();
+        dto.setCourseCode(code);
+        dto.setTitle("Conditional");
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+}
@@ -0,0 +1,229 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.CourseTopic;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseTopicRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.CourseTopicService;
+import com.lms_app.lms_backend.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CourseSearchTests {
+
+    @Autowired
+    private CourseSearchIndex searchIndex;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private UniversityService universityService;
+
+    @Autowired
+    private CourseTopicService topicService;
+
+    @Autowired
+    private CourseTopicRepository topicRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long universityId;
+
+    private Long otherUniversityId;
+
+    @BeforeEach
+    void seed() {
+        universityId = university("Indexed University");
+        otherUniversityId = university("Other Indexed University");
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        topicRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatchesAndFollowsWrites() {
+        CourseDTO inDescription = courseService.createCourse(
+                course(universityId, "CS-310", "Data Structures", "Graph algorithms and trees"));
+        CourseDTO inTitle = courseService.createCourse(
+                course(universityId, "CS-420", "Algorithms", "Design and analysis"));
+        courseService.createCourse(course(otherUniversityId, "CS-500", "Advanced Algorithms", null));
+
+        assertThat(ids(courseService.searchCoursesByText("algorithm", universityId, PageRequest.of(0, 10))))
+                .containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(courseService.searchCoursesByText("algorithms", null, PageRequest.of(0, 10))
+                .getTotalElements()).isEqualTo(3);
+        // the last word matches as a prefix while it is being typed
+        assertThat(ids(courseService.searchCoursesByText("data struc", universityId, PageRequest.of(0, 10))))
+                .containsExactly(inDescription.getId());
+
+        inTitle.setTitle("Compilers");
+        inTitle.setDescription("Parsing and code generation");
+        courseService.updateCourse(inTitle.getId(), inTitle);
+        courseService.deleteCourse(inDescription.getId());
+
+        assertThat(courseService.searchCoursesByText("algorithms", universityId, PageRequest.of(0, 10))).isEmpty();
+        Page<CourseDTO> compilers = courseService.searchCoursesByText("compiler", universityId, PageRequest.of(0, 10));
+        assertThat(compilers.getContent()).singleElement()
+                .satisfies(hit -> assertThat(hit.getCourseCode()).isEqualTo("CS-420"));
+    }
+
+    @Test
+    void rolledBackWritesAreNotIndexedAndRebuildPicksUpDirectWrites() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            courseService.createCourse(course(universityId, "ROL-101", "Rollback Semantics", null));
+            status.setRollbackOnly();
+        });
+        assertThat(courseService.searchCoursesByText("rollback", null, PageRequest.of(0, 10))).isEmpty();
+
+        Course direct = new Course();
+        direct.setCourseCode("DIR-101");
+        direct.setTitle("Directly Written Course");
+        direct.setUniversity(universityRepository.getReferenceById(universityId));
+        courseRepository.save(direct);
+        assertThat(courseService.searchCoursesByText("directly", null, PageRequest.of(0, 10))).isEmpty();
+
+        searchIndex.rebuild();
+
+        assertThat(courseService.searchCoursesByText("directly", null, PageRequest.of(0, 10))).hasSize(1);
+    }
+
+    @Test
+    void aFailedUpdateIsRepairedByARebuild() {
+        Course direct = new Course();
+        direct.setCourseCode("REP-101");
+        direct.setTitle("Repaired Course");
+        direct.setUniversity(universityRepository.getReferenceById(universityId));
+        courseRepository.save(direct);
+        searchIndex.repair();
+        assertThat(courseService.searchCoursesByText("repaired", null, PageRequest.of(0, 10))).isEmpty();
+
+        // a document without an id cannot be written
+        searchIndex.indexAfterCommit(List.of(new CourseDTO()));
+        assertThat(searchIndex.isStale()).isTrue();
+
+        searchIndex.repair();
+
+        assertThat(searchIndex.isStale()).isFalse();
+        assertThat(courseService.searchCoursesByText("repaired", null, PageRequest.of(0, 10))).hasSize(1);
+    }
+
+    @Test
+    void bulkWritesAndUniversityDeletesKeepTheIndexCurrent() {
+        courseService.bulkCreateCourses(List.of(
+                course(universityId, "BLK-101", "Bulk Geology", null),
+                course(otherUniversityId, "BLK-102", "Bulk Geology Fieldwork", null)));
+        assertThat(courseService.searchCoursesByText("geology", null, PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(2);
+
+        universityService.deleteUniversity(otherUniversityId);
+
+        assertThat(ids(courseService.searchCoursesByText("geology", null, PageRequest.of(0, 10))))
+                .hasSize(1);
+    }
+
+    @Test
+    void topicTitlesFindTheirCourse() {
+        CourseDTO course = courseService.createCourse(course(universityId, "CHM-101", "General Chemistry", null));
+        CourseTopicDTO topic = new CourseTopicDTO();
+        topic.setTitle("Stoichiometry Basics");
+        topic.setCourseId(course.getId());
+        topic.setMaterials(CourseTopic.Material.VIDEO);
+        Long topicId = topicService.createTopic(topic).getId();
+
+        assertThat(ids(courseService.searchCoursesByText("stoichiometry", universityId, PageRequest.of(0, 10))))
+                .containsExactly(course.getId());
+
+        topic.setTitle("Titration");
+        topicService.updateTopic(topicId, topic);
+        assertThat(courseService.searchCoursesByText("stoichiometry", null, PageRequest.of(0, 10))).isEmpty();
+        assertThat(ids(courseService.searchCoursesByText("titration", null, PageRequest.of(0, 10))))
+                .containsExactly(course.getId());
+
+        // a rebuild reads the titles back from the database
+        searchIndex.rebuild();
+        assertThat(ids(courseService.searchCoursesByText("titration", null, PageRequest.of(0, 10))))
+                .containsExactly(course.getId());
+
+        topicService.deleteTopic(topicId);
+        assertThat(courseService.searchCoursesByText("titration", null, PageRequest.of(0, 10))).isEmpty();
+        // the course itself is still found
+        assertThat(courseService.searchCoursesByText("chemistry", null, PageRequest.of(0, 10))).hasSize(1);
+    }
+
+    @Test
+    void updatesAppliedDuringARebuildSurviveIt() {
+        CourseDTO created = courseService.createCourse(course(universityId, "RAC-101", "Glacier Studies", null));
+
+        // the rebuild reads the course as it is...
+        searchIndex.recordUpdates();
+        CourseDTO read = courseService.getCourseById(created.getId());
+        // ...then a rename commits and is applied before the rebuild empties the index
+        CourseDTO renamed = course(universityId, "RAC-101", "Volcano Studies", null);
+        courseService.updateCourse(created.getId(), renamed);
+        searchIndex.replaceAll(Stream.of(read), Map.of());
+
+        assertThat(ids(courseService.searchCoursesByText("volcano", null, PageRequest.of(0, 10))))
+                .containsExactly(created.getId());
+        assertThat(courseService.searchCoursesByText("glacier", null, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    private Long university(String name) {
+        University university = new University();
+        university.setUniName(name);
+        university.setStatus(University.Status.ACTIVE);
+        return universityRepository.save(university).getId();
+    }
+
+    private static CourseDTO course(Long universityId, String code, String title, String description) {
+        CourseDTO dto = new CourseDTO();
+        dto.setCourseCode(code);
+        dto.setTitle(title);
+        dto.setDescription(description);
+        dto.setCredits(3);
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+
+    private static List<Long> ids(Page<CourseDTO> page) {
+        return page.getContent().stream().map(CourseDTO::getId).toList();
+    }
+}
@@ -0,0 +1,229 @@
+package com.lms_app.lms_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseTopicRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.CourseTopicService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class CourseTopicTests {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseTopicService topicService;
+
+    @Autowired
+    private TopicOrdering topicOrdering;
+
+    @Autowired
+    private CourseTopicRepository topicRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        University university = new University();
+        university.setUniName("Topical University");
+        university.setStatus(University.Status.ACTIVE);
+        CourseDTO course = new CourseDTO();
+        course.setCourseCode("TOP-101");
+        course.setTitle("Topics");
+        course.setUniversityId(universityRepository.save(university).getId());
+        courseId = courseService.createCourse(course).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        topicRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void topicsAreListedPerCourseInOrderAndGoWithTheirCourse() throws Exception {
+        createTopic("Second", 2);
+        createTopic("First", 1);
+
+        mockMvc.perform(get("/api/topics/by-course/{courseId}", courseId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("First"))
+                .andExpect(jsonPath("$[0].description").value("About First"))
+                .andExpect(jsonPath("$[1].title").value("Second"));
+
+        courseService.deleteCourse(courseId);
+        assertThat(topicRepository.count()).isZero();
+    }
+
+    @Test
+    void movingATopicWritesOnlyItsOwnRow() throws Exception {
+        List<Long> order = new ArrayList<>();
+        for (String title : List.of("A", "B", "C", "D")) {
+            order.add(createTopic(title, null));
+        }
+        Map<Long, Integer> keys = sortKeys();
+
+        // C after A, then D to the front
+        moveTopic(order.get(2), order.get(0));
+        moveTopic(order.get(3), null);
+        order = List.of(order.get(3), order.get(0), order.get(2), order.get(1));
+        assertThat(listedIds()).isEqualTo(order);
+        Map<Long, Integer> moved = sortKeys();
+        assertThat(moved.get(order.get(1))).isEqualTo(keys.get(order.get(1)));
+        assertThat(moved.get(order.get(3))).isEqualTo(keys.get(order.get(3)));
+
+        // keep squeezing topics in right after the first one, past the point where the gap there is used up
+        List<Long> expected = new ArrayList<>(order);
+        for (int i = 0; i < 15; i++) {
+            Long last = expected.remove(expected.size() - 1);
+            expected.add(1, last);
+            moveTopic(last, expected.get(0));
+            assertThat(listedIds()).isEqualTo(expected);
+        }
+        mockMvc.perform(get("/api/courses/{id}/topics", courseId))
+                .andExpect(jsonPath("$[2].id").value(expected.get(2)))
+                .andExpect(jsonPath("$[2].sortOrder").value(3));
+
+        topicOrdering.layOut(courseId);
+        assertThat(listedIds()).isEqualTo(expected);
+        assertThat(jdbcTemplate.queryForList("select sort_order from course_topics where course_id = ? "
+                + "order by sort_order", Integer.class, courseId)).containsExactly(1024, 2048, 3072, 4096);
+    }
+
+    @Test
+    void uploadedFilesAreServedWholeOrByRange() throws Exception {
+        byte[] video = "0123456789".getBytes(StandardCharsets.US_ASCII);
+        String url = mockMvc.perform(multipart("/api/files/upload")
+                        .file(new MockMultipartFile("file", "lecture.mp4", "video/mp4", video)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String path = url.substring(url.indexOf("/api/files/"));
+        assertThat(path).endsWith(".mp4");
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Content-Type", "video/mp4"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(content().bytes(video));
+        mockMvc.perform(get(path).header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+        mockMvc.perform(get(path).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+        mockMvc.perform(get(path).header("Range", "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+
+        String etag = mockMvc.perform(get(path)).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(path).header("If-None-Match", etag)).andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/files/{name}", "../application.properties")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void onlyMaterialFilesAreAcceptedAndDocumentsAreDownloaded() throws Exception {
+        for (String name : new String[]{"page.html", "image.svg", "feed.xml", "script.js", "no-extension"}) {
+            mockMvc.perform(multipart("/api/files/upload").file(new MockMultipartFile("file", name,
+                            "text/html", "<script>alert(1)</script>".getBytes(StandardCharsets.US_ASCII))))
+                    .andExpect(status().isBadRequest());
+        }
+
+        String url = mockMvc.perform(multipart("/api/files/upload").file(new MockMultipartFile("file",
+                        "Syllabus.PDF", "application/pdf", "%PDF-1.4".getBytes(StandardCharsets.US_ASCII))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String path = url.substring(url.indexOf("/api/files/"));
+        assertThat(path).endsWith(".pdf");
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().string("Content-Disposition", startsWith("attachment")));
+    }
+
+    private void moveTopic(Long id, Long after) throws Exception {
+        mockMvc.perform(after == null ? post("/api/topics/{id}/move", id)
+                        : post("/api/topics/{id}/move", id).param("after", after.toString()))
+                .andExpect(status().isOk());
+    }
+
+    private List<Long> listedIds() {
+        return topicService.getTopicsForCourse(courseId).stream().map(CourseTopicDTO::getId).toList();
+    }
+
+    private Map<Long, Integer> sortKeys() {
+        Map<Long, Integer> keys = new HashMap<>();
+        jdbcTemplate.query("select id, sort_order from course_topics where course_id = ?",
+                (RowCallbackHandler) rs -> keys.put(rs.getLong(1), rs.getInt(2)), courseId);
+        return keys;
+    }
+
+    private Long createTopic(String title, Integer sortOrder) throws Exception {
+        String body = "{\"title\":\"" + title + "\",\"topicdescription\":\"About " + title + "\","
+                + "\"materials\":\"VIDEO\",\"sortOrder\":" + sortOrder + ",\"courseId\":" + courseId + "}";
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/api/topics")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(created.get("universityId").isNull()).isFalse();
+        return created.get("id").asLong();
+    }
+}
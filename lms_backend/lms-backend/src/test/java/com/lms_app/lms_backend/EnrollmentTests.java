@@ -0,0 +1,209 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.exception.CourseFullException;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.EnrollmentRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.EnrollmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class EnrollmentTests {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private University university;
+
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void seed() {
+        university = new University();
+        university.setUniName("Enrollment University");
+        university.setStatus(University.Status.ACTIVE);
+        university = universityRepository.save(university);
+        List<Students> students = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            Students student = new Students();
+            student.setStudentId("E-" + i);
+            student.setFullName("Enrolling Student " + i);
+            student.setUniversity(university);
+            students.add(student);
+        }
+        studentIds = studentRepository.saveAll(students).stream().map(Students::getId).toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from course_seat_stripes");
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void enrollingTwiceReturnsTheSameEnrollment() {
+        Long courseId = course(5);
+
+        EnrollmentDTO first = enrollmentService.enroll(studentIds.get(0), courseId);
+        EnrollmentDTO second = enrollmentService.enroll(studentIds.get(0), courseId);
+
+        assertThat(first.getStatus()).isEqualTo(EnrollmentDTO.Status.ENROLLED);
+        assertThat(second.getStatus()).isEqualTo(EnrollmentDTO.Status.ALREADY_ENROLLED);
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(enrollmentRepository.count()).isEqualTo(1);
+        assertThat(enrollmentService.getSeats(courseId).getTaken()).isEqualTo(1);
+    }
+
+    @Test
+    void batchStopsAtCapacityAndUnenrollFreesASeat() {
+        Long courseId = course(5);
+        List<EnrollmentDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(request(studentIds.get(i), courseId));
+        }
+        requests.add(request(studentIds.get(0), courseId));
+
+        List<EnrollmentDTO> results = enrollmentService.enrollAll(requests);
+
+        assertThat(results).extracting(EnrollmentDTO::getStatus).containsExactly(
+                EnrollmentDTO.Status.ENROLLED, EnrollmentDTO.Status.ENROLLED, EnrollmentDTO.Status.ENROLLED,
+                EnrollmentDTO.Status.ENROLLED, EnrollmentDTO.Status.ENROLLED, EnrollmentDTO.Status.COURSE_FULL,
+                EnrollmentDTO.Status.COURSE_FULL, EnrollmentDTO.Status.COURSE_FULL,
+                EnrollmentDTO.Status.ALREADY_ENROLLED);
+        assertThat(enrollmentService.getSeats(courseId).getAvailable()).isZero();
+
+        assertThat(enrollmentService.unenroll(studentIds.get(0), courseId)).isTrue();
+        assertThat(enrollmentService.unenroll(studentIds.get(0), courseId)).isFalse();
+        assertThat(enrollmentService.enroll(studentIds.get(5), courseId).getStatus())
+                .isEqualTo(EnrollmentDTO.Status.ENROLLED);
+        assertThat(enrollmentService.getSeats(courseId).getTaken()).isEqualTo(5);
+    }
+
+    @Test
+    void batchReportsStudentsAlreadyEnrolled() {
+        Long courseId = course(5);
+        enrollmentService.enroll(studentIds.get(1), courseId);
+
+        List<EnrollmentDTO> results = enrollmentService.enrollAll(List.of(request(studentIds.get(0), courseId),
+                request(studentIds.get(1), courseId), request(studentIds.get(2), courseId)));
+
+        assertThat(results).extracting(EnrollmentDTO::getStatus).containsExactly(EnrollmentDTO.Status.ENROLLED,
+                EnrollmentDTO.Status.ALREADY_ENROLLED, EnrollmentDTO.Status.ENROLLED);
+        assertThat(enrollmentRepository.count()).isEqualTo(3);
+        assertThat(enrollmentService.getSeats(courseId).getTaken()).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentEnrollmentsNeverOversell() throws Exception {
+        Long courseId = course(50);
+        AtomicInteger full = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long studentId : studentIds) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        enrollmentService.enroll(studentId, courseId);
+                    } catch (CourseFullException e) {
+                        full.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(enrollmentRepository.count()).isEqualTo(50);
+        assertThat(full.get()).isEqualTo(30);
+        assertThat(enrollmentService.getSeats(courseId).getTaken()).isEqualTo(50);
+    }
+
+    @Test
+    void updatesWithoutACapacityKeepTheSeatLimit() {
+        Long courseId = course(2);
+        enrollmentService.enroll(studentIds.get(0), courseId);
+        CourseDTO change = new CourseDTO();
+        change.setId(courseId);
+        change.setCourseCode("ENR-101");
+        change.setTitle("Renamed Enrollment");
+
+        courseService.updateCourse(courseId, change);
+        courseService.bulkUpdateCourses(List.of(change));
+
+        assertThat(courseService.getCourseById(courseId).getCapacity()).isEqualTo(2);
+        assertThat(enrollmentService.getSeats(courseId).getTaken()).isEqualTo(1);
+        enrollmentService.enroll(studentIds.get(1), courseId);
+        assertThatThrownBy(() -> enrollmentService.enroll(studentIds.get(2), courseId))
+                .isInstanceOf(CourseFullException.class);
+
+        // an explicit null in a PATCH still removes the limit
+        courseService.patchCourse(courseId, new CourseDTO(), Set.of("capacity"),
+                courseService.getCourseVersion(courseId));
+        assertThat(courseService.getCourseById(courseId).getCapacity()).isNull();
+        assertThat(enrollmentService.enroll(studentIds.get(2), courseId).getStatus())
+                .isEqualTo(EnrollmentDTO.Status.ENROLLED);
+    }
+
+    private Long course(int capacity) {
+        Course course = new Course();
+        course.setCourseCode("ENR-101");
+        course.setTitle("Enrollment");
+        course.setCapacity(capacity);
+        course.setUniversity(university);
+        return courseRepository.save(course).getId();
+    }
+
+    private static EnrollmentDTO request(Long studentId, Long courseId) {
+        EnrollmentDTO request = new EnrollmentDTO();
+        request.setStudentId(studentId);
+        request.setCourseId(courseId);
+        return request;
+    }
+}
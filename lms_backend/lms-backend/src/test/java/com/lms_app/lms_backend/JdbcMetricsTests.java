@@ -0,0 +1,72 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JdbcMetricsTests {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void statementsRepositoryCallsAndThePoolAreMetered() {
+        University university = new University();
+        university.setUniName("Metered University");
+        university.setStatus(University.Status.ACTIVE);
+        Long universityId = universityRepository.save(university).getId();
+        long inserts = statements("insert", "success").count();
+        long selects = statements("select", "success").count();
+
+        StudentDTO student = new StudentDTO();
+        student.setStudentId("MET-1");
+        student.setFullName("Metered Student");
+        student.setUniversityId(universityId);
+        Long id = studentService.createStudent(student).getId();
+        studentService.getStudentById(id);
+
+        assertThat(statements("insert", "success").count()).isGreaterThan(inserts);
+        assertThat(statements("select", "success").count()).isGreaterThan(selects);
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "StudentRepository").tag("method", "findProjectedById").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.statements").functionCounter()).isNotNull();
+    }
+
+    private Timer statements(String operation, String outcome) {
+        return meterRegistry.get("lms.jdbc.statements").tag("operation", operation).tag("outcome", outcome).timer();
+    }
+}
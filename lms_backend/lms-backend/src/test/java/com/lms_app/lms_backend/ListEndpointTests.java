@@ -0,0 +1,182 @@
+package com.lms_app.lms_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The keyset {@code /page} and streaming {@code /stream} list endpoints as
+ * clients call them: page boundaries and size clamping, and one JSON object
+ * per line on the NDJSON stream.
+ */
+@SpringBootTest
+class ListEndpointTests {
+
+    private static final int STUDENTS = CursorPage.MAX_SIZE + 1;
+
+    private static final int COURSES = 5;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    private MockMvc mockMvc;
+
+    private List<Long> courseIds;
+
+    @BeforeEach
+    void seed() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        University university = new University();
+        university.setUniName("Listed University");
+        university.setStatus(University.Status.ACTIVE);
+        universityRepository.save(university);
+        List<Students> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Students student = new Students();
+            student.setStudentId("LST-" + i);
+            student.setFullName("Listed Student " + i);
+            student.setUniversity(university);
+            students.add(student);
+        }
+        studentRepository.saveAll(students);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course();
+            course.setCourseCode("LST-" + i);
+            course.setTitle("Listed Course " + i);
+            course.setUniversity(university);
+            courses.add(course);
+        }
+        courseIds = courseRepository.saveAll(courses).stream().map(Course::getId).sorted().toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void pagesWalkTheKeysetToAnEmptyEnd() throws Exception {
+        JsonNode first = page("/api/courses/page?size=2");
+        assertThat(ids(first)).containsExactlyElementsOf(courseIds.subList(0, 2));
+        assertThat(first.get("hasMore").asBoolean()).isTrue();
+        assertThat(first.get("nextCursor").asLong()).isEqualTo(courseIds.get(1));
+
+        JsonNode second = page("/api/courses/page?size=2&after=" + first.get("nextCursor").asLong());
+        assertThat(ids(second)).containsExactlyElementsOf(courseIds.subList(2, 4));
+
+        // the last page is short, has no cursor and says so
+        JsonNode last = page("/api/courses/page?size=2&after=" + second.get("nextCursor").asLong());
+        assertThat(ids(last)).containsExactly(courseIds.get(4));
+        assertThat(last.get("hasMore").asBoolean()).isFalse();
+        assertThat(last.get("nextCursor").isNull()).isTrue();
+
+        // exactly filling the page does not promise another one
+        JsonNode exact = page("/api/courses/page?size=" + COURSES);
+        assertThat(ids(exact)).hasSize(COURSES);
+        assertThat(exact.get("hasMore").asBoolean()).isFalse();
+
+        JsonNode empty = page("/api/courses/page?after=" + courseIds.get(COURSES - 1));
+        assertThat(empty.get("items")).isEmpty();
+        assertThat(empty.get("hasMore").asBoolean()).isFalse();
+        assertThat(empty.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void pageSizesAreClamped() throws Exception {
+        assertThat(page("/api/students/page").get("items")).hasSize(CursorPage.DEFAULT_SIZE);
+        assertThat(page("/api/students/page?size=0").get("items")).hasSize(CursorPage.DEFAULT_SIZE);
+        assertThat(page("/api/students/page?size=-5").get("items")).hasSize(CursorPage.DEFAULT_SIZE);
+
+        JsonNode largest = page("/api/students/page?size=" + (CursorPage.MAX_SIZE * 10));
+        assertThat(largest.get("items")).hasSize(CursorPage.MAX_SIZE);
+        assertThat(largest.get("hasMore").asBoolean()).isTrue();
+        JsonNode rest = page("/api/students/page?size=" + CursorPage.MAX_SIZE
+                + "&after=" + largest.get("nextCursor").asLong());
+        assertThat(rest.get("items")).hasSize(STUDENTS - CursorPage.MAX_SIZE);
+        assertThat(rest.get("hasMore").asBoolean()).isFalse();
+    }
+
+    @Test
+    void streamsWriteOneObjectPerLine() throws Exception {
+        MockHttpServletResponse students = stream("/api/students/stream");
+        assertThat(students.getContentType()).isEqualTo("application/x-ndjson");
+        String body = students.getContentAsString();
+        assertThat(body).endsWith("\n").doesNotStartWith("[");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(STUDENTS);
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertThat(row.isObject()).isTrue();
+            assertThat(row.get("studentId").asText()).startsWith("LST-");
+        }
+
+        List<Long> streamed = new ArrayList<>();
+        for (String line : stream("/api/courses/stream").getContentAsString().split("\n")) {
+            streamed.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertThat(streamed).containsExactlyInAnyOrderElementsOf(courseIds);
+    }
+
+    @Test
+    void anEmptyStreamHasNoLines() throws Exception {
+        courseRepository.deleteAllInBatch();
+        assertThat(stream("/api/courses/stream").getContentAsString()).isEmpty();
+    }
+
+    private JsonNode page(String url) throws Exception {
+        String body = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private MockHttpServletResponse stream(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,135 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the list endpoints against N+1 regressions: every call below must
+ * be answered by exactly one SQL statement, however many universities the
+ * rows point at.
+ */
+@SpringBootTest
+class ListQueryCountTests {
+
+    private static final int UNIVERSITIES = 3;
+    private static final int ROWS_PER_UNIVERSITY = 4;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        List<Students> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        for (int u = 0; u < UNIVERSITIES; u++) {
+            University university = new University();
+            university.setUniName("University " + u);
+            university.setStatus(University.Status.ACTIVE);
+            university = universityRepository.save(university);
+            for (int i = 0; i < ROWS_PER_UNIVERSITY; i++) {
+                Students student = new Students();
+                student.setStudentId("S-" + u + "-" + i);
+                student.setFullName("Student " + u + "-" + i);
+                student.setEmail("s" + u + "-" + i + "@example.edu");
+                student.setUniversity(university);
+                students.add(student);
+
+                Course course = new Course();
+                course.setCourseCode("C-" + u + "-" + i);
+                course.setTitle("Course " + u + "-" + i);
+                course.setUniversity(university);
+                courses.add(course);
+            }
+        }
+        studentRepository.saveAll(students);
+        courseRepository.saveAll(courses);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listingStudentsIssuesOneStatement() {
+        assertThat(studentService.getAllStudents()).hasSize(UNIVERSITIES * ROWS_PER_UNIVERSITY);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagingStudentsIssuesOneStatementPerPage() {
+        assertThat(studentService.getStudentsPage(null, 5).getItems()).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagingAUniversitysStudentsIssuesOneStatementPerPage() {
+        Long universityId = universityRepository.findAll().get(0).getId();
+        statistics.clear();
+        assertThat(studentService.getStudentsPageForUniversity(universityId, null, 3).getItems())
+                .hasSize(3)
+                .allSatisfy(student -> assertThat(student.getUniversityId()).isEqualTo(universityId));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamingStudentsIssuesOneStatement() {
+        List<Long> universityIds = new ArrayList<>();
+        studentService.streamAllStudents(dto -> universityIds.add(dto.getUniversityId()));
+        assertThat(universityIds).hasSize(UNIVERSITIES * ROWS_PER_UNIVERSITY).doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listingCoursesIssuesOneStatement() {
+        assertThat(courseService.getAllCourses()).hasSize(UNIVERSITIES * ROWS_PER_UNIVERSITY);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagingCoursesIssuesOneStatementPerPage() {
+        assertThat(courseService.getCoursesPage(null, 5).getItems()).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class PartialUpdateTests {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long universityId;
+
+    @BeforeEach
+    void seed() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        University university = new University();
+        university.setUniName("Patched University");
+        university.setStatus(University.Status.ACTIVE);
+        universityId = universityRepository.save(university).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void singleFieldPatchIsOneStatementAndStaleVersionsConflict() {
+        StudentDTO student = new StudentDTO();
+        student.setStudentId("P-1");
+        student.setFullName("Patched Student");
+        student.setMajor("History");
+        student.setUniversityId(universityId);
+        Long id = studentService.createStudent(student).getId();
+        StudentDTO change = new StudentDTO();
+        change.setMajor("Physics");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long version = studentService.patchStudent(id, change, Set.of("major"), 0);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(version).isEqualTo(1);
+        Students stored = studentRepository.findById(id).orElseThrow();
+        assertThat(stored.getMajor()).isEqualTo("Physics");
+        assertThat(stored.getFullName()).isEqualTo("Patched Student");
+
+        assertThatThrownBy(() -> studentService.patchStudent(id, change, Set.of("major"), 0))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> studentService.patchStudent(id, change, Set.of("studentId"), 1))
+                .hasMessage("Cannot patch studentId");
+    }
+
+    @Test
+    void missingOrUnknownStatusesAreBadRequests() throws Exception {
+        String url = "/api/universities/" + universityId;
+        String ifMatch = "W/\"" + universityRepository.findById(universityId).orElseThrow().getVersion() + "\"";
+        for (String body : new String[]{"{\"status\": \"closed\"}", "{\"status\": null}"}) {
+            mockMvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content(body).header("If-Match", ifMatch))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content("{\"status\": \"inactive\"}")
+                        .header("If-Match", ifMatch))
+                .andExpect(status().isNoContent());
+        assertThat(universityRepository.findById(universityId).orElseThrow().getStatus())
+                .isEqualTo(University.Status.INACTIVE);
+    }
+
+    @Test
+    void patchEndpointNeedsIfMatchAndReturnsTheNewEtag() throws Exception {
+        CourseDTO course = new CourseDTO();
+        course.setCourseCode("PAT-101");
+        course.setTitle("Before");
+        course.setDescription("Untouched");
+        course.setCredits(4);
+        course.setUniversityId(universityId);
+        Long id = courseService.createCourse(course).getId();
+        String url = "/api/courses/" + id;
+        String body = "{\"title\": \"After\"}";
+
+        mockMvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionRequired());
+        mockMvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("If-Match", "W/\"0\""))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "W/\"1\""));
+        mockMvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("If-Match", "W/\"0\""))
+                .andExpect(status().isConflict());
+
+        CourseDTO stored = courseService.getCourseById(id);
+        assertThat(stored.getTitle()).isEqualTo("After");
+        assertThat(stored.getDescription()).isEqualTo("Untouched");
+        assertThat(stored.getCredits()).isEqualTo(4);
+    }
+}
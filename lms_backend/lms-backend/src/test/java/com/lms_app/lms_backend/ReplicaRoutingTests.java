@@ -0,0 +1,159 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.config.ReplicaRouting;
+import com.lms_app.lms_backend.config.TenantContext;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two independent in-memory databases stand in for the primary and its
+ * replica; {@link #replicate()} copies the primary over, so anything written
+ * since is "lag".
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "lms.datasource.replica.url=jdbc:h2:mem:lms-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "lms.datasource.replica.lag-query=select seconds from replica_lag",
+        "lms.datasource.replica.max-lag=5s",
+        "lms.tenancy.pools.dedicated=2",
+        "lms.tenancy.assignments.999999=dedicated"})
+class ReplicaRoutingTests {
+
+    private static final long DEDICATED_UNIVERSITY = 999999L;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    private Long universityId;
+
+    @BeforeEach
+    void seed() {
+        University university = new University();
+        university.setUniName("Replicated University");
+        university.setStatus(University.Status.ACTIVE);
+        universityId = universityRepository.save(university).getId();
+        // without the lag table the check fails and the replica counts as behind
+        new JdbcTemplate(replica).execute("drop all objects");
+        replicaRouting.check();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void readOnlyReadsGoToTheReplicaOnceItIsCurrent() {
+        Long id = studentService.createStudent(student("REP-1")).getId();
+        // not checked yet, so everything is read from the primary
+        assertThat(studentService.getStudentById(id).getFullName()).isEqualTo("Replicated Student");
+
+        replicate();
+        Long unreplicated = studentService.createStudent(student("REP-2")).getId();
+        newRequest();
+
+        assertThat(studentService.getStudentById(id).getFullName()).isEqualTo("Replicated Student");
+        assertThatThrownBy(() -> studentService.getStudentById(unreplicated))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(studentService.getAllStudents()).extracting(StudentDTO::getId).containsExactly(id);
+    }
+
+    @Test
+    void requestsReadTheirOwnWritesAndLaggingReplicasAreSkipped() {
+        replicate();
+        newRequest();
+
+        Long id = studentService.createStudent(student("REP-3")).getId();
+        assertThat(studentService.getStudentById(id).getStudentId()).isEqualTo("REP-3");
+
+        // a request without writes of its own, then the replica falls a minute behind
+        newRequest();
+        assertThatThrownBy(() -> studentService.getStudentById(id)).isInstanceOf(ResourceNotFoundException.class);
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 60");
+        replicaRouting.check();
+        assertThat(studentService.getStudentById(id).getStudentId()).isEqualTo("REP-3");
+    }
+
+    @Test
+    void dedicatedTenantPoolsAreRoutedToo() {
+        replicate();
+        Long unreplicated = studentService.createStudent(student("REP-4")).getId();
+        newRequest();
+
+        // the university's own pools: reads still miss what has not been replicated
+        assertThatThrownBy(() -> TenantContext.run(DEDICATED_UNIVERSITY,
+                () -> studentService.getStudentById(unreplicated)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        Long written = TenantContext.call(DEDICATED_UNIVERSITY,
+                () -> studentService.createStudent(student("REP-5")).getId());
+        assertThat(new JdbcTemplate(primary).queryForObject("select count(*) from students where id = ?",
+                Integer.class, written)).isOne();
+    }
+
+    // each test method runs as one mock request; this starts another
+    private static void newRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    /** Replaces the replica's contents with a copy of the primary and reports it current. */
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primary).queryForList("script", String.class);
+        JdbcTemplate target = new JdbcTemplate(replica);
+        target.execute("drop all objects");
+        script.forEach(target::execute);
+        target.execute("create table replica_lag (seconds int)");
+        target.update("insert into replica_lag values (0)");
+        replicaRouting.check();
+    }
+
+    private StudentDTO student(String studentId) {
+        StudentDTO dto = new StudentDTO();
+        dto.setStudentId(studentId);
+        dto.setFullName("Replicated Student");
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+}
@@ -0,0 +1,167 @@
+package com.lms_app.lms_backend;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.luben.zstd.ZstdInputStream;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "server.compression.mime-types=application/json,application/x-ndjson,application/cbor,application/cbor-seq")
+class ResponseFormatTests {
+
+    private static final int STUDENTS = 50;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    @Qualifier("zstdCompressionFilter")
+    private FilterRegistrationBean<?> zstdCompressionFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilter((Filter) zstdCompressionFilter.getFilter(), "/api/*")
+                .build();
+        University university = new University();
+        university.setUniName("Format University");
+        university.setStatus(University.Status.ACTIVE);
+        universityRepository.save(university);
+        List<Students> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Students student = new Students();
+            student.setStudentId("FMT-" + i);
+            student.setFullName("Student " + i);
+            student.setEmail("student" + i + "@format.example.edu");
+            student.setUniversity(university);
+            students.add(student);
+        }
+        studentRepository.saveAll(students);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listsAndStreamsComeInTheAcceptedFormat() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        StudentDTO[] students = new CBORMapper().readValue(cbor, StudentDTO[].class);
+        assertThat(students).hasSize(STUDENTS);
+        assertThat(students[0].getStudentId()).isEqualTo("FMT-0");
+
+        MockHttpServletResponse smile = stream("application/x-jackson-smile");
+        assertThat(smile.getContentType()).isEqualTo("application/x-jackson-smile");
+        assertThat(readAll(new SmileMapper(), smile.getContentAsByteArray())).hasSize(STUDENTS);
+
+        MockHttpServletResponse cborSeq = stream("application/x-ndjson;q=0.5, application/cbor-seq");
+        assertThat(cborSeq.getContentType()).isEqualTo("application/cbor-seq");
+        assertThat(readAll(new CBORMapper(), cborSeq.getContentAsByteArray())).hasSize(STUDENTS);
+
+        assertThat(stream(null).getContentAsString()).startsWith("{\"id\":").contains("\n");
+    }
+
+    @Test
+    void zstdOnlyForClientsThatAcceptIt() throws Exception {
+        byte[] plain = mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MockHttpServletResponse encoded = mockMvc.perform(get("/api/students")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, zstd"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "zstd"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse();
+        byte[] body = encoded.getContentAsByteArray();
+        assertThat(body.length).isLessThan(plain.length);
+        assertThat(decompress(body)).isEqualTo(plain);
+
+        // streams are finished on the async dispatch
+        MvcResult started = mockMvc.perform(get("/api/students/stream")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "zstd"))
+                .andExpect(request().asyncStarted()).andReturn();
+        MockHttpServletResponse stream = mockMvc.perform(asyncDispatch(started))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "zstd"))
+                .andReturn().getResponse();
+        assertThat(readAll(objectMapper, decompress(stream.getContentAsByteArray()))).hasSize(STUDENTS);
+
+        mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT_ENCODING, "zstd;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private MockHttpServletResponse stream(String accept) throws Exception {
+        MvcResult started = mockMvc.perform(accept == null ? get("/api/students/stream")
+                        : get("/api/students/stream").header(HttpHeaders.ACCEPT, accept))
+                .andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private static byte[] decompress(byte[] zstd) throws IOException {
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(zstd))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static List<StudentDTO> readAll(ObjectMapper mapper, byte[] values) throws Exception {
+        try (MappingIterator<StudentDTO> rows = mapper.readerFor(StudentDTO.class).readValues(values)) {
+            return rows.readAll();
+        }
+    }
+}
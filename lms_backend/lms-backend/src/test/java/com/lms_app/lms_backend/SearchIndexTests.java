@@ -0,0 +1,218 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.StudentService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every supported search filter, captures the SQL Hibernate sends and
+ * checks its EXPLAIN plan: each statement, the page query and its count
+ * query, must seek into an index on the filtered columns rather than scan
+ * the table. A filter on the university alone may be served by the foreign
+ * key index H2 adds, as InnoDB would serve it from the composite index.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.lms_app.lms_backend.SearchIndexTests$CapturingInspector")
+class SearchIndexTests {
+
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long universityId;
+
+    @BeforeEach
+    void seed() {
+        University university = new University();
+        university.setUniName("Indexed University");
+        university.setStatus(University.Status.ACTIVE);
+        University saved = universityRepository.save(university);
+        universityId = saved.getId();
+        List<Students> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Students student = new Students();
+            student.setStudentId("I-" + i);
+            student.setFullName("Indexed Student " + i);
+            student.setMajor(i % 2 == 0 ? "Physics" : "History");
+            student.setYear(String.valueOf(1 + i % 4));
+            student.setUniversity(saved);
+            students.add(student);
+
+            Course course = new Course();
+            course.setCourseCode((i % 2 == 0 ? "PHY-" : "HIS-") + i);
+            course.setTitle((i % 2 == 0 ? "Quantum Topics " : "Medieval Topics ") + i);
+            course.setUniversity(saved);
+            courses.add(course);
+        }
+        studentRepository.saveAll(students);
+        courseRepository.saveAll(courses);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void studentFiltersSeekTheStudentIndex() {
+        PageRequest byName = PageRequest.of(0, 5, Sort.by("fullName"));
+        assertSeeks("students", List.of("university_id"),
+                () -> studentService.searchStudents(universityId, null, null, byName), 30);
+        assertSeeks("students", List.of("university_id", "major"),
+                () -> studentService.searchStudents(universityId, "Physics", null, byName), 15);
+        assertSeeks("students", List.of("university_id", "major", "year"),
+                () -> studentService.searchStudents(universityId, "Physics", "1", byName), 8);
+        // year without major can only seek on the leading column
+        assertSeeks("students", List.of("university_id"),
+                () -> studentService.searchStudents(universityId, null, "2", byName), 8);
+    }
+
+    @Test
+    void courseFiltersSeekTheCourseIndex() {
+        PageRequest byCode = PageRequest.of(0, 5, Sort.by("courseCode"));
+        assertSeeks("course", List.of("university_id"),
+                () -> courseService.searchCourses(universityId, null, null, byCode), 30);
+        assertSeeks("course", List.of("university_id", "course_code"),
+                () -> courseService.searchCourses(universityId, "PHY", null, byCode), 15, universityId, "PHY%");
+        // the title is matched inside the university's range, never by a scan
+        assertSeeks("course", List.of("university_id"),
+                () -> courseService.searchCourses(universityId, null, "quantum", byCode), 15);
+        assertSeeks("course", List.of("university_id", "course_code"),
+                () -> courseService.searchCourses(universityId, "HIS-1", "medieval", byCode), 6,
+                universityId, "HIS-1%");
+    }
+
+    @Test
+    void codePrefixesEndingInNineOrZStillMatch() {
+        University university = universityRepository.getReferenceById(universityId);
+        List<Course> courses = new ArrayList<>();
+        for (String code : List.of("CS9-101", "CS9-102", "CS90", "CS8-1", "CS:1", "Biz-1", "Biz-2", "Bi{-1", "BIZ-3")) {
+            Course course = new Course();
+            course.setCourseCode(code);
+            course.setTitle("Prefix " + code);
+            course.setUniversity(university);
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+
+        PageRequest byCode = PageRequest.of(0, 5, Sort.by("courseCode"));
+        // a range up to the successor ("CS:" or "Bi{") would be empty under MySQL's default collation
+        assertSeeks("course", List.of("university_id", "course_code"),
+                () -> courseService.searchCourses(universityId, "CS9", null, byCode), 3, universityId, "CS9%");
+        assertSeeks("course", List.of("university_id", "course_code"),
+                () -> courseService.searchCourses(universityId, "Biz", null, byCode), 2, universityId, "Biz%");
+        // LIKE wildcards in the prefix are taken literally
+        assertThat(courseService.searchCourses(universityId, "CS_", null, byCode).getTotalElements()).isZero();
+    }
+
+    @Test
+    void planCheckRejectsAScan() {
+        // the same check on a query without the leading index column must fail
+        assertThat(seeksOn(explain("select s.id from students s where s.major = ?"), List.of("university_id")))
+                .isFalse();
+    }
+
+    // H2, like MySQL, turns a LIKE prefix into an index range only once the pattern is known: such
+    // statements are explained with their leading parameters bound
+    private void assertSeeks(String table, List<String> columns, Supplier<Page<?>> search, long expectedTotal,
+            Object... parameters) {
+        CapturingInspector.clear();
+        Page<?> page = search.get();
+        assertThat(page.getTotalElements()).isEqualTo(expectedTotal);
+
+        List<String> statements = CapturingInspector.selectsFrom(table);
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql, parameters);
+            assertThat(seeksOn(plan, columns)).as("plan for %s:%n%s", sql, plan).isTrue();
+        }
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (var result = statement.executeQuery()) {
+                    result.next();
+                    return result.getString(1);
+                }
+            }
+        });
+    }
+
+    private static boolean seeksOn(String plan, List<String> columns) {
+        // H2 notes the chosen index and its seek conditions under FROM, e.g.
+        // /* public.idx_students_university_major_year: university_id = ?1 AND major = ?2 */
+        int start = plan.indexOf("/* public.");
+        if (start < 0 || plan.contains("tableScan")) {
+            return false;
+        }
+        String index = plan.substring(start, plan.indexOf("*/", start)).replace("\"", "");
+        return columns.stream().allMatch(column -> index.contains(": " + column + " ")
+                || index.contains("AND " + column + " "));
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        private static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            statements.clear();
+        }
+
+        static List<String> selectsFrom(String table) {
+            synchronized (statements) {
+                return statements.stream()
+                        .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                        .toList();
+            }
+        }
+    }
+}
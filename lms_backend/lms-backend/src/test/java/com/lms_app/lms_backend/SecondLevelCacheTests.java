@@ -0,0 +1,58 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.UniversityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private UniversityService universityService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCacheUntilUpdated() {
+        University university = new University();
+        university.setUniName("Cached University");
+        university.setStatus(University.Status.ACTIVE);
+        Long id = universityRepository.save(university).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        universityService.getUniversityById(id);
+        statistics.clear();
+        universityService.getUniversityById(id);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        UniversityDTO change = universityService.getUniversityById(id);
+        change.setUniName("Renamed University");
+        universityService.updateUniversity(id, change);
+        assertThat(universityService.getUniversityById(id).getUniName()).isEqualTo("Renamed University");
+
+        assertThat(meterRegistry.find("cache.gets").tag("cache", University.class.getName()).meters()).isNotEmpty();
+    }
+}
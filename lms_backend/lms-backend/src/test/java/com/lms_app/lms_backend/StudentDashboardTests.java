@@ -0,0 +1,186 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CourseTopicDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.entity.CourseTopic;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseTopicRepository;
+import com.lms_app.lms_backend.repository.EnrollmentRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.CourseTopicService;
+import com.lms_app.lms_backend.service.EnrollmentService;
+import com.lms_app.lms_backend.service.StudentService;
+import com.lms_app.lms_backend.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class StudentDashboardTests {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UniversityService universityService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseTopicService topicService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseTopicRepository topicRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long universityId;
+
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        University university = new University();
+        university.setUniName("Dashboard University");
+        university.setStatus(University.Status.ACTIVE);
+        universityId = universityRepository.save(university).getId();
+        StudentDTO student = new StudentDTO();
+        student.setStudentId("DASH-1");
+        student.setFullName("Dana Board");
+        student.setUniversityId(universityId);
+        studentId = studentService.createStudent(student).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from course_seat_stripes");
+        jdbcTemplate.update("delete from student_dashboard_courses");
+        jdbcTemplate.update("delete from student_dashboards");
+        jdbcTemplate.update("delete from audit_log");
+        enrollmentRepository.deleteAllInBatch();
+        topicRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void dashboardFollowsEnrollmentsCoursesAndTopics() throws Exception {
+        Long algebra = course("MTH-101", "Algebra", 4);
+        Long biology = course("BIO-101", "Biology", 3);
+        topic(algebra, "Groups", 30);
+
+        mockMvc.perform(get("/api/students/{id}/dashboard", studentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.universityName").value("Dashboard University"))
+                .andExpect(jsonPath("$.enrolledCourses").value(0));
+
+        enrollmentService.enroll(studentId, algebra);
+        enrollmentService.enroll(studentId, biology);
+        Long rings = topic(algebra, "Rings", 45);
+        CourseDTO renamed = courseService.getCourseById(biology);
+        renamed.setTitle("Cell Biology");
+        courseService.updateCourse(biology, renamed);
+
+        mockMvc.perform(get("/api/students/{id}/dashboard", studentId))
+                .andExpect(jsonPath("$.fullName").value("Dana Board"))
+                .andExpect(jsonPath("$.enrolledCourses").value(2))
+                .andExpect(jsonPath("$.credits").value(7))
+                .andExpect(jsonPath("$.topics").value(2))
+                .andExpect(jsonPath("$.topicMinutes").value(75))
+                .andExpect(jsonPath("$.courses[0].courseCode").value("MTH-101"))
+                .andExpect(jsonPath("$.courses[0].topicCount").value(2))
+                .andExpect(jsonPath("$.courses[1].title").value("Cell Biology"));
+
+        topicService.deleteTopic(rings);
+        enrollmentService.unenroll(studentId, biology);
+
+        mockMvc.perform(get("/api/students/{id}/dashboard", studentId))
+                .andExpect(jsonPath("$.enrolledCourses").value(1))
+                .andExpect(jsonPath("$.topicMinutes").value(30))
+                .andExpect(jsonPath("$.courses.length()").value(1));
+    }
+
+    @Test
+    void dashboardIsRebuiltAfterTheStudentOrUniversityChanges() throws Exception {
+        Long algebra = course("MTH-101", "Algebra", 4);
+        enrollmentService.enroll(studentId, algebra);
+        studentService.getDashboard(studentId);
+
+        UniversityDTO university = universityService.getUniversityById(universityId);
+        university.setUniName("Renamed University");
+        universityService.updateUniversity(universityId, university);
+        StudentDTO student = studentService.getStudentById(studentId);
+        student.setFullName("Dana Renamed");
+        studentService.updateStudent(studentId, student);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_dashboards", Integer.class)).isZero();
+
+        mockMvc.perform(get("/api/students/{id}/dashboard", studentId))
+                .andExpect(jsonPath("$.universityName").value("Renamed University"))
+                .andExpect(jsonPath("$.fullName").value("Dana Renamed"))
+                .andExpect(jsonPath("$.courses[0].title").value("Algebra"));
+
+        studentService.deleteStudent(studentId);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_dashboard_courses", Integer.class))
+                .isZero();
+        mockMvc.perform(get("/api/students/{id}/dashboard", studentId)).andExpect(status().isNotFound());
+    }
+
+    private Long course(String code, String title, int credits) {
+        CourseDTO course = new CourseDTO();
+        course.setCourseCode(code);
+        course.setTitle(title);
+        course.setCredits(credits);
+        course.setUniversityId(universityId);
+        return courseService.createCourse(course).getId();
+    }
+
+    private Long topic(Long courseId, String title, int minutes) {
+        CourseTopicDTO topic = new CourseTopicDTO();
+        topic.setTitle(title);
+        topic.setCourseId(courseId);
+        topic.setDurationMinutes(minutes);
+        topic.setMaterials(CourseTopic.Material.VIDEO);
+        return topicService.createTopic(topic).getId();
+    }
+}
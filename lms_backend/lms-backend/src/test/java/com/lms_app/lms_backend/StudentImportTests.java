@@ -0,0 +1,82 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.ImportJobDTO;
+import com.lms_app.lms_backend.dto.ImportRowErrorDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.StudentImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// small chunks, so that duplicates fall both within a chunk and across chunks
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms-import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "lms.import.chunk-size=3"})
+class StudentImportTests {
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importsValidRowsAndReportsTheRest() throws Exception {
+        University university = new University();
+        university.setUniName("Import University");
+        university.setStatus(University.Status.ACTIVE);
+        Long universityId = universityRepository.save(university).getId();
+
+        String csv = "studentId,fullName,email,major,year,universityId\n"
+                + "S1,\"Doe, Jane\",jane@example.edu,Physics,2," + universityId + "\n"
+                + "S2,John Roe,john@example.edu,Maths,1," + universityId + "\n"
+                + "S1,Jane Again,other@example.edu,Physics,2," + universityId + "\n"
+                + "S3,No Email,,History,3,not-a-number\n"
+                + "S4,Bad University,s4@example.edu,History,3,-1\n"
+                + "S5,Jane Twin,jane@example.edu,Physics,2," + universityId + "\n"
+                + "S2,John Again,,Maths,1," + universityId + "\n";
+        MockMultipartFile file = new MockMultipartFile("file", "roster.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        ImportJobDTO job = studentImportService.startImport(file);
+        for (int i = 0; i < 100 && job.getFinishedAt() == null; i++) {
+            Thread.sleep(50);
+            job = studentImportService.getImportJob(job.getJobId());
+        }
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(7);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(job.getErrors()).extracting(ImportRowErrorDTO::getLine, ImportRowErrorDTO::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(4L, "Duplicate studentId in request"),
+                        tuple(5L, "universityId is not a number"),
+                        tuple(6L, "University not found"),
+                        tuple(7L, "Email already exists"),
+                        tuple(8L, "Student already exists"));
+        assertThat(studentRepository.findExistingStudentIds(List.of("S1", "S2"))).hasSize(2);
+        assertThat(studentRepository.findProjectedPage(0L, Limit.of(1)))
+                .extracting(StudentDTO::getFullName).containsExactly("Doe, Jane");
+    }
+}
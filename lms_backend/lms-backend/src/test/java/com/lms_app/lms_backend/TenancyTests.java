@@ -0,0 +1,129 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.config.TenantContext;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lms-tenancy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.connection-timeout=250",
+        "lms.tenancy.max-connections-per-university=2",
+        "lms.tenancy.acquire-timeout=250ms",
+        "lms.tenancy.pools.dedicated=1",
+        "lms.tenancy.assignments.999999=dedicated"})
+class TenancyTests {
+
+    private static final long DEDICATED_UNIVERSITY = 999999L;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long universityId;
+
+    private Long otherUniversityId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        universityId = university("Busy University");
+        otherUniversityId = university("Quiet University");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        jdbcTemplate.update("delete from audit_log");
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void aUniversityAtItsLimitWaitsWhileOthersCarryOn() throws Exception {
+        try (Connection first = connectionFor(universityId); Connection second = connectionFor(universityId)) {
+            assertThatThrownBy(() -> mockMvc.perform(get("/api/students/search")
+                    .param("universityId", universityId.toString())))
+                    .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+            // resolved from the body when the path and parameters do not name the university
+            assertThatThrownBy(() -> mockMvc.perform(post("/api/students")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"studentId\":\"TEN-1\",\"fullName\":\"Tenant Student\",\"universityId\":"
+                            + universityId + "}")))
+                    .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+
+            mockMvc.perform(get("/api/students/search").param("universityId", otherUniversityId.toString()))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/students")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/students/search").param("universityId", universityId.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void assignedUniversitiesUseTheirOwnPool() throws Exception {
+        try (Connection held = connectionFor(DEDICATED_UNIVERSITY)) {
+            // below its per-university limit, but its one-connection pool is taken
+            assertThatThrownBy(() -> connectionFor(DEDICATED_UNIVERSITY))
+                    .hasCauseInstanceOf(SQLTransientConnectionException.class);
+            try (Connection shared = connectionFor(universityId)) {
+                assertThat(shared.isValid(1)).isTrue();
+            }
+        }
+        try (Connection again = connectionFor(DEDICATED_UNIVERSITY)) {
+            assertThat(again.isValid(1)).isTrue();
+        }
+    }
+
+    private Connection connectionFor(Long university) {
+        return TenantContext.call(university, () -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private Long university(String name) {
+        University university = new University();
+        university.setUniName(name);
+        university.setStatus(University.Status.ACTIVE);
+        return universityRepository.save(university).getId();
+    }
+}
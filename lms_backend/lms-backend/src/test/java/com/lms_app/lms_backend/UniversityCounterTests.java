@@ -0,0 +1,155 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.AdminRepository;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UniversityCounterTests {
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long universityId;
+
+    private Long adminId;
+
+    @BeforeEach
+    void seed() {
+        University university = new University();
+        university.setUniName("Counted University");
+        university.setStatus(University.Status.ACTIVE);
+        universityId = universityRepository.save(university).getId();
+        Admin admin = new Admin();
+        admin.setAdminName("Counting Admin");
+        admin.setUniName("Counted University");
+        admin.setStatus(Admin.Status.ACTIVE);
+        admin.setAdminStatus(Admin.AdminStatus.ACTIVE);
+        adminId = adminRepository.save(admin).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from university_counter_stripes");
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        adminRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void foldAppliesCreatesAndDeletes() {
+        List<StudentDTO> students = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            students.add(student(i));
+        }
+        studentService.bulkCreateStudents(students);
+        StudentDTO single = studentService.createStudent(student(10));
+        courseService.createCourse(course());
+        studentService.deleteStudent(single.getId());
+
+        // nothing reaches the University row until the fold runs
+        assertThat(universityRepository.findById(universityId).orElseThrow().getStudents()).isZero();
+        universityCounters.fold();
+
+        University university = universityRepository.findById(universityId).orElseThrow();
+        assertThat(university.getStudents()).isEqualTo(10);
+        assertThat(university.getCourses()).isEqualTo(1);
+        assertThat(adminRepository.findById(adminId).orElseThrow().getStudents()).isEqualTo(10);
+    }
+
+    @Test
+    void concurrentCreatesAreAllCounted() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> studentService.createStudent(student(n))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        universityCounters.fold();
+
+        assertThat(universityRepository.findById(universityId).orElseThrow().getStudents()).isEqualTo(64);
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        studentService.createStudent(student(0));
+        courseService.createCourse(course());
+        universityCounters.fold();
+        // a write that bypassed the services
+        jdbcTemplate.update("update university set students = 500 where id = ?", universityId);
+        jdbcTemplate.update("update admin set students = 7 where id = ?", adminId);
+
+        universityCounters.reconcile();
+
+        University university = universityRepository.findById(universityId).orElseThrow();
+        assertThat(university.getStudents()).isEqualTo(1);
+        assertThat(university.getCourses()).isEqualTo(1);
+        assertThat(adminRepository.findById(adminId).orElseThrow().getStudents()).isEqualTo(1);
+    }
+
+    private StudentDTO student(int i) {
+        StudentDTO dto = new StudentDTO();
+        dto.setStudentId("C-" + i);
+        dto.setFullName("Counted Student " + i);
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+
+    private CourseDTO course() {
+        CourseDTO dto = new CourseDTO();
+        dto.setCourseCode("CNT-101");
+        dto.setTitle("Counting");
+        dto.setUniversityId(universityId);
+        return dto;
+    }
+}
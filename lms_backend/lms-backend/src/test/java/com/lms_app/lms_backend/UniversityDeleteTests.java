@@ -0,0 +1,126 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.EnrollmentRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.service.EnrollmentService;
+import com.lms_app.lms_backend.service.UniversityService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UniversityDeleteTests {
+
+    @Autowired
+    private UniversityService universityService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from course_seat_stripes");
+        courseRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        universityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deletesALargeUniversityInAFewStatements() {
+        University doomed = university("Doomed University");
+        University other = university("Other University");
+        List<Students> students = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            students.add(student("D-" + i, doomed));
+        }
+        Students outsider = student("O-0", other);
+        students.add(outsider);
+        studentRepository.saveAll(students);
+        Course doomedCourse = courseRepository.save(course("DOOM-1", doomed));
+        Course otherCourse = courseRepository.save(course("OTHER-1", other));
+
+        List<EnrollmentDTO> requests = new ArrayList<>();
+        for (Students student : students) {
+            requests.add(request(student.getId(), doomedCourse.getId()));
+        }
+        requests.add(request(students.get(0).getId(), otherCourse.getId()));
+        enrollmentService.enrollAll(requests);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        universityService.deleteUniversity(doomed.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(15);
+        assertThat(universityRepository.existsById(doomed.getId())).isFalse();
+        assertThat(studentRepository.findAll()).extracting(Students::getId).containsExactly(outsider.getId());
+        assertThat(courseRepository.findAll()).extracting(Course::getId).containsExactly(otherCourse.getId());
+        assertThat(enrollmentRepository.count()).isZero();
+        // the doomed student's seat in the surviving course was handed back
+        assertThat(enrollmentService.getSeats(otherCourse.getId()).getTaken()).isZero();
+    }
+
+    private University university(String name) {
+        University university = new University();
+        university.setUniName(name);
+        university.setStatus(University.Status.ACTIVE);
+        return universityRepository.save(university);
+    }
+
+    private static Students student(String studentId, University university) {
+        Students student = new Students();
+        student.setStudentId(studentId);
+        student.setFullName("Student " + studentId);
+        student.setUniversity(university);
+        return student;
+    }
+
+    private static Course course(String code, University university) {
+        Course course = new Course();
+        course.setCourseCode(code);
+        course.setTitle(code);
+        course.setUniversity(university);
+        return course;
+    }
+
+    private static EnrollmentDTO request(Long studentId, Long courseId) {
+        EnrollmentDTO request = new EnrollmentDTO();
+        request.setStudentId(studentId);
+        request.setCourseId(courseId);
+        return request;
+    }
+}
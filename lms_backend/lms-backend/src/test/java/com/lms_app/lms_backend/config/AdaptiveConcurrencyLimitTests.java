@@ -0,0 +1,55 @@
+package com.lms_app.lms_backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTests {
+
+    private static final int MIN = 10;
+
+    private static final int MAX = 200;
+
+    private static final long MILLISECOND = 1_000_000;
+
+    @Test
+    void risingLatencyShrinksTheLimitTowardsMinAndSteadyLatencyRestoresIt() {
+        AdaptiveConcurrencyLimit concurrency = new AdaptiveConcurrencyLimit(50, MIN, MAX, 1.5);
+        for (int i = 0; i < 1000; i++) {
+            concurrency.sample(MILLISECOND);
+        }
+        int steady = concurrency.limit();
+        assertThat(steady).isGreaterThan(50);
+
+        // every statement a little slower than the one before: the short average keeps pulling away
+        double latency = MILLISECOND;
+        int lowest = steady;
+        for (int i = 0; i < 5000; i++) {
+            latency *= 1.005;
+            concurrency.sample(Math.round(latency));
+            lowest = Math.min(lowest, concurrency.limit());
+        }
+        assertThat(lowest).isGreaterThanOrEqualTo(MIN);
+        // rounding leaves it a slot or so above the floor
+        assertThat(concurrency.limit()).isBetween(MIN, MIN + 2);
+
+        // the latency stops rising; once the long average has caught up the limit grows back
+        long plateau = Math.round(latency);
+        for (int i = 0; i < 10000; i++) {
+            concurrency.sample(plateau);
+        }
+        assertThat(concurrency.limit()).isGreaterThan(steady);
+    }
+
+    @Test
+    void requestsOverTheLimitAreRefused() {
+        AdaptiveConcurrencyLimit concurrency = new AdaptiveConcurrencyLimit(MIN, MIN, MAX, 1.5);
+        for (int i = 0; i < MIN; i++) {
+            assertThat(concurrency.tryAcquire()).isTrue();
+        }
+        assertThat(concurrency.tryAcquire()).isFalse();
+        concurrency.release();
+        assertThat(concurrency.tryAcquire()).isTrue();
+        assertThat(concurrency.inFlight()).isEqualTo(MIN);
+    }
+}
@@ -0,0 +1,75 @@
+package com.lms_app.lms_backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantRoutingDataSourceTests {
+
+    private static final int LIMIT = 2;
+
+    private TenantRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource shared = new JdbcDataSource();
+        shared.setURL("jdbc:h2:mem:lms-tenant-routing;DB_CLOSE_DELAY=-1");
+        dataSource = new TenantRoutingDataSource(shared, Map.of(), Map.of(), LIMIT, Duration.ofMillis(50));
+    }
+
+    @Test
+    void unknownUniversitiesLeaveNothingBehind() throws Exception {
+        for (long id = 1_000_000; id < 1_010_000; id++) {
+            try (Connection connection = connectionFor(id)) {
+                assertThat(connection.isValid(1)).isTrue();
+            }
+        }
+        assertThat(dataSource.trackedUniversities()).isZero();
+
+        // turned away at the limit, and the waiter does not linger either
+        List<Connection> held = new ArrayList<>();
+        for (int i = 0; i < LIMIT; i++) {
+            held.add(connectionFor(-1L));
+        }
+        assertThatThrownBy(() -> connectionFor(-1L)).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.trackedUniversities()).isOne();
+        for (Connection connection : held) {
+            connection.close();
+            connection.close(); // a second close must not give back another permit
+        }
+        assertThat(dataSource.trackedUniversities()).isZero();
+    }
+
+    @Test
+    void theLimitStillHoldsWhileConnectionsComeAndGo() throws Exception {
+        Connection first = connectionFor(7L);
+        for (int i = 0; i < 100; i++) {
+            connectionFor(7L).close();
+        }
+        Connection second = connectionFor(7L);
+        assertThatThrownBy(() -> connectionFor(7L)).isInstanceOf(SQLTransientConnectionException.class);
+        first.close();
+        second.close();
+        assertThat(dataSource.trackedUniversities()).isZero();
+    }
+
+    private Connection connectionFor(Long universityId) throws SQLException {
+        TenantContext.set(universityId);
+        try {
+            return dataSource.getConnection();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
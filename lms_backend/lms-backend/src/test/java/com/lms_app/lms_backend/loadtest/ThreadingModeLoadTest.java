@@ -0,0 +1,167 @@
+package com.lms_app.lms_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lms_app.lms_backend.LmsBackendApplication;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the default platform-thread configuration with the
+ * virtual-threads profile under the same closed-loop load against
+ * {@code GET /api/students/page}, with every SQL statement delayed to mimic
+ * a remote database. Reports throughput and latency percentiles per mode and
+ * writes them to {@code target/load-test/threading-modes.json}.
+ *
+ * <p>Not part of the normal build: {@code mvn test -Pload-test}. The
+ * virtual-thread run needs a Java 21 runtime and is skipped otherwise.
+ */
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("lms.loadtest.concurrency", 200);
+    private static final long DB_LATENCY_MS = Long.getLong("lms.loadtest.db-latency-ms", 20);
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("lms.loadtest.warmup-seconds", 3));
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("lms.loadtest.seconds", 10));
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        report.put("platform", run("platform"));
+        if (Runtime.version().feature() >= 21) {
+            report.put("virtual", run("virtual-threads"));
+        } else {
+            report.put("virtual", Map.of("skipped", "needs a Java 21 runtime, this is " + Runtime.version()));
+        }
+
+        Path out = Path.of("target", "load-test", "threading-modes.json");
+        Files.createDirectories(out.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), report);
+        report.forEach((mode, result) -> log.info("{}: {}", mode, result));
+    }
+
+    private Map<String, Object> run(String mode) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LmsBackendApplication.class)
+                .initializers(context -> context.getBeanFactory()
+                        .addBeanPostProcessor(LatencyInjectingDataSource.wrapping(DB_LATENCY_MS)))
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR",
+                        "logging.level.root=WARN");
+        if (!mode.equals("platform")) {
+            builder.profiles(mode);
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/students/page?size=20");
+            return drive(uri);
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        University university = new University();
+        university.setUniName("Load University");
+        university.setStatus(University.Status.ACTIVE);
+        university = context.getBean(UniversityRepository.class).save(university);
+        List<Students> students = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Students student = new Students();
+            student.setStudentId("L-" + i);
+            student.setFullName("Load Student " + i);
+            student.setEmail("load" + i + "@example.edu");
+            student.setUniversity(university);
+            students.add(student);
+        }
+        context.getBean(StudentRepository.class).saveAll(students);
+    }
+
+    /** Keeps CONCURRENCY requests in flight; each client fires again as soon as its response arrives. */
+    private static Map<String, Object> drive(URI uri) throws Exception {
+        ExecutorService callbacks = Executors.newFixedThreadPool(8);
+        HttpClient client = HttpClient.newBuilder().executor(callbacks).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long measureFrom = start + WARM_UP.toNanos();
+        long deadline = measureFrom + MEASURE.toNanos();
+
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            fire(client, request, measureFrom, deadline, latencies, errors, done);
+            clients.add(done);
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+        callbacks.shutdown();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertThat(sorted).isNotEmpty();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", sorted.length);
+        result.put("errors", errors.get());
+        result.put("throughputPerSecond", Math.round(sorted.length / (double) MEASURE.toSeconds()));
+        result.put("p50Millis", percentile(sorted, 0.50));
+        result.put("p99Millis", percentile(sorted, 0.99));
+        result.put("maxMillis", sorted[sorted.length - 1] / 1_000_000.0);
+        result.put("concurrency", CONCURRENCY);
+        result.put("dbLatencyMillis", DB_LATENCY_MS);
+        return result;
+    }
+
+    private static void fire(HttpClient client, HttpRequest request, long measureFrom, long deadline,
+            ConcurrentLinkedQueue<Long> latencies, AtomicLong errors, CompletableFuture<Void> done) {
+        long sent = System.nanoTime();
+        if (sent >= deadline) {
+            done.complete(null);
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long received = System.nanoTime();
+            if (sent >= measureFrom && received <= deadline) {
+                if (failure != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                } else {
+                    latencies.add(received - sent);
+                }
+            }
+            fire(client, request, measureFrom, deadline, latencies, errors, done);
+        });
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
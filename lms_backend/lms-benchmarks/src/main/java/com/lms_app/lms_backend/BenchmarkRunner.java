@@ -0,0 +1,82 @@
+package com.lms_app.lms_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the JMH suites, writes JMH's JSON result file, and optionally compares
+ * it with the result file of an earlier release. Exits with status 1 if any
+ * benchmark got worse by more than the threshold.
+ *
+ * <p>Arguments: include pattern, result file, [baseline file], [threshold, default 0.10].
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 && !args[0].isBlank() ? args[0] : ".*";
+        Path result = Path.of(args.length > 1 && !args[1].isBlank() ? args[1] : "target/jmh/results.json");
+        Path baseline = args.length > 2 && !args[2].isBlank() ? Path.of(args[2]) : null;
+        double threshold = args.length > 3 && !args[3].isBlank() ? Double.parseDouble(args[3]) : 0.10;
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + result.toAbsolutePath());
+
+        if (baseline != null) {
+            List<String> regressions = regressions(baseline, result, threshold);
+            if (!regressions.isEmpty()) {
+                System.out.println("Regressions against " + baseline + ":");
+                regressions.forEach(line -> System.out.println("  " + line));
+                System.exit(1);
+            }
+            System.out.println("No regressions beyond " + Math.round(threshold * 100) + "% against " + baseline);
+        }
+    }
+
+    static List<String> regressions(Path baseline, Path current, double threshold) throws IOException {
+        Map<String, JsonNode> before = byKey(baseline);
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : byKey(current).entrySet()) {
+            JsonNode old = before.get(entry.getKey());
+            if (old == null) {
+                continue;
+            }
+            double was = old.path("primaryMetric").path("score").asDouble();
+            double now = entry.getValue().path("primaryMetric").path("score").asDouble();
+            // throughput modes improve upwards, time modes downwards
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = higherIsBetter ? (was - now) / was : (now - was) / was;
+            if (change > threshold) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s (%.0f%% worse)", entry.getKey(), was, now,
+                        entry.getValue().path("primaryMetric").path("scoreUnit").asText(), change * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static Map<String, JsonNode> byKey(Path file) throws IOException {
+        Map<String, JsonNode> results = new HashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String key = run.path("benchmark").asText() + run.path("params").toString();
+            results.put(key, run);
+        }
+        return results;
+    }
+}
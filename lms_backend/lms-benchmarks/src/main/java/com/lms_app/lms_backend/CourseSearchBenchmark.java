@@ -0,0 +1,81 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.CourseDTO;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@code GET /api/courses/search?q=} below the controller: CourseSearchIndex
+ * over an in-memory catalog, loaded through its package-private
+ * {@code open}/{@code replaceAll} so that no Spring context is needed.
+ * {@code common} matches a large share of the catalog, {@code rare} a handful
+ * of courses, {@code typing} ends in a prefix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseSearchBenchmark {
+
+    private static final String[] SUBJECTS = {"Algorithms", "Databases", "Networks", "Statistics", "Ethics",
+            "Geology", "Compilers", "Linear Algebra", "Organic Chemistry", "Microeconomics"};
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"20000"})
+    public int courses;
+
+    private CourseSearchIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        index = new CourseSearchIndex();
+        index.open(new ByteBuffersDirectory());
+        index.replaceAll(IntStream.range(0, courses).mapToObj(i -> new CourseDTO((long) i + 1,
+                "C-" + i, SUBJECTS[i % SUBJECTS.length] + " " + (i / SUBJECTS.length),
+                "An introduction to " + SUBJECTS[(i * 7) % SUBJECTS.length].toLowerCase()
+                        + " with weekly problem sets, course " + i,
+                3, null, (long) (i % 50) + 1)), Map.of());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.destroy();
+    }
+
+    @Benchmark
+    public Page<CourseDTO> common() {
+        return index.search("introduction algorithms", null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CourseDTO> rare() {
+        return index.search("course 12345", null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<CourseDTO> typing() {
+        return index.search("organic chem", 7L, FIRST_PAGE);
+    }
+}
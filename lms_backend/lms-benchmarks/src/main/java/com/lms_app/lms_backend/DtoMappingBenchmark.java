@@ -0,0 +1,141 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the services' own convertToDTO/convertToEntity methods, called
+ * directly (they are package-private, hence this package). None of the
+ * measured converters touch a repository, so no Spring context is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private final StudentServiceImpl studentService = new StudentServiceImpl();
+    private final CourseServiceImpl courseService = new CourseServiceImpl();
+    private final UniversityServiceImpl universityService = new UniversityServiceImpl();
+    private final AdminServiceImpl adminService = new AdminServiceImpl();
+
+    private University university;
+    private Students student;
+    private StudentDTO studentDto;
+    private Course course;
+    private CourseDTO courseDto;
+    private UniversityDTO universityDto;
+    private Admin admin;
+    private AdminDTO adminDto;
+
+    @Setup
+    public void setUp() {
+        university = new University();
+        university.setId(7L);
+        university.setUniName("Benchmark University");
+        university.setEstYear("1901");
+        university.setAddress("1 College Road");
+        university.setStatus(University.Status.ACTIVE);
+        university.setAdminName("Ada Admin");
+        university.setStudents(12000);
+        university.setCourses(340);
+
+        student = new Students();
+        student.setId(42L);
+        student.setStudentId("S-000042");
+        student.setFullName("Jane Doe");
+        student.setEmail("jane.doe@example.edu");
+        student.setMajor("Physics");
+        student.setYear("2");
+        student.setPhoneNumber("+1 555 0100");
+        student.setUniversity(university);
+        studentDto = studentService.convertToDTO(student);
+
+        course = new Course();
+        course.setId(9L);
+        course.setCourseCode("PHY-101");
+        course.setTitle("Mechanics");
+        course.setDescription("Newtonian mechanics for first-year students");
+        course.setCredits(4);
+        course.setUniversity(university);
+        courseDto = courseService.convertToDTO(course);
+
+        universityDto = universityService.convertToDTO(university);
+        universityDto.setStatus("active");
+
+        admin = new Admin();
+        admin.setId(3L);
+        admin.setAdminName("Ada Admin");
+        admin.setUniName("Benchmark University");
+        admin.setRole("UNIVERSITY_ADMIN");
+        admin.setStatus(Admin.Status.ACTIVE);
+        admin.setEmail("ada@example.edu");
+        admin.setStudents(12000);
+        admin.setPhnnum(5550100L);
+        admin.setDepartment(4);
+        admin.setAdminStatus(Admin.AdminStatus.INACTIVE);
+        adminDto = adminService.convertToDTO(admin);
+        adminDto.setStatus("Active");
+        adminDto.setAdminStatus("inactive");
+    }
+
+    @Benchmark
+    public StudentDTO studentToDto() {
+        return studentService.convertToDTO(student);
+    }
+
+    @Benchmark
+    public Students studentToEntity() {
+        return studentService.convertToEntity(studentDto, university);
+    }
+
+    @Benchmark
+    public CourseDTO courseToDto() {
+        return courseService.convertToDTO(course);
+    }
+
+    @Benchmark
+    public Course courseToEntity() {
+        return courseService.convertToEntity(courseDto, university);
+    }
+
+    @Benchmark
+    public UniversityDTO universityToDto() {
+        return universityService.convertToDTO(university);
+    }
+
+    @Benchmark
+    public University universityToEntity() {
+        return universityService.convertToEntity(universityDto);
+    }
+
+    @Benchmark
+    public AdminDTO adminToDto() {
+        return adminService.convertToDTO(admin);
+    }
+
+    @Benchmark
+    public Admin adminToEntity() {
+        return adminService.convertToEntity(adminDto);
+    }
+}
@@ -0,0 +1,54 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.University;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code Status.valueOf(dto.getStatus().toUpperCase())} idiom used by
+ * AdminServiceImpl and UniversityServiceImpl, for input that is already
+ * upper case and input that is not. {@code toUpperCaseOnly} separates the
+ * case conversion from the enum lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumParsingBenchmark {
+
+    @Param({"ACTIVE", "active", "Inactive"})
+    public String status;
+
+    @Benchmark
+    public Admin.Status adminStatus() {
+        return Admin.Status.valueOf(status.toUpperCase());
+    }
+
+    @Benchmark
+    public Admin.AdminStatus adminAdminStatus() {
+        return Admin.AdminStatus.valueOf(status.toUpperCase());
+    }
+
+    @Benchmark
+    public University.Status universityStatus() {
+        return University.Status.valueOf(status.toUpperCase());
+    }
+
+    @Benchmark
+    public String toUpperCaseOnly() {
+        return status.toUpperCase();
+    }
+}
@@ -0,0 +1,151 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.service.AdminService;
+import com.lms_app.lms_backend.service.CourseService;
+import com.lms_app.lms_backend.service.StudentService;
+import com.lms_app.lms_backend.service.UniversityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * The service-layer list paths behind the GET list endpoints, against the
+ * real application context on an in-memory H2 database in MySQL mode, with
+ * {@code rows} students, a tenth as many courses, 100 universities and 1000
+ * admins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ListEndpointBenchmark {
+
+    private static final int UNIVERSITIES = 100;
+    private static final int ADMINS = 1000;
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private CourseService courseService;
+    private UniversityService universityService;
+    private AdminService adminService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // command-line arguments, so they win over the MySQL settings in application.properties
+        context = new SpringApplicationBuilder(LmsBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                                + "NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN");
+        studentService = context.getBean(StudentService.class);
+        courseService = context.getBean(CourseService.class);
+        universityService = context.getBean(UniversityService.class);
+        adminService = context.getBean(AdminService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        insert(jdbc, "insert into university (id, uni_name, est_year, address, status, admin_name, students, courses,"
+                + " version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)", UNIVERSITIES, i -> new Object[] {
+                i, "University " + i, "19" + (i % 100), i + " College Road", "ACTIVE", "Admin " + i, 0, 0});
+        insert(jdbc, "insert into students (id, student_id, full_name, email, major, year, phone_number, university_id,"
+                + " version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows, i -> new Object[] {
+                i, "S-" + i, "Student " + i, "student" + i + "@example.edu", "Major " + (i % 40),
+                String.valueOf(1 + i % 4), "+1 555 " + i, 1 + i % UNIVERSITIES});
+        insert(jdbc, "insert into course (id, course_code, title, description, credits, university_id, version)"
+                + " values (?, ?, ?, ?, ?, ?, 0)", rows / 10, i -> new Object[] {
+                i, "C-" + i, "Course " + i, "Description of course " + i, 1 + i % 5, 1 + i % UNIVERSITIES});
+        insert(jdbc, "insert into admin (id, admin_name, uni_name, role, status, email, students, phnnum, department,"
+                + " admin_status, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", ADMINS, i -> new Object[] {
+                i, "Admin " + i, "University " + (1 + i % UNIVERSITIES), "UNIVERSITY_ADMIN", "ACTIVE",
+                "admin" + i + "@example.edu", 0, 5550000L + i, i % 10, "ACTIVE"});
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, int count, LongFunction<Object[]> factory) {
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (long id = 1; id <= count; id++) {
+            batch.add(factory.apply(id));
+            if (batch.size() == SEED_BATCH || id == count) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<StudentDTO> allStudents() {
+        return studentService.getAllStudents();
+    }
+
+    @Benchmark
+    public CursorPage<StudentDTO> studentsFirstPage() {
+        return studentService.getStudentsPage(null, CursorPage.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<StudentDTO> studentsMiddlePage() {
+        return studentService.getStudentsPage((long) rows / 2, CursorPage.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public void streamAllStudents(Blackhole blackhole) {
+        studentService.streamAllStudents(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<CourseDTO> allCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public List<UniversityDTO> allUniversities() {
+        return universityService.getAllUniversities();
+    }
+
+    @Benchmark
+    public List<AdminDTO> allAdmins() {
+        return adminService.getAllAdmins();
+    }
+}
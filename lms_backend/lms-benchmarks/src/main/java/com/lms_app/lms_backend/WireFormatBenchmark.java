@@ -0,0 +1,115 @@
+package com.lms_app.lms_backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU and bytes on the wire for one list response of {@code rows} students,
+ * per response format (the media types the API negotiates: JSON, Smile,
+ * CBOR) and content encoding (none, gzip as Tomcat applies it, zstd at the
+ * default {@code lms.compression.zstd.level}). The time is serialization plus
+ * compression; {@code wireBytes} is the size of the encoded body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class WireFormatBenchmark {
+
+    private static final int ZSTD_LEVEL = 3;
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"none", "gzip", "zstd"})
+    public String compression;
+
+    private List<StudentDTO> students;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            students.add(new StudentDTO((long) i + 1, "S-" + (100000 + i), "Student " + i,
+                    "student" + i + "@example.edu", "Major " + (i % 40), String.valueOf(1 + i % 4),
+                    "+1 555 " + (1000 + i % 9000), 1L + i % 100));
+        }
+        ObjectMapper mapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "smile" -> new SmileMapper();
+            case "cbor" -> new CBORMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, StudentDTO.class));
+    }
+
+    /** Bytes of the last encoded body, reported next to the time. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Wire {
+        public long wireBytes;
+    }
+
+    @Benchmark
+    public void studentList(Wire wire) throws IOException {
+        CountingOutputStream sink = new CountingOutputStream();
+        try (OutputStream body = encode(sink)) {
+            writer.writeValue(body, students);
+        }
+        wire.wireBytes = sink.count;
+    }
+
+    private OutputStream encode(OutputStream sink) throws IOException {
+        return switch (compression) {
+            case "none" -> sink;
+            case "gzip" -> new GZIPOutputStream(sink, 8192);
+            case "zstd" -> new ZstdOutputStreamNoFinalizer(sink, ZSTD_LEVEL);
+            default -> throw new IllegalArgumentException(compression);
+        };
+    }
+
+    // stands in for the socket: counts what would be sent
+    private static final class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}